@@ -0,0 +1,49 @@
+/*
+ * JMH benchmarks for the matrix-multiplication module.
+ *
+ * Run with `./gradlew :matrix-multiplication-bench:jmh`. Results are written as
+ * JSON to build/results/jmh/results.json. A subset can be selected with
+ * -PjmhIncludes=<regex>, e.g. -PjmhIncludes=ParallelMultiplyBenchmark.
+ */
+
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+repositories {
+    // Use Maven Central for resolving dependencies.
+    mavenCentral()
+}
+
+dependencies {
+    // The code under benchmark.
+    jmh(project(":matrix-multiplication"))
+}
+
+// Apply a specific Java toolchain to ease working on different environments.
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+// Matches the module's own build so the SIMD kernel is measured when present.
+val vectorModuleArgs = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(vectorModuleArgs)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    warmupIterations = 3
+    iterations = 5
+    fork = 2
+    jvmArgsAppend = vectorModuleArgs
+    // Allocation rate (gc.alloc.rate.norm) comes from the GC profiler
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    (project.findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+}
@@ -0,0 +1,31 @@
+package solution.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Auxiliary counter reporting achieved floating-point throughput. JMH divides
+ * the counter by the measured time, so in throughput mode the secondary
+ * result {@code gflop} reads directly as GFLOP/s.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class FlopCounter {
+
+    public double gflop;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        gflop = 0;
+    }
+
+    /**
+     * Records one multiply of an m x k by a k x n matrix (2mkn flops).
+     */
+    void record(int m, int k, int n) {
+        gflop += 2.0 * m * k * n / 1e9;
+    }
+}
@@ -0,0 +1,95 @@
+package solution.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import solution.MatrixComputeEngine;
+import solution.MatrixMultiplication;
+import solution.WorkloadGenerator;
+import solution.WorkloadGenerator.Distribution;
+import solution.matrix.DenseMatrix;
+import solution.matrix.FloatMatrix;
+
+/**
+ * Parallel multiply modes across sizes, shapes and thread counts. Every mode
+ * except {@code perCallPool} runs on an engine created once per trial, so
+ * pool start-up is measured only where the API itself pays for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParallelMultiplyBenchmark {
+
+    @Param({ "256", "1024", "2048" })
+    public int size;
+
+    @Param({ "SQUARE", "TALL", "WIDE", "DEEP" })
+    public Shape shape;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    @Param(
+        {
+            "rowBlocks",
+            "forkJoin",
+            "strassen",
+            "perCallPool",
+            "float",
+            "mixed",
+        }
+    )
+    public String mode;
+
+    private DenseMatrix a;
+    private DenseMatrix b;
+    private FloatMatrix aFloat;
+    private FloatMatrix bFloat;
+    private MatrixComputeEngine engine;
+
+    @Setup
+    public void setup() {
+        int rows = shape.rows(size);
+        int common = shape.common(size);
+        int cols = shape.cols(size);
+
+        WorkloadGenerator generator = new WorkloadGenerator(1);
+        Distribution digits = Distribution.uniformInts(0, 10);
+        a = generator.generate(rows, common, digits);
+        b = generator.generate(common, cols, digits);
+        aFloat = FloatMatrix.of(a);
+        bFloat = FloatMatrix.of(b);
+        engine = new MatrixComputeEngine(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object multiply(FlopCounter flops) {
+        flops.record(a.rows(), a.cols(), b.cols());
+
+        return switch (mode) {
+            case "rowBlocks" -> engine.multiply(a, b);
+            case "forkJoin" -> engine.forkJoinMultiply(a, b);
+            case "strassen" -> engine.strassenMultiply(a, b, 256);
+            case "perCallPool" -> MatrixMultiplication.parallelMultiplyMatrix(
+                a,
+                b,
+                threads
+            );
+            case "float" -> engine.multiply(aFloat, bFloat);
+            case "mixed" -> engine.multiplyMixed(aFloat, bFloat);
+            default -> throw new IllegalArgumentException(mode);
+        };
+    }
+}
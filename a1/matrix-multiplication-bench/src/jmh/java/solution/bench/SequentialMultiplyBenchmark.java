@@ -0,0 +1,66 @@
+package solution.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import solution.MatrixMultiplication;
+import solution.WorkloadGenerator;
+import solution.WorkloadGenerator.Distribution;
+import solution.kernels.BlockedKernel;
+import solution.kernels.MatrixKernel;
+import solution.kernels.MatrixKernels;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Single-threaded kernels across sizes and shapes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SequentialMultiplyBenchmark {
+
+    @Param({ "64", "256", "512", "1024" })
+    public int size;
+
+    @Param({ "SQUARE", "TALL", "WIDE", "DEEP" })
+    public Shape shape;
+
+    /** naive: untiled loops; blocked: scalar tiles; best: SIMD if present. */
+    @Param({ "naive", "blocked", "best" })
+    public String kernel;
+
+    private DenseMatrix a;
+    private DenseMatrix b;
+    private MatrixKernel selected;
+
+    @Setup
+    public void setup() {
+        WorkloadGenerator generator = new WorkloadGenerator(1);
+        Distribution digits = Distribution.uniformInts(0, 10);
+        a = generator.generate(shape.rows(size), shape.common(size), digits);
+        b = generator.generate(shape.common(size), shape.cols(size), digits);
+
+        switch (kernel) {
+            case "naive" -> selected = new BlockedKernel(
+                Integer.MAX_VALUE,
+                Integer.MAX_VALUE,
+                Integer.MAX_VALUE
+            );
+            case "blocked" -> selected = BlockedKernel.withDefaults();
+            case "best" -> selected = MatrixKernels.best();
+            default -> throw new IllegalArgumentException(kernel);
+        }
+    }
+
+    @Benchmark
+    public DenseMatrix multiply(FlopCounter flops) {
+        flops.record(a.rows(), a.cols(), b.cols());
+        return MatrixMultiplication.sequentialMultiplyMatrix(a, b, selected);
+    }
+}
@@ -0,0 +1,38 @@
+package solution.bench;
+
+/**
+ * Operand shapes benchmarked for a nominal size n. Each shape keeps the
+ * number of multiply-adds at n^3 so results are comparable across shapes.
+ */
+public enum Shape {
+    /** n x n times n x n. */
+    SQUARE(1, 1, 1),
+    /** 4n x n times n x n/4: many short rows. */
+    TALL(4, 1, 0.25),
+    /** n/4 x n times n x 4n: few long rows. */
+    WIDE(0.25, 1, 4),
+    /** n/4 x 16n times 16n x n/4: small output, long dot products. */
+    DEEP(0.25, 16, 0.25);
+
+    private final double rowScale;
+    private final double commonScale;
+    private final double colScale;
+
+    Shape(double rowScale, double commonScale, double colScale) {
+        this.rowScale = rowScale;
+        this.commonScale = commonScale;
+        this.colScale = colScale;
+    }
+
+    public int rows(int n) {
+        return Math.max(1, (int) (n * rowScale));
+    }
+
+    public int common(int n) {
+        return Math.max(1, (int) (n * commonScale));
+    }
+
+    public int cols(int n) {
+        return Math.max(1, (int) (n * colScale));
+    }
+}
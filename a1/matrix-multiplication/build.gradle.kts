@@ -32,6 +32,19 @@ java {
     }
 }
 
+// The SIMD kernel is built on the incubating Vector API, which is not resolved
+// by default. At runtime the module is optional: without it the scalar kernel
+// is used instead.
+val vectorModuleArgs = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(vectorModuleArgs)
+}
+
+tasks.withType<Javadoc>().configureEach {
+    (options as StandardJavadocDocletOptions).addStringOption("-add-modules", "jdk.incubator.vector")
+}
+
 sourceSets {
     getByName("main") {
         java.srcDirs(listOf("src/main/java"))
@@ -45,11 +58,18 @@ sourceSets {
 application {
     // Default main class
     mainClass = "solution.MatrixMultiplication"
+    applicationDefaultJvmArgs = vectorModuleArgs
+}
+
+// Let the CLI mode read operands piped into `gradle -q run --args=...`
+tasks.named<JavaExec>("run") {
+    standardInput = System.in
 }
 
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
+    jvmArgs(vectorModuleArgs)
     testLogging {
         events("passed", "skipped", "failed", "standard_out", "standard_error")
         showStandardStreams = true
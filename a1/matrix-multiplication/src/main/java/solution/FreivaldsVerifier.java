@@ -0,0 +1,186 @@
+package solution;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import solution.kernels.MatrixKernel;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Checks that C = A * B with Freivalds' algorithm: for a random vector x of
+ * +1 and -1 entries, A * (B * x) is compared with C * x. That costs three
+ * matrix-vector products, O(n^2) instead of the O(n^3) of recomputing the
+ * product. A wrong C passes one iteration with probability at most 1/2, so
+ * k iterations miss it with probability at most 2^-k; a C differing from
+ * A * B in a single element is always caught. Errors in several elements of
+ * a row can cancel for some vectors, so they are only caught with that
+ * probability.
+ *
+ * <p>Floating-point products are compared with a tolerance relative to
+ * (|A| * |B| * 1)_i, the largest magnitude row i of A * B * x can reach.
+ * The rounding error of a product computed by dot products of length k is
+ * within about k * 1.1e-16 of that bound, so the default tolerance suits
+ * common dimensions up to several hundred thousand; Strassen products and
+ * float kernels need a larger one. A tolerance of zero checks integer
+ * products exactly. NaNs and infinities in C always fail.
+ *
+ * <p>Random vectors are drawn from a fresh seed on every call. Instances are
+ * immutable and safe for concurrent use.
+ */
+public class FreivaldsVerifier {
+
+    /** Iterations of {@link #withDefaults()}; misses with odds 2^-20. */
+    public static final int DEFAULT_ITERATIONS = 20;
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+
+    private final int iterations;
+    private final double tolerance;
+
+    /**
+     * Creates a verifier.
+     *
+     * @param iterations number of random vectors each check uses
+     * @param tolerance  largest difference allowed between A * B * x and
+     *                   C * x, relative to |A| * |B| * 1
+     * @throws IllegalArgumentException if iterations is not positive or the
+     *                                  tolerance is negative or not finite
+     */
+    public FreivaldsVerifier(int iterations, double tolerance) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException(
+                "Invalid number of iterations " + iterations
+            );
+        }
+
+        if (!(tolerance >= 0.0) || Double.isInfinite(tolerance)) {
+            throw new IllegalArgumentException(
+                "Invalid tolerance " + tolerance
+            );
+        }
+
+        this.iterations = iterations;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns a verifier with {@value #DEFAULT_ITERATIONS} iterations and a
+     * tolerance of {@value #DEFAULT_TOLERANCE}.
+     *
+     * @return the verifier
+     */
+    public static FreivaldsVerifier withDefaults() {
+        return new FreivaldsVerifier(DEFAULT_ITERATIONS, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Returns whether C = A * B, up to the tolerance.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @param c the claimed product
+     * @return false if C was shown to differ from A * B
+     * @throws IllegalArgumentException if the matrices are incompatible
+     */
+    public boolean verify(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        return firstMismatch(a, b, c) < 0;
+    }
+
+    /**
+     * Checks that C = A * B, up to the tolerance.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @param c the claimed product
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if C was shown to differ from A * B
+     */
+    public void check(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        int row = firstMismatch(a, b, c);
+
+        if (row >= 0) {
+            throw new IllegalStateException(
+                String.format(
+                    "Product check failed in row %d of the %dx%d result",
+                    row,
+                    c.rows(),
+                    c.cols()
+                )
+            );
+        }
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    public double tolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Returns the first row found where C * x differs from A * B * x, or -1.
+     */
+    private int firstMismatch(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        MatrixMultiplication.validateInputMatrices(a, b);
+        if (c == null) {
+            throw new IllegalArgumentException("Result matrix cannot be null");
+        }
+        MatrixKernel.checkShapes(a, b, c);
+
+        double[] x = new double[b.cols()];
+        double[] bx = new double[b.rows()];
+        double[] abx = new double[a.rows()];
+        double[] cx = new double[a.rows()];
+
+        // |A| * |B| * 1 bounds every row of A * B * x
+        Arrays.fill(x, 1.0);
+        multiply(b, x, bx, true);
+        double[] bound = new double[a.rows()];
+        multiply(a, bx, bound, true);
+
+        SplittableRandom random = new SplittableRandom(
+            ThreadLocalRandom.current().nextLong()
+        );
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int j = 0; j < x.length; j++) {
+                x[j] = random.nextBoolean() ? 1.0 : -1.0;
+            }
+
+            multiply(b, x, bx, false);
+            multiply(a, bx, abx, false);
+            multiply(c, x, cx, false);
+
+            for (int i = 0; i < cx.length; i++) {
+                if (!(Math.abs(abx[i] - cx[i]) <= tolerance * bound[i])) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Computes y = M * x, or y = |M| * x when absolute is set.
+     */
+    private static void multiply(
+        DenseMatrix m,
+        double[] x,
+        double[] y,
+        boolean absolute
+    ) {
+        double[] data = m.data();
+
+        for (int r = 0; r < m.rows(); r++) {
+            int base = m.offset() + r * m.stride();
+            double sum = 0.0;
+
+            for (int c = 0; c < m.cols(); c++) {
+                double value = data[base + c];
+                sum += (absolute ? Math.abs(value) : value) * x[c];
+            }
+            y[r] = sum;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package solution;
+
+import java.util.HashMap;
+import java.util.Map;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Keeps the product C = A * B up to date as rows of A or columns of B are
+ * replaced. Row i of C depends only on row i of A, and column j of C only on
+ * column j of B, so an update of k rows or columns recomputes just those k
+ * rows or columns of C, costing O(k * n^2) instead of the O(n^3) of a full
+ * multiply. The changed rows (or columns) are gathered into a compact
+ * matrix and multiplied on the engine's workers, then scattered back into C.
+ *
+ * <p>A and B are copied on construction and owned by this object; callers
+ * change them only through the update methods. Instances are not safe for
+ * concurrent use.
+ */
+public class MaintainedProduct {
+
+    private final DenseMatrix a;
+    private final DenseMatrix b;
+    private final DenseMatrix c;
+    private final MatrixComputeEngine engine;
+
+    /**
+     * Computes the initial product of two matrices on the given engine.
+     *
+     * @param a      is the first matrix
+     * @param b      is the second matrix
+     * @param engine the engine computing the initial product and every update
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public MaintainedProduct(
+        DenseMatrix a,
+        DenseMatrix b,
+        MatrixComputeEngine engine
+    ) {
+        MatrixMultiplication.validateInputMatrices(a, b);
+
+        this.a = a.copy();
+        this.b = b.copy();
+        this.engine = engine;
+        this.c = engine.multiply(this.a, this.b);
+    }
+
+    /**
+     * Replaces rows of A and recomputes the matching rows of C.
+     *
+     * @param rowIdx  the rows of A to replace; a row listed twice takes the
+     *                last of its new values
+     * @param newRows the new rows, one per index, of size rowIdx.length x
+     *                a().cols()
+     * @throws IllegalArgumentException  if the new rows have the wrong shape
+     * @throws IndexOutOfBoundsException if a row index is out of range
+     * @throws IllegalStateException     if the engine has been closed
+     */
+    public void updateRows(int[] rowIdx, DenseMatrix newRows) {
+        if (rowIdx == null || newRows == null) {
+            throw new IllegalArgumentException("Updated rows cannot be null");
+        }
+
+        if (newRows.rows() != rowIdx.length || newRows.cols() != a.cols()) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Expected %dx%d replacement rows, got %dx%d",
+                    rowIdx.length,
+                    a.cols(),
+                    newRows.rows(),
+                    newRows.cols()
+                )
+            );
+        }
+
+        checkIndices(rowIdx, a.rows(), "Row");
+        if (rowIdx.length == 0) {
+            return;
+        }
+
+        // Compute before writing anything, so a failed multiply leaves A, B
+        // and C consistent. A repeated index takes its last new row.
+        int[] source = lastOccurrences(rowIdx);
+        DenseMatrix changed = new DenseMatrix(rowIdx.length, a.cols());
+        for (int i = 0; i < rowIdx.length; i++) {
+            changed.rowRange(i, i + 1).copyFrom(
+                newRows.rowRange(source[i], source[i] + 1)
+            );
+        }
+
+        DenseMatrix product = engine.multiply(changed, b);
+        for (int i = 0; i < rowIdx.length; i++) {
+            a.rowRange(rowIdx[i], rowIdx[i] + 1).copyFrom(
+                changed.rowRange(i, i + 1)
+            );
+            c.rowRange(rowIdx[i], rowIdx[i] + 1).copyFrom(
+                product.rowRange(i, i + 1)
+            );
+        }
+    }
+
+    /**
+     * Replaces columns of B and recomputes the matching columns of C.
+     *
+     * @param colIdx  the columns of B to replace; a column listed twice takes
+     *                the last of its new values
+     * @param newCols the new columns, one per index, of size b().rows() x
+     *                colIdx.length
+     * @throws IllegalArgumentException  if the new columns have the wrong
+     *                                   shape
+     * @throws IndexOutOfBoundsException if a column index is out of range
+     * @throws IllegalStateException     if the engine has been closed
+     */
+    public void updateColumns(int[] colIdx, DenseMatrix newCols) {
+        if (colIdx == null || newCols == null) {
+            throw new IllegalArgumentException(
+                "Updated columns cannot be null"
+            );
+        }
+
+        if (newCols.rows() != b.rows() || newCols.cols() != colIdx.length) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Expected %dx%d replacement columns, got %dx%d",
+                    b.rows(),
+                    colIdx.length,
+                    newCols.rows(),
+                    newCols.cols()
+                )
+            );
+        }
+
+        checkIndices(colIdx, b.cols(), "Column");
+        if (colIdx.length == 0) {
+            return;
+        }
+
+        // Compute before writing anything, so a failed multiply leaves A, B
+        // and C consistent. A repeated index takes its last new column.
+        int rows = b.rows();
+        int[] source = lastOccurrences(colIdx);
+        DenseMatrix changed = new DenseMatrix(rows, colIdx.length);
+        for (int j = 0; j < colIdx.length; j++) {
+            changed.view(0, j, rows, 1).copyFrom(
+                newCols.view(0, source[j], rows, 1)
+            );
+        }
+
+        DenseMatrix product = engine.multiply(a, changed);
+        for (int j = 0; j < colIdx.length; j++) {
+            b.view(0, colIdx[j], rows, 1).copyFrom(changed.view(0, j, rows, 1));
+            c.view(0, colIdx[j], c.rows(), 1).copyFrom(
+                product.view(0, j, c.rows(), 1)
+            );
+        }
+    }
+
+    /**
+     * Returns, for every position of an index array, the last position
+     * holding the same index.
+     */
+    private static int[] lastOccurrences(int[] indices) {
+        Map<Integer, Integer> last = new HashMap<>();
+        for (int i = 0; i < indices.length; i++) {
+            last.put(indices[i], i);
+        }
+
+        int[] res = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            res[i] = last.get(indices[i]);
+        }
+        return res;
+    }
+
+    /**
+     * Checks every index before anything is written, so that a bad index
+     * leaves A, B and C unchanged.
+     */
+    private static void checkIndices(int[] indices, int size, String kind) {
+        for (int index : indices) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(
+                    String.format(
+                        "%s %d outside range [0, %d)",
+                        kind,
+                        index,
+                        size
+                    )
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns the current product. The matrix is updated in place by later
+     * updates and must not be modified by the caller.
+     *
+     * @return the product of the current A and B
+     */
+    public DenseMatrix result() {
+        return c;
+    }
+
+    /**
+     * Returns the current left operand. It must not be modified by the
+     * caller; use {@link #updateRows(int[], DenseMatrix)} instead.
+     *
+     * @return the current A
+     */
+    public DenseMatrix a() {
+        return a;
+    }
+
+    /**
+     * Returns the current right operand. It must not be modified by the
+     * caller; use {@link #updateColumns(int[], DenseMatrix)} instead.
+     *
+     * @return the current B
+     */
+    public DenseMatrix b() {
+        return b;
+    }
+}
@@ -0,0 +1,355 @@
+package solution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Evaluation order for a product of several matrices A0 * A1 * ... * An-1.
+ * Multiplication is associative but its cost is not: for shapes 10x1000,
+ * 1000x10 and 10x1000, (A0 A1) A2 costs 200,000 multiply-adds while
+ * A0 (A1 A2) costs 20,000,000. The plan picks the parenthesisation with the
+ * fewest multiply-adds by the classic O(n^3) dynamic programme over the
+ * chain's dimensions.
+ *
+ * <p>When a plan is evaluated, the two sides of a split that are both
+ * products are independent and computed concurrently on the engine's pool,
+ * each multiply itself spreading over the workers. Intermediate products
+ * are drawn from a pool of buffers that is refilled as soon as a product
+ * has been consumed, so a long chain allocates only a few intermediates.
+ */
+public final class MatrixChain {
+
+    /** Chain dimensions: matrix i is dims[i] x dims[i + 1]. */
+    private final int[] dims;
+
+    /** cost[i][j]: multiply-adds of the best order for matrices i..j. */
+    private final long[][] cost;
+
+    /** split[i][j]: the best order for i..j multiplies i..s by s+1..j. */
+    private final int[][] split;
+
+    private MatrixChain(int[] dims) {
+        int n = dims.length - 1;
+        this.dims = dims;
+        this.cost = new long[n][n];
+        this.split = new int[n][n];
+
+        for (int length = 2; length <= n; length++) {
+            for (int i = 0; i + length <= n; i++) {
+                int j = i + length - 1;
+                cost[i][j] = Long.MAX_VALUE;
+
+                for (int s = i; s < j; s++) {
+                    long candidate = cost[i][s] + cost[s + 1][j] +
+                        (long) dims[i] * dims[s + 1] * dims[j + 1];
+                    if (candidate < cost[i][j]) {
+                        cost[i][j] = candidate;
+                        split[i][j] = s;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Plans a chain given by its dimensions.
+     *
+     * @param dims n + 1 positive dimensions, matrix i being dims[i] x
+     *             dims[i + 1]
+     * @return the optimal plan
+     * @throws IllegalArgumentException if fewer than two dimensions are given
+     *                                  or one is not positive
+     */
+    public static MatrixChain plan(int... dims) {
+        if (dims == null || dims.length < 2) {
+            throw new IllegalArgumentException(
+                "Matrix chain must contain at least one matrix"
+            );
+        }
+
+        for (int i = 0; i < dims.length; i++) {
+            if (dims[i] <= 0) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Chain dimension %d must be positive, got %d",
+                        i,
+                        dims[i]
+                    )
+                );
+            }
+        }
+
+        return new MatrixChain(dims.clone());
+    }
+
+    /**
+     * Plans the product of the given matrices.
+     *
+     * @param matrices the chain, in multiplication order
+     * @return the optimal plan
+     * @throws IllegalArgumentException if the chain is empty or two
+     *                                  neighbours are incompatible
+     */
+    public static MatrixChain plan(DenseMatrix... matrices) {
+        validateChain(matrices);
+
+        int[] dims = new int[matrices.length + 1];
+        dims[0] = matrices[0].rows();
+        for (int i = 0; i < matrices.length; i++) {
+            dims[i + 1] = matrices[i].cols();
+        }
+
+        return new MatrixChain(dims);
+    }
+
+    /**
+     * Returns the product of the matrices, evaluated in this plan's order on
+     * the engine.
+     *
+     * @param engine   the engine computing every product
+     * @param matrices the chain this plan was made for
+     * @return the product, in newly allocated storage
+     * @throws IllegalArgumentException if the matrices do not have the shapes
+     *                                  this plan was made for
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix multiply(
+        MatrixComputeEngine engine,
+        DenseMatrix... matrices
+    ) {
+        validateChain(matrices);
+        if (matrices.length != length()) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Plan is for %d matrices, got %d",
+                    length(),
+                    matrices.length
+                )
+            );
+        }
+        for (int i = 0; i < matrices.length; i++) {
+            if (
+                matrices[i].rows() != dims[i] ||
+                matrices[i].cols() != dims[i + 1]
+            ) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Matrix %d is %dx%d, plan expects %dx%d",
+                        i,
+                        matrices[i].rows(),
+                        matrices[i].cols(),
+                        dims[i],
+                        dims[i + 1]
+                    )
+                );
+            }
+        }
+
+        if (matrices.length == 1) {
+            return matrices[0].copy();
+        }
+
+        BufferPool buffers = new BufferPool();
+        return engine
+            .pool()
+            .invoke(new Product(engine, matrices, buffers, 0, length() - 1));
+    }
+
+    /**
+     * Returns the number of multiply-adds of the optimal order.
+     *
+     * @return the cost of evaluating this plan
+     */
+    public long cost() {
+        return cost[0][length() - 1];
+    }
+
+    /**
+     * Returns the number of multiply-adds of the naive left-to-right order
+     * ((A0 A1) A2) ..., for comparison with {@link #cost()}.
+     *
+     * @return the cost of evaluating left to right
+     */
+    public long leftToRightCost() {
+        long res = 0;
+        for (int j = 1; j < length(); j++) {
+            res += (long) dims[0] * dims[j] * dims[j + 1];
+        }
+        return res;
+    }
+
+    /**
+     * Returns the number of matrices in the chain.
+     *
+     * @return the chain length
+     */
+    public int length() {
+        return dims.length - 1;
+    }
+
+    /**
+     * Returns the chosen order with matrices named by position, e.g.
+     * {@code (A0 (A1 A2))}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        appendOrder(res, 0, length() - 1);
+        return res.toString();
+    }
+
+    private void appendOrder(StringBuilder out, int i, int j) {
+        if (i == j) {
+            out.append('A').append(i);
+            return;
+        }
+
+        out.append('(');
+        appendOrder(out, i, split[i][j]);
+        out.append(' ');
+        appendOrder(out, split[i][j] + 1, j);
+        out.append(')');
+    }
+
+    private static void validateChain(DenseMatrix[] matrices) {
+        if (matrices == null || matrices.length == 0) {
+            throw new IllegalArgumentException(
+                "Matrix chain must contain at least one matrix"
+            );
+        }
+
+        for (DenseMatrix m : matrices) {
+            if (m == null) {
+                throw new IllegalArgumentException(
+                    "Input matrices cannot be null"
+                );
+            }
+            if (m.rows() == 0 || m.cols() == 0) {
+                throw new IllegalArgumentException(
+                    "Input matrices cannot be empty"
+                );
+            }
+        }
+
+        for (int i = 0; i + 1 < matrices.length; i++) {
+            try {
+                MatrixMultiplication.validateInputMatrices(
+                    matrices[i],
+                    matrices[i + 1]
+                );
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Chain link %d-%d: %s",
+                        i,
+                        i + 1,
+                        e.getMessage()
+                    ),
+                    e
+                );
+            }
+        }
+    }
+
+    /**
+     * Computes the product of matrices i..j, forking the left side when both
+     * sides are products.
+     */
+    private final class Product extends RecursiveTask<DenseMatrix> {
+
+        private final MatrixComputeEngine engine;
+        private final DenseMatrix[] matrices;
+        private final BufferPool buffers;
+        private final int i;
+        private final int j;
+
+        Product(
+            MatrixComputeEngine engine,
+            DenseMatrix[] matrices,
+            BufferPool buffers,
+            int i,
+            int j
+        ) {
+            this.engine = engine;
+            this.matrices = matrices;
+            this.buffers = buffers;
+            this.i = i;
+            this.j = j;
+        }
+
+        @Override
+        protected DenseMatrix compute() {
+            int s = split[i][j];
+            DenseMatrix left;
+            DenseMatrix right;
+
+            if (s > i && s + 1 < j) {
+                Product leftTask = side(i, s);
+                leftTask.fork();
+                right = side(s + 1, j).compute();
+                left = leftTask.join();
+            } else {
+                left = s > i ? side(i, s).compute() : matrices[i];
+                right = s + 1 < j ? side(s + 1, j).compute() : matrices[j];
+            }
+
+            // The final product is returned to the caller, so it gets
+            // storage of its own rather than a pooled buffer
+            boolean outermost = i == 0 && j == length() - 1;
+            DenseMatrix res = outermost
+                ? new DenseMatrix(dims[i], dims[j + 1])
+                : buffers.acquire(dims[i], dims[j + 1]);
+            engine.multiplyAdd("multiplyChain", left, right, res);
+
+            if (s > i) {
+                buffers.release(left);
+            }
+            if (s + 1 < j) {
+                buffers.release(right);
+            }
+            return res;
+        }
+
+        private Product side(int from, int to) {
+            return new Product(engine, matrices, buffers, from, to);
+        }
+    }
+
+    /**
+     * Storage for intermediate products. A released buffer is handed to the
+     * next request it is large enough for, picking the smallest such buffer.
+     */
+    private static final class BufferPool {
+
+        private final List<double[]> free = new ArrayList<>();
+
+        synchronized DenseMatrix acquire(int rows, int cols) {
+            int size = rows * cols;
+            int best = -1;
+
+            for (int k = 0; k < free.size(); k++) {
+                int length = free.get(k).length;
+                if (
+                    length >= size &&
+                    (best < 0 || length < free.get(best).length)
+                ) {
+                    best = k;
+                }
+            }
+
+            if (best < 0) {
+                return new DenseMatrix(rows, cols);
+            }
+
+            DenseMatrix res = DenseMatrix.wrap(free.remove(best), rows, cols);
+            res.fill(0.0);
+            return res;
+        }
+
+        synchronized void release(DenseMatrix m) {
+            free.add(m.data());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package solution;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import solution.io.MatrixFile;
+import solution.io.MatrixStreams;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Command-line mode of the application, for batch jobs that pipe matrices
+ * between processes in the binary {@link MatrixFile} format instead of
+ * parsing text:
+ * <pre>
+ *   multiply [--threads N] A B [OUT]
+ * </pre>
+ * Each of A, B and OUT is a path or {@code -} for standard input or output;
+ * OUT defaults to standard output. When both operands come from standard
+ * input, A is read first and B right after it.
+ *
+ * <p>Operand files are read through a small buffer into the primitive
+ * storage of the matrices; standard input and output are used as file
+ * channels. The product is computed and written in bands of rows, so the
+ * first band is on its way out while the next is still being computed, and
+ * only two bands of the result are ever held in memory.
+ */
+final class MatrixCli {
+
+    static final String USAGE =
+        "Usage: multiply [--threads N] A B [OUT]  (- for stdin/stdout)";
+
+    /** Elements per band of the result, about 4 MB. */
+    private static final int BAND_DOUBLES = 1 << 19;
+
+    private MatrixCli() {}
+
+    /**
+     * Runs a command on the process's standard streams.
+     *
+     * @param args the command and its arguments
+     * @return the exit status
+     */
+    static int run(String[] args) {
+        // Unbuffered channels on the descriptors; System.out would copy
+        // every byte through its own buffer
+        return run(
+            args,
+            new FileInputStream(FileDescriptor.in).getChannel(),
+            new FileOutputStream(FileDescriptor.out).getChannel(),
+            System.err
+        );
+    }
+
+    /**
+     * Runs a command on the given streams.
+     *
+     * @param args   the command and its arguments
+     * @param stdin  where operands named {@code -} are read from
+     * @param stdout where the result is written when OUT is {@code -}
+     * @param err    where errors are reported
+     * @return 0 on success, 1 if the command failed, 2 on a usage error
+     */
+    static int run(
+        String[] args,
+        ReadableByteChannel stdin,
+        WritableByteChannel stdout,
+        PrintStream err
+    ) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        try (
+            MatrixComputeEngine engine = new MatrixComputeEngine(
+                options.threads()
+            )
+        ) {
+            DenseMatrix a = load(options.a(), stdin);
+            DenseMatrix b = load(options.b(), stdin);
+            MatrixMultiplication.validateInputMatrices(a, b);
+
+            if (options.out().equals("-")) {
+                streamProduct(engine, a, b, stdout, bandRows(b.cols()));
+            } else {
+                try (
+                    FileChannel out = FileChannel.open(
+                        Path.of(options.out()),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING
+                    )
+                ) {
+                    streamProduct(engine, a, b, out, bandRows(b.cols()));
+                }
+            }
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            err.println("multiply failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Computes A * B band by band and writes it to a channel as one matrix.
+     * Each band is handed to a writer thread while the engine computes the
+     * next one into a second buffer.
+     *
+     * @param engine   the engine computing each band
+     * @param a        is the first matrix
+     * @param b        is the second matrix
+     * @param out      the channel to write the product to
+     * @param bandRows rows of the product per band
+     * @throws IOException if the channel cannot be written
+     */
+    static void streamProduct(
+        MatrixComputeEngine engine,
+        DenseMatrix a,
+        DenseMatrix b,
+        WritableByteChannel out,
+        int bandRows
+    ) throws IOException {
+        int rows = a.rows();
+        int band = Math.min(bandRows, rows);
+        DenseMatrix[] buffers = {
+            new DenseMatrix(band, b.cols()),
+            new DenseMatrix(band, b.cols()),
+        };
+
+        MatrixStreams.writeHeader(out, rows, b.cols());
+
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> pending = null;
+
+            for (int r0 = 0, i = 0; r0 < rows; r0 += band, i++) {
+                int r1 = Math.min(rows, r0 + band);
+                DenseMatrix c = buffers[i % 2].rowRange(0, r1 - r0);
+
+                // The buffer was last written two bands ago, which has
+                // finished since the previous band was queued
+                engine.multiplyInto(a.rowRange(r0, r1), b, c);
+                await(pending);
+                pending = writer.submit(() -> {
+                    MatrixStreams.writeRows(out, c);
+                    return null;
+                });
+            }
+
+            await(pending);
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the number of rows per band of a result with the given number
+     * of columns.
+     */
+    static int bandRows(int cols) {
+        return Math.max(1, BAND_DOUBLES / cols);
+    }
+
+    private static DenseMatrix load(String name, ReadableByteChannel stdin)
+        throws IOException {
+        return name.equals("-")
+            ? MatrixStreams.read(stdin)
+            : MatrixFile.read(Path.of(name));
+    }
+
+    /**
+     * Waits for a queued write, rethrowing its failure.
+     */
+    private static void await(Future<?> pending) throws IOException {
+        if (pending == null) {
+            return;
+        }
+
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Parsed arguments of the multiply command.
+     */
+    private record Options(int threads, String a, String b, String out) {
+        static Options parse(String[] args) {
+            if (args.length == 0 || !args[0].equals("multiply")) {
+                throw new IllegalArgumentException(
+                    args.length == 0
+                        ? "Missing command"
+                        : "Unknown command " + args[0]
+                );
+            }
+
+            int threads = Runtime.getRuntime().availableProcessors();
+            int i = 1;
+            if (i < args.length && args[i].equals("--threads")) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException(
+                        "Missing value for --threads"
+                    );
+                }
+                threads = parseThreads(args[i + 1]);
+                i += 2;
+            }
+
+            int operands = args.length - i;
+            if (operands < 2 || operands > 3) {
+                throw new IllegalArgumentException(
+                    String.format("Expected 2 or 3 paths, got %d", operands)
+                );
+            }
+
+            return new Options(
+                threads,
+                args[i],
+                args[i + 1],
+                operands == 3 ? args[i + 2] : "-"
+            );
+        }
+
+        private static int parseThreads(String value) {
+            try {
+                int threads = Integer.parseInt(value);
+                if (threads > 0) {
+                    return threads;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+
+            throw new IllegalArgumentException(
+                "Invalid number of threads " + value
+            );
+        }
+    }
+}
@@ -0,0 +1,1626 @@
+package solution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import solution.kernels.CompensatedKernel;
+import solution.kernels.Epilogue;
+import solution.kernels.FloatMatrixKernel;
+import solution.kernels.IntMatrixKernel;
+import solution.kernels.LongKernels;
+import solution.kernels.MatrixKernel;
+import solution.kernels.MatrixKernels;
+import solution.kernels.MixedPrecisionKernel;
+import solution.kernels.PreparedOperand;
+import solution.kernels.SmallMatrixKernel;
+import solution.matrix.CsrMatrix;
+import solution.matrix.DenseMatrix;
+import solution.matrix.FloatMatrix;
+import solution.matrix.IntMatrix;
+import solution.matrix.LongMatrix;
+import solution.metrics.MultiplyEvent;
+import solution.metrics.MultiplyMetrics;
+import solution.metrics.MultiplyRecorder;
+import solution.metrics.TileEvent;
+import solution.tasks.BatchMultiplicationTask;
+import solution.tasks.GemmTask;
+import solution.tasks.InPlaceTransposeTask;
+import solution.tasks.MatrixMultiplicationTask;
+import solution.tasks.RecursiveMultiplyTask;
+import solution.tasks.SparseDenseMultiplicationTask;
+import solution.tasks.SparseSparseMultiplicationTask;
+import solution.tasks.TransposeTask;
+
+/**
+ * Long-lived compute engine owning a persistent worker pool. Creating threads
+ * costs far more than multiplying small matrices, so callers that multiply
+ * repeatedly should create one engine (or use {@link #shared()}) and reuse it
+ * instead of calling {@link MatrixMultiplication#parallelMultiplyMatrix}, which
+ * sets up and tears down a pool on every call.
+ *
+ * <p>The row-blocked mode splits the result into a few contiguous row blocks
+ * per worker, and products too small to amortise a hand-off to the pool are
+ * computed directly on the calling thread.
+ */
+public class MatrixComputeEngine implements AutoCloseable {
+
+    /** Row blocks submitted per worker, leaving slack for load balancing. */
+    private static final int BLOCKS_PER_THREAD = 4;
+
+    /** Multiply-adds below which a product is computed on the caller. */
+    private static final long INLINE_THRESHOLD = 32L * 32L * 32L;
+
+    /** Rows an asynchronous tile computes between two cancellation checks. */
+    private static final int ASYNC_CHUNK_ROWS = 32;
+
+    /** Shortest slice of the common dimension a split-K task sums. */
+    private static final int SPLIT_K_MIN_SLICE = 1024;
+
+    /** Most slices of the common dimension, bounding partial-sum storage. */
+    private static final int SPLIT_K_MAX_SLICES = 64;
+
+    private static final class SharedHolder {
+
+        static final MatrixComputeEngine INSTANCE = new MatrixComputeEngine(
+            Runtime.getRuntime().availableProcessors(),
+            true
+        );
+    }
+
+    private final ForkJoinPool pool;
+    private final MatrixKernel kernel;
+    private final boolean shared;
+    private volatile MultiplyMetrics metrics = MultiplyMetrics.NOOP;
+
+    /**
+     * Constructs an engine with one worker per available processor.
+     */
+    public MatrixComputeEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an engine with the given number of workers, computing blocks
+     * with the fastest kernel available in this JVM.
+     *
+     * @param numThreads the number of worker threads
+     * @throws IllegalArgumentException if numThreads is not positive
+     */
+    public MatrixComputeEngine(int numThreads) {
+        this(numThreads, MatrixKernels.best());
+    }
+
+    /**
+     * Constructs an engine with the given number of workers computing blocks
+     * with the given kernel.
+     *
+     * @param numThreads the number of worker threads
+     * @param kernel     the kernel computing each block
+     * @throws IllegalArgumentException if numThreads is not positive
+     */
+    public MatrixComputeEngine(int numThreads, MatrixKernel kernel) {
+        this(numThreads, kernel, false);
+    }
+
+    private MatrixComputeEngine(int numThreads, boolean shared) {
+        this(numThreads, MatrixKernels.best(), shared);
+    }
+
+    private MatrixComputeEngine(
+        int numThreads,
+        MatrixKernel kernel,
+        boolean shared
+    ) {
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException(
+                "Number of threads must be positive, got " + numThreads
+            );
+        }
+
+        this.pool = new ForkJoinPool(numThreads);
+        this.kernel = kernel;
+        this.shared = shared;
+    }
+
+    /**
+     * Returns the process-wide engine, sized to the number of available
+     * processors and created on first use. Its workers are daemon threads and
+     * {@link #close()} has no effect on it.
+     *
+     * @return the shared engine
+     */
+    public static MatrixComputeEngine shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the product of two matrices, computed as contiguous row blocks
+     * spread over the engine's workers.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiply",
+            numThreads()
+        );
+        MatrixMultiplication.validateInputMatrices(a, b);
+        ensureOpen();
+
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        multiplyAdd(recorder, a, b, res);
+        return res;
+    }
+
+    /**
+     * Adds the product of two validated matrices to a result of matching
+     * shape, under the named operation's metrics. Used by callers in this
+     * package that manage their own result storage.
+     */
+    void multiplyAdd(
+        String operation,
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix res
+    ) {
+        ensureOpen();
+        multiplyAdd(
+            MultiplyRecorder.start(metrics, operation, numThreads()),
+            a,
+            b,
+            res
+        );
+    }
+
+    /**
+     * Adds the product of two validated matrices to res, on the calling
+     * thread when the product is small and in row blocks on the workers
+     * otherwise.
+     */
+    private void multiplyAdd(
+        MultiplyRecorder recorder,
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix res
+    ) {
+        int rows = a.rows();
+        if (recorder != null) {
+            recorder.validated(rows, b.cols(), a.cols());
+        }
+
+        if ((long) rows * a.cols() * b.cols() <= INLINE_THRESHOLD) {
+            runInline(recorder, () -> kernel.multiplyAdd(a, b, res));
+            return;
+        }
+
+        int[] bounds = rowBlocks(rows);
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new MatrixMultiplicationTask(
+                bounds[i],
+                bounds[i + 1],
+                a,
+                b,
+                res,
+                kernel
+            );
+        }
+
+        runAll(recorder, tasks);
+    }
+
+    /**
+     * Stores the product of two matrices into caller-supplied storage, as
+     * {@link #multiplyInto(double, DenseMatrix, DenseMatrix, double,
+     * DenseMatrix, Epilogue)} with alpha one, beta zero and no epilogue.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @param c the result, overwritten with A * B
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public void multiplyInto(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        multiplyInto(1.0, a, b, 0.0, c, Epilogue.NONE);
+    }
+
+    /**
+     * Computes C = alpha * A * B + beta * C in the caller's storage, in
+     * contiguous row blocks on the engine's workers, and applies an epilogue
+     * to each block of C as soon as it is finished. No matrix is allocated,
+     * and scaling, bias and activation happen while the block is in cache
+     * instead of in extra passes over C.
+     *
+     * @param alpha    the scale of the product
+     * @param a        is the first matrix
+     * @param b        is the second matrix
+     * @param beta     the scale of the existing contents of C; zero ignores
+     *                 them, including NaNs
+     * @param c        the result, updated in place; must not share storage
+     *                 with A or B
+     * @param epilogue the transformation applied to every block of C
+     * @throws IllegalArgumentException if the matrices are incompatible, the
+     *                                  result has the wrong shape or the
+     *                                  epilogue does not fit it
+     * @throws IllegalStateException    if the engine has been closed
+     * @see GemmTask
+     */
+    public void multiplyInto(
+        double alpha,
+        DenseMatrix a,
+        DenseMatrix b,
+        double beta,
+        DenseMatrix c,
+        Epilogue epilogue
+    ) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyInto",
+            numThreads()
+        );
+        MatrixMultiplication.validateResultMatrix(a, b, c, epilogue);
+        ensureOpen();
+
+        int rows = a.rows();
+        if (recorder != null) {
+            recorder.validated(rows, b.cols(), a.cols());
+        }
+
+        if ((long) rows * a.cols() * b.cols() <= INLINE_THRESHOLD) {
+            runInline(
+                recorder,
+                new GemmTask(0, rows, alpha, a, b, beta, c, kernel, epilogue)
+            );
+            return;
+        }
+
+        int[] bounds = rowBlocks(rows);
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new GemmTask(
+                bounds[i],
+                bounds[i + 1],
+                alpha,
+                a,
+                b,
+                beta,
+                c,
+                kernel,
+                epilogue
+            );
+        }
+
+        runAll(recorder, tasks);
+    }
+
+    /**
+     * Starts computing the product of two matrices on the engine's workers
+     * and returns immediately, with no deadline and no progress reporting.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return a future completed with the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     * @see #multiplyAsync(DenseMatrix, DenseMatrix, Duration, ProgressListener)
+     */
+    public CompletableFuture<DenseMatrix> multiplyAsync(
+        DenseMatrix a,
+        DenseMatrix b
+    ) {
+        return multiplyAsync(a, b, null, ProgressListener.NONE);
+    }
+
+    /**
+     * Starts computing the product of two matrices on the engine's workers
+     * and returns immediately. The result is split into the same row tiles
+     * as {@link #multiply(DenseMatrix, DenseMatrix)}, and the listener is
+     * told each time a tile completes.
+     *
+     * <p>Once the future is done, whether cancelled, timed out, or failed
+     * because a tile threw, tiles that have not started are cancelled and
+     * running tiles stop before their next chunk of rows. A future that
+     * passes its deadline completes exceptionally with a
+     * {@link java.util.concurrent.TimeoutException}. A future still pending
+     * when the engine is stopped with {@link #shutdownNow()} never completes
+     * unless it has a deadline. If the engine is closed while the tiles are
+     * being submitted, the future completes exceptionally with a
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     *
+     * @param a        is the first matrix
+     * @param b        is the second matrix
+     * @param timeout  time allowed for the whole product, or null for none
+     * @param progress the listener notified of completed tiles
+     * @return a future completed with the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible or the
+     *                                  listener is null
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public CompletableFuture<DenseMatrix> multiplyAsync(
+        DenseMatrix a,
+        DenseMatrix b,
+        Duration timeout,
+        ProgressListener progress
+    ) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyAsync",
+            numThreads()
+        );
+        MatrixMultiplication.validateInputMatrices(a, b);
+        if (progress == null) {
+            throw new IllegalArgumentException(
+                "Progress listener cannot be null"
+            );
+        }
+        ensureOpen();
+
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        CompletableFuture<DenseMatrix> future = new CompletableFuture<>();
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+        int[] bounds = rowBlocks(a.rows());
+        int total = bounds.length - 1;
+        AtomicInteger completed = new AtomicInteger();
+        ForkJoinTask<?>[] tiles = new ForkJoinTask<?>[total];
+
+        for (int i = 0; i < total; i++) {
+            int rowStart = bounds[i];
+            int rowEnd = bounds[i + 1];
+
+            Runnable tile = () -> {
+                try {
+                    for (
+                        int r0 = rowStart;
+                        r0 < rowEnd && !future.isDone();
+                        r0 += ASYNC_CHUNK_ROWS
+                    ) {
+                        int r1 = Math.min(r0 + ASYNC_CHUNK_ROWS, rowEnd);
+                        kernel.multiplyAdd(
+                            a.rowRange(r0, r1),
+                            b,
+                            res.rowRange(r0, r1)
+                        );
+                    }
+
+                    if (future.isDone()) {
+                        return;
+                    }
+
+                    int done = completed.incrementAndGet();
+                    progress.onProgress(done, total);
+                    if (done == total) {
+                        future.complete(res);
+                    }
+                } catch (RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                }
+            };
+            tiles[i] = ForkJoinTask.adapt(
+                recorder == null ? tile : recorder.wrap(tile)
+            );
+        }
+
+        future.whenComplete((result, failure) -> {
+            if (failure == null && recorder != null) {
+                recorder.finish();
+            }
+            if (failure != null) {
+                for (ForkJoinTask<?> tile : tiles) {
+                    tile.cancel(false);
+                }
+            }
+        });
+        if (timeout != null) {
+            future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            for (ForkJoinTask<?> tile : tiles) {
+                pool.execute(tile);
+            }
+        } catch (RejectedExecutionException e) {
+            // close() raced with submission; cancels the tiles already queued
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Validates and packs a right-hand operand for this engine's kernel, so
+     * that later multiplies against it skip the per-call checks and copying.
+     *
+     * @param b the right-hand operand
+     * @return the prepared operand
+     * @throws IllegalArgumentException if the matrix is null or empty
+     * @see #multiply(DenseMatrix, PreparedOperand)
+     */
+    public PreparedOperand prepare(DenseMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "prepare",
+            numThreads()
+        );
+        if (b == null) {
+            throw new IllegalArgumentException("Input matrix cannot be null");
+        }
+        if (recorder != null) {
+            recorder.validated(b.rows(), b.cols(), 0);
+        }
+
+        return runWhole(recorder, () -> PreparedOperand.of(b, kernel));
+    }
+
+    /**
+     * Returns the product of a matrix and a prepared right-hand operand,
+     * computed as contiguous row blocks spread over the engine's workers.
+     *
+     * @param a is the first matrix
+     * @param b is the prepared second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix multiply(DenseMatrix a, PreparedOperand b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyPrepared",
+            numThreads()
+        );
+        MatrixMultiplication.validateInputMatrices(a, b);
+        ensureOpen();
+
+        int rows = a.rows();
+        DenseMatrix res = new DenseMatrix(rows, b.cols());
+        if (recorder != null) {
+            recorder.validated(rows, b.cols(), a.cols());
+        }
+
+        if ((long) rows * a.cols() * b.cols() <= INLINE_THRESHOLD) {
+            runInline(recorder, () -> b.multiplyAdd(kernel, a, res));
+            return res;
+        }
+
+        int[] bounds = rowBlocks(rows);
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            DenseMatrix aRows = a.rowRange(bounds[i], bounds[i + 1]);
+            DenseMatrix resRows = res.rowRange(bounds[i], bounds[i + 1]);
+            tasks[i] = () -> b.multiplyAdd(kernel, aRows, resRows);
+        }
+
+        runAll(recorder, tasks);
+        return res;
+    }
+
+    /**
+     * Returns the products of many independent pairs of matrices, as
+     * {@link #multiplyBatch(DenseMatrix[], DenseMatrix[], DenseMatrix[])}
+     * into newly allocated results.
+     *
+     * @param a the left operands
+     * @param b the right operands, one per left operand
+     * @return the results, {@code res[i] = a[i] * b[i]}
+     * @throws IllegalArgumentException if the batches differ in length or any
+     *                                  pair is incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix[] multiplyBatch(DenseMatrix[] a, DenseMatrix[] b) {
+        validateBatch(a, b);
+
+        DenseMatrix[] res = new DenseMatrix[a.length];
+        for (int i = 0; i < res.length; i++) {
+            res[i] = new DenseMatrix(a[i].rows(), b[i].cols());
+        }
+
+        multiplyBatch(a, b, res);
+        return res;
+    }
+
+    /**
+     * Stores the products of many independent pairs of matrices into
+     * preallocated results. Parallelism is across the batch rather than
+     * within each product: the batch is split into a few contiguous ranges
+     * per worker, and each range is computed on one thread with kernels
+     * specialised for tiny sizes, so no per-product task or allocation is
+     * needed.
+     *
+     * @param a   the left operands
+     * @param b   the right operands, one per left operand
+     * @param res the results, overwritten with {@code a[i] * b[i]}
+     * @throws IllegalArgumentException if the batches differ in length or any
+     *                                  pair or result is incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     * @see SmallMatrixKernel
+     */
+    public void multiplyBatch(
+        DenseMatrix[] a,
+        DenseMatrix[] b,
+        DenseMatrix[] res
+    ) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyBatch",
+            numThreads()
+        );
+        validateBatch(a, b);
+        if (res == null || res.length != a.length) {
+            throw new IllegalArgumentException(
+                "Result batch must match the length of the input batches"
+            );
+        }
+        for (int i = 0; i < res.length; i++) {
+            if (res[i] == null) {
+                throw new IllegalArgumentException(
+                    String.format("Result matrix %d of the batch is null", i)
+                );
+            }
+            MatrixKernel.checkShapes(a[i], b[i], res[i]);
+        }
+        ensureOpen();
+
+        long work = 0;
+        for (int i = 0; i < a.length; i++) {
+            work += (long) a[i].rows() * a[i].cols() * b[i].cols();
+        }
+
+        if (recorder != null) {
+            recorder.validated(a.length, 0, 0);
+        }
+
+        if (work <= INLINE_THRESHOLD) {
+            runInline(
+                recorder,
+                new BatchMultiplicationTask(0, a.length, a, b, res, kernel)
+            );
+            return;
+        }
+
+        int[] bounds = rowBlocks(a.length);
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new BatchMultiplicationTask(
+                bounds[i],
+                bounds[i + 1],
+                a,
+                b,
+                res,
+                kernel
+            );
+        }
+
+        runAll(recorder, tasks);
+    }
+
+    /**
+     * Returns the single-precision product of two single-precision matrices,
+     * computed as contiguous row blocks with the fastest float kernel.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public FloatMatrix multiply(FloatMatrix a, FloatMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyFloat",
+            numThreads()
+        );
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+        validateDimensions(a.rows(), a.cols(), b.rows(), b.cols());
+        ensureOpen();
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+
+        FloatMatrixKernel floatKernel = MatrixKernels.bestFloat();
+        FloatMatrix res = new FloatMatrix(a.rows(), b.cols());
+        int[] bounds = rowBlocks(a.rows());
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            FloatMatrix aRows = a.rowRange(bounds[i], bounds[i + 1]);
+            FloatMatrix resRows = res.rowRange(bounds[i], bounds[i + 1]);
+            tasks[i] = () -> floatKernel.multiplyAdd(aRows, b, resRows);
+        }
+
+        runAll(recorder, tasks);
+        return res;
+    }
+
+    /**
+     * Returns the double-precision product of two single-precision matrices:
+     * operands are read as floats but every product and sum is computed in
+     * double, so the result carries only the rounding error of the inputs.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     * @see MixedPrecisionKernel
+     */
+    public DenseMatrix multiplyMixed(FloatMatrix a, FloatMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyMixed",
+            numThreads()
+        );
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+        validateDimensions(a.rows(), a.cols(), b.rows(), b.cols());
+        ensureOpen();
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+
+        MixedPrecisionKernel mixedKernel = new MixedPrecisionKernel();
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        int[] bounds = rowBlocks(a.rows());
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            FloatMatrix aRows = a.rowRange(bounds[i], bounds[i + 1]);
+            DenseMatrix resRows = res.rowRange(bounds[i], bounds[i + 1]);
+            tasks[i] = () -> mixedKernel.multiplyAdd(aRows, b, resRows);
+        }
+
+        runAll(recorder, tasks);
+        return res;
+    }
+
+    /**
+     * Returns the exact product of two int matrices. When the largest
+     * magnitudes of the operands prove that no element of the result can
+     * overflow an int, the product is computed in int arithmetic by the
+     * fastest int kernel, in contiguous row blocks. Otherwise it is
+     * accumulated in long with overflow checks and narrowed, failing only if
+     * an element really does not fit.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws ArithmeticException      if an element of the result does not
+     *                                  fit in an int
+     * @throws IllegalStateException    if the engine has been closed
+     * @see #multiplyWide(IntMatrix, IntMatrix)
+     */
+    public IntMatrix multiply(IntMatrix a, IntMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyInt",
+            numThreads()
+        );
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+        validateDimensions(a.rows(), a.cols(), b.rows(), b.cols());
+        ensureOpen();
+
+        if (
+            !LongKernels.productFits(
+                a.maxAbs(),
+                b.maxAbs(),
+                a.cols(),
+                Integer.MAX_VALUE
+            )
+        ) {
+            return IntMatrix.ofExact(multiplyWide(a, b));
+        }
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+
+        IntMatrixKernel intKernel = MatrixKernels.bestInt();
+        IntMatrix res = new IntMatrix(a.rows(), b.cols());
+        int[] bounds = rowBlocks(a.rows());
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            IntMatrix aRows = a.rowRange(bounds[i], bounds[i + 1]);
+            IntMatrix resRows = res.rowRange(bounds[i], bounds[i + 1]);
+            tasks[i] = () -> intKernel.multiplyAdd(aRows, b, resRows);
+        }
+
+        runAll(recorder, tasks);
+        return res;
+    }
+
+    /**
+     * Returns the exact product of two int matrices, accumulated in long.
+     * Overflow checks are skipped when the operands' largest magnitudes prove
+     * the result fits in a long, which holds unless the common dimension is
+     * in the billions or the operands are near the int limits.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws ArithmeticException      if an element of the result overflows
+     *                                  a long
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public LongMatrix multiplyWide(IntMatrix a, IntMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyWide",
+            numThreads()
+        );
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+        validateDimensions(a.rows(), a.cols(), b.rows(), b.cols());
+        ensureOpen();
+
+        boolean fits = LongKernels.productFits(
+            a.maxAbs(),
+            b.maxAbs(),
+            a.cols(),
+            Long.MAX_VALUE
+        );
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+        LongMatrix res = new LongMatrix(a.rows(), b.cols());
+        int[] bounds = rowBlocks(a.rows());
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            IntMatrix aRows = a.rowRange(bounds[i], bounds[i + 1]);
+            LongMatrix resRows = res.rowRange(bounds[i], bounds[i + 1]);
+            tasks[i] = fits
+                ? () -> LongKernels.multiplyAdd(aRows, b, resRows)
+                : () -> LongKernels.multiplyAddExact(aRows, b, resRows);
+        }
+
+        runAll(recorder, tasks);
+        return res;
+    }
+
+    /**
+     * Returns the exact product of two long matrices, skipping overflow
+     * checks when the operands' largest magnitudes prove the result fits.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws ArithmeticException      if a product or an element of the
+     *                                  result overflows a long
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public LongMatrix multiply(LongMatrix a, LongMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyLong",
+            numThreads()
+        );
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+        validateDimensions(a.rows(), a.cols(), b.rows(), b.cols());
+        ensureOpen();
+
+        boolean fits = LongKernels.productFits(
+            a.maxAbs(),
+            b.maxAbs(),
+            a.cols(),
+            Long.MAX_VALUE
+        );
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+        LongMatrix res = new LongMatrix(a.rows(), b.cols());
+        int[] bounds = rowBlocks(a.rows());
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            LongMatrix aRows = a.rowRange(bounds[i], bounds[i + 1]);
+            LongMatrix resRows = res.rowRange(bounds[i], bounds[i + 1]);
+            tasks[i] = fits
+                ? () -> LongKernels.multiplyAdd(aRows, b, resRows)
+                : () -> LongKernels.multiplyAddExact(aRows, b, resRows);
+        }
+
+        runAll(recorder, tasks);
+        return res;
+    }
+
+    /**
+     * Returns the product of two long matrices modulo m, with every element
+     * in [0, m). Operands may hold any longs; they are reduced first.
+     *
+     * @param a       is the first matrix
+     * @param b       is the second matrix
+     * @param modulus the modulus, between 1 and
+     *                {@link LongKernels#MAX_MODULUS}
+     * @return the result of the multiplication, reduced modulo m
+     * @throws IllegalArgumentException if the matrices are incompatible or
+     *                                  the modulus is out of range
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public LongMatrix multiplyMod(LongMatrix a, LongMatrix b, long modulus) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplyMod",
+            numThreads()
+        );
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+        validateDimensions(a.rows(), a.cols(), b.rows(), b.cols());
+        LongKernels.checkModulus(modulus);
+        ensureOpen();
+
+        LongMatrix aRes = residues(a, modulus);
+        LongMatrix bRes = residues(b, modulus);
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+        LongMatrix res = new LongMatrix(a.rows(), b.cols());
+        int[] bounds = rowBlocks(a.rows());
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            LongMatrix aRows = aRes.rowRange(bounds[i], bounds[i + 1]);
+            LongMatrix resRows = res.rowRange(bounds[i], bounds[i + 1]);
+            tasks[i] = () ->
+                LongKernels.multiplyAddMod(aRows, bRes, resRows, modulus);
+        }
+
+        runAll(recorder, tasks);
+        return res;
+    }
+
+    /**
+     * Returns a compact copy of a matrix with every element reduced into
+     * [0, m).
+     */
+    private static LongMatrix residues(LongMatrix m, long modulus) {
+        LongMatrix res = new LongMatrix(m.rows(), m.cols());
+        long[] src = m.data();
+        long[] dst = res.data();
+
+        for (int r = 0; r < m.rows(); r++) {
+            int base = m.offset() + r * m.stride();
+            for (int c = 0; c < m.cols(); c++) {
+                dst[r * m.cols() + c] = Math.floorMod(src[base + c], modulus);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the product of two matrices, computed by recursively splitting
+     * the result into quadrants on the engine's workers.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix forkJoinMultiply(DenseMatrix a, DenseMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "forkJoinMultiply",
+            numThreads()
+        );
+        MatrixMultiplication.validateInputMatrices(a, b);
+        ensureOpen();
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+
+        return runWhole(
+            recorder,
+            () ->
+                MatrixMultiplication.forkJoinMultiplyMatrix(
+                    a,
+                    b,
+                    pool,
+                    kernel,
+                    RecursiveMultiplyTask.DEFAULT_THRESHOLD
+                )
+        );
+    }
+
+    /**
+     * Returns the product of two matrices with the common dimension split
+     * across the engine's workers, as {@link #multiplySplitK(DenseMatrix,
+     * DenseMatrix, boolean)} without compensated summation.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix multiplySplitK(DenseMatrix a, DenseMatrix b) {
+        return multiplySplitK(a, b, false);
+    }
+
+    /**
+     * Returns the product of two matrices with the common dimension, rather
+     * than the rows of the result, split across the engine's workers. This
+     * parallelises products with a long common dimension and a small result,
+     * such as a 1 x 10^7 row times a 10^7 x 2 matrix, which row blocks cannot.
+     *
+     * <p>The common dimension is cut into slices whose bounds depend only on
+     * the shapes, never on the number of workers. Each slice's partial
+     * product is computed by one task into its own buffer, and the partials
+     * are then added pairwise in a fixed tree: slice 2i + 1 into 2i, then
+     * 4i + 2 into 4i, and so on. Every element is therefore summed in the
+     * same order on any engine with the same kernel, so results are
+     * bit-identical whatever the thread count. Memory for the partials is up
+     * to 64 times the size of the result.
+     *
+     * @param a           is the first matrix
+     * @param b           is the second matrix
+     * @param compensated whether each slice is summed with
+     *                    {@link CompensatedKernel} instead of the engine's
+     *                    kernel, trading speed for accuracy
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix multiplySplitK(
+        DenseMatrix a,
+        DenseMatrix b,
+        boolean compensated
+    ) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplySplitK",
+            numThreads()
+        );
+        MatrixMultiplication.validateInputMatrices(a, b);
+        ensureOpen();
+
+        int rows = a.rows();
+        int cols = b.cols();
+        int common = a.cols();
+        if (recorder != null) {
+            recorder.validated(rows, cols, common);
+        }
+        int slices = Math.min(
+            SPLIT_K_MAX_SLICES,
+            (common + SPLIT_K_MIN_SLICE - 1) / SPLIT_K_MIN_SLICE
+        );
+        MatrixKernel sliceKernel = compensated
+            ? new CompensatedKernel()
+            : kernel;
+
+        DenseMatrix[] partials = new DenseMatrix[slices];
+        Runnable[] tasks = new Runnable[slices];
+        for (int s = 0; s < slices; s++) {
+            int slice = s;
+            int k0 = (int) ((long) common * s / slices);
+            int k1 = (int) ((long) common * (s + 1) / slices);
+
+            tasks[s] = () -> {
+                partials[slice] = new DenseMatrix(rows, cols);
+                sliceKernel.multiplyAdd(
+                    a.view(0, k0, rows, k1 - k0),
+                    b.view(k0, 0, k1 - k0, cols),
+                    partials[slice]
+                );
+            };
+        }
+        runTimed(recorder, tasks);
+
+        int[] bounds = rowBlocks(rows);
+        for (int step = 1; step < slices; step *= 2) {
+            List<Runnable> sums = new ArrayList<>();
+
+            for (int s = 0; s + step < slices; s += 2 * step) {
+                for (int i = 0; i + 1 < bounds.length; i++) {
+                    DenseMatrix dst = partials[s].rowRange(
+                        bounds[i],
+                        bounds[i + 1]
+                    );
+                    DenseMatrix src = partials[s + step].rowRange(
+                        bounds[i],
+                        bounds[i + 1]
+                    );
+                    sums.add(() -> addInto(dst, src));
+                }
+            }
+
+            runTimed(recorder, sums.toArray(new Runnable[0]));
+        }
+
+        if (recorder != null) {
+            recorder.finish();
+        }
+        return partials[0];
+    }
+
+    /**
+     * Adds one matrix into another of the same shape, element by element.
+     */
+    private static void addInto(DenseMatrix dst, DenseMatrix src) {
+        double[] dstData = dst.data();
+        double[] srcData = src.data();
+
+        for (int r = 0; r < dst.rows(); r++) {
+            int dstRow = dst.offset() + r * dst.stride();
+            int srcRow = src.offset() + r * src.stride();
+            for (int c = 0; c < dst.cols(); c++) {
+                dstData[dstRow + c] += srcData[srcRow + c];
+            }
+        }
+    }
+
+    /**
+     * Returns the product of a chain of matrices, evaluated in the order with
+     * the fewest multiply-adds. Independent sub-products run concurrently on
+     * the engine's workers.
+     *
+     * @param matrices the chain, in multiplication order
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the chain is empty or two
+     *                                  neighbours are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     * @see MatrixChain
+     */
+    public DenseMatrix multiplyChain(DenseMatrix... matrices) {
+        ensureOpen();
+
+        return MatrixChain.plan(matrices).multiply(this, matrices);
+    }
+
+    /**
+     * Returns the transpose of a matrix, copied by recursively halving the
+     * longer side on the engine's workers.
+     *
+     * @param m the matrix to transpose
+     * @return a compact transposed copy of {@code m}
+     * @throws IllegalArgumentException if the matrix is null
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix transpose(DenseMatrix m) {
+        if (m == null) {
+            throw new IllegalArgumentException("Input matrix cannot be null");
+        }
+        ensureOpen();
+
+        DenseMatrix res = new DenseMatrix(m.cols(), m.rows());
+        pool.invoke(
+            new TransposeTask(m, res, TransposeTask.DEFAULT_THRESHOLD)
+        );
+        return res;
+    }
+
+    /**
+     * Transposes a square matrix in place on the engine's workers, without
+     * allocating a second matrix.
+     *
+     * @param m the square matrix to transpose
+     * @throws IllegalArgumentException if the matrix is null or not square
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public void transposeInPlace(DenseMatrix m) {
+        if (m == null) {
+            throw new IllegalArgumentException("Input matrix cannot be null");
+        }
+
+        if (m.rows() != m.cols()) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "In-place transpose needs a square matrix, got %dx%d",
+                    m.rows(),
+                    m.cols()
+                )
+            );
+        }
+        ensureOpen();
+
+        pool.invoke(
+            new InPlaceTransposeTask(m, TransposeTask.DEFAULT_THRESHOLD)
+        );
+    }
+
+    /**
+     * Returns the product of a sparse and a dense matrix (SpMM). Rows of the
+     * result are partitioned into blocks holding roughly equal numbers of
+     * non-zeros of A, a few blocks per worker.
+     *
+     * @param a is the sparse first matrix
+     * @param b is the dense second matrix
+     * @return the dense result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public DenseMatrix multiply(CsrMatrix a, DenseMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplySparse",
+            numThreads()
+        );
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+        validateDimensions(a.rows(), a.cols(), b.rows(), b.cols());
+        ensureOpen();
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        int[] bounds = partitionByNonZeros(a.rowPtr(), a.rows());
+        Runnable[] tasks = new Runnable[bounds.length - 1];
+
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new SparseDenseMultiplicationTask(
+                bounds[i],
+                bounds[i + 1],
+                a,
+                b,
+                res
+            );
+        }
+
+        runAll(recorder, tasks);
+        return res;
+    }
+
+    /**
+     * Returns the product of two sparse matrices (SpGEMM). Rows of the result
+     * are partitioned as in {@link #multiply(CsrMatrix, DenseMatrix)}, each
+     * block is computed independently and the blocks are then concatenated.
+     * Entries that cancel to zero are kept as explicit zeros.
+     *
+     * @param a is the sparse first matrix
+     * @param b is the sparse second matrix
+     * @return the sparse result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     */
+    public CsrMatrix multiply(CsrMatrix a, CsrMatrix b) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "multiplySparseSparse",
+            numThreads()
+        );
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+        validateDimensions(a.rows(), a.cols(), b.rows(), b.cols());
+        ensureOpen();
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+
+        int[] bounds = partitionByNonZeros(a.rowPtr(), a.rows());
+        SparseSparseMultiplicationTask[] blocks =
+            new SparseSparseMultiplicationTask[bounds.length - 1];
+
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = new SparseSparseMultiplicationTask(
+                bounds[i],
+                bounds[i + 1],
+                a,
+                b
+            );
+        }
+
+        runTimed(recorder, blocks);
+
+        int[] rowPtr = new int[a.rows() + 1];
+        int nnz = 0;
+        for (int i = 0; i < blocks.length; i++) {
+            int[] counts = blocks[i].rowCounts();
+            for (int r = 0; r < counts.length; r++) {
+                rowPtr[bounds[i] + r + 1] = rowPtr[bounds[i] + r] + counts[r];
+            }
+            nnz += blocks[i].size();
+        }
+
+        int[] colIdx = new int[nnz];
+        double[] values = new double[nnz];
+        for (int i = 0; i < blocks.length; i++) {
+            int start = rowPtr[bounds[i]];
+            int size = blocks[i].size();
+            System.arraycopy(blocks[i].colIdx(), 0, colIdx, start, size);
+            System.arraycopy(blocks[i].values(), 0, values, start, size);
+        }
+
+        CsrMatrix res = new CsrMatrix(
+            a.rows(),
+            b.cols(),
+            rowPtr,
+            colIdx,
+            values
+        );
+        if (recorder != null) {
+            recorder.finish();
+        }
+        return res;
+    }
+
+    /**
+     * Splits rows into a few equal contiguous blocks per worker.
+     *
+     * @return block boundaries, starting at 0 and ending at rows
+     */
+    private int[] rowBlocks(int rows) {
+        int numBlocks = Math.max(
+            1,
+            Math.min(rows, pool.getParallelism() * BLOCKS_PER_THREAD)
+        );
+        int[] bounds = new int[numBlocks + 1];
+
+        for (int i = 0; i <= numBlocks; i++) {
+            bounds[i] = (int) ((long) rows * i / numBlocks);
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Splits the rows of a CSR matrix into a few blocks per worker so that
+     * each block holds roughly the same number of non-zeros.
+     *
+     * @return block boundaries, starting at 0 and ending at rows
+     */
+    private int[] partitionByNonZeros(int[] rowPtr, int rows) {
+        int numBlocks = Math.max(
+            1,
+            Math.min(rows, pool.getParallelism() * BLOCKS_PER_THREAD)
+        );
+        long nnz = rowPtr[rows];
+        int[] bounds = new int[numBlocks + 1];
+
+        int row = 0;
+        for (int i = 1; i < numBlocks; i++) {
+            long target = nnz * i / numBlocks;
+            // Leave at least one row for each remaining block
+            int maxRow = rows - (numBlocks - i);
+            while (
+                row < maxRow &&
+                (rowPtr[row] < target || row <= bounds[i - 1])
+            ) {
+                row++;
+            }
+            bounds[i] = row;
+        }
+        bounds[numBlocks] = rows;
+
+        return bounds;
+    }
+
+    /**
+     * Checks the shapes of two operands given by their dimensions, for
+     * storage types that are rectangular by construction.
+     */
+    private static void validateDimensions(
+        int aRows,
+        int aCols,
+        int bRows,
+        int bCols
+    ) {
+        if (aRows == 0 || aCols == 0 || bRows == 0 || bCols == 0) {
+            throw new IllegalArgumentException(
+                "Input matrices cannot be empty"
+            );
+        }
+
+        if (aCols != bRows) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Matrix dimensions incompatible for multiplication: " +
+                        "A has %d columns but B has %d rows",
+                    aCols,
+                    bRows
+                )
+            );
+        }
+    }
+
+    /**
+     * Checks that two batches have the same length and that each pair of
+     * operands is compatible.
+     */
+    private static void validateBatch(DenseMatrix[] a, DenseMatrix[] b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input batches cannot be null");
+        }
+
+        if (a.length != b.length) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Input batches differ in length: %d vs %d",
+                    a.length,
+                    b.length
+                )
+            );
+        }
+
+        for (int i = 0; i < a.length; i++) {
+            try {
+                MatrixMultiplication.validateInputMatrices(a[i], b[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    String.format("Batch entry %d: %s", i, e.getMessage()),
+                    e
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns the product of two matrices computed with Strassen-Winograd on
+     * the engine's workers, switching to the engine's kernel below the given
+     * crossover.
+     *
+     * @param a         is the first matrix
+     * @param b         is the second matrix
+     * @param crossover smallest block dimension handed to Strassen-Winograd
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IllegalStateException    if the engine has been closed
+     * @see MatrixMultiplication#strassenMultiplyMatrix(DenseMatrix,
+     *      DenseMatrix, ForkJoinPool, MatrixKernel, int)
+     */
+    public DenseMatrix strassenMultiply(
+        DenseMatrix a,
+        DenseMatrix b,
+        int crossover
+    ) {
+        MultiplyRecorder recorder = MultiplyRecorder.start(
+            metrics,
+            "strassenMultiply",
+            numThreads()
+        );
+        MatrixMultiplication.validateInputMatrices(a, b);
+        ensureOpen();
+        if (recorder != null) {
+            recorder.validated(a.rows(), b.cols(), a.cols());
+        }
+
+        return runWhole(
+            recorder,
+            () ->
+                MatrixMultiplication.strassenMultiplyMatrix(
+                    a,
+                    b,
+                    pool,
+                    kernel,
+                    crossover
+                )
+        );
+    }
+
+    /**
+     * Runs independent tasks on the engine's workers and waits for all of
+     * them. If one fails, the tasks that have not started yet are skipped,
+     * and the first failure is rethrown once the tasks already running have
+     * finished, so none of them is still writing when this method returns.
+     *
+     * @param tasks the tasks to run
+     * @throws IllegalStateException if the engine has been closed
+     */
+    public void runAll(Runnable[] tasks) {
+        ensureOpen();
+
+        AtomicBoolean failed = new AtomicBoolean();
+        ForkJoinTask<?>[] submitted = new ForkJoinTask<?>[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            Runnable task = tasks[i];
+            submitted[i] = pool.submit(() -> {
+                if (failed.get()) {
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException | Error e) {
+                    failed.set(true);
+                    throw e;
+                }
+            });
+        }
+
+        awaitAll(submitted);
+    }
+
+    /**
+     * Runs the tiles of a multiply as {@link #runAll(Runnable[])} does, timing
+     * each one and then publishing the multiply's statistics if a recorder is
+     * given.
+     */
+    private void runAll(MultiplyRecorder recorder, Runnable[] tasks) {
+        runTimed(recorder, tasks);
+        if (recorder != null) {
+            recorder.finish();
+        }
+    }
+
+    /**
+     * Runs one round of the tiles of a multiply, timing each one if a
+     * recorder is given, for multiplies that run several rounds before their
+     * statistics are published.
+     */
+    private void runTimed(MultiplyRecorder recorder, Runnable[] tasks) {
+        if (recorder == null) {
+            runAll(tasks);
+            return;
+        }
+
+        Runnable[] timed = new Runnable[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            timed[i] = recorder.wrap(tasks[i]);
+        }
+
+        runAll(timed);
+    }
+
+    /**
+     * Runs the only tile of a multiply on the calling thread, timing it and
+     * publishing the multiply's statistics if a recorder is given.
+     */
+    private static void runInline(MultiplyRecorder recorder, Runnable tile) {
+        if (recorder == null) {
+            tile.run();
+            return;
+        }
+
+        recorder.wrap(tile).run();
+        recorder.finish();
+    }
+
+    /**
+     * Runs a multiply that schedules its own work on the pool, timing it as
+     * a single tile on the calling thread and publishing the multiply's
+     * statistics if a recorder is given.
+     */
+    private static <T> T runWhole(MultiplyRecorder recorder, Supplier<T> body) {
+        if (recorder == null) {
+            return body.get();
+        }
+
+        List<T> result = new ArrayList<>(1);
+        runInline(recorder, () -> result.add(body.get()));
+        return result.get(0);
+    }
+
+    /**
+     * Waits for every task to finish, then rethrows the first failure.
+     */
+    private static void awaitAll(ForkJoinTask<?>[] tasks) {
+        RuntimeException failure = null;
+
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void ensureOpen() {
+        if (pool.isShutdown()) {
+            throw new IllegalStateException("Compute engine has been closed");
+        }
+    }
+
+    /**
+     * Returns the pool running this engine's tasks, for callers that want to
+     * schedule their own work alongside it.
+     *
+     * @return the worker pool
+     */
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    /**
+     * Returns the sink receiving the statistics of each multiply.
+     *
+     * @return the installed metrics, {@link MultiplyMetrics#NOOP} by default
+     */
+    public MultiplyMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Installs the sink receiving the statistics of every multiply this
+     * engine runs, named after the method that ran it, and of every
+     * {@link #prepare(DenseMatrix)}. The same statistics are emitted as
+     * {@link MultiplyEvent} and {@link TileEvent} Flight Recorder events
+     * whenever those are enabled, whatever the sink.
+     *
+     * <p>Each sub-product of {@link #multiplyChain} is recorded on its own.
+     * {@link #forkJoinMultiply} and {@link #strassenMultiply} split their
+     * work recursively, so they are timed as a single tile. A batch records
+     * the number of products as its rows, with no columns, and a prepare
+     * records the operand's shape with no common dimension. Transposes are
+     * not recorded.
+     *
+     * @param metrics the sink, or {@link MultiplyMetrics#NOOP} to stop timing
+     * @throws IllegalArgumentException if metrics is null
+     */
+    public void setMetrics(MultiplyMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null");
+        }
+
+        this.metrics = metrics;
+    }
+
+    public MatrixKernel kernel() {
+        return kernel;
+    }
+
+    public int numThreads() {
+        return pool.getParallelism();
+    }
+
+    public boolean isClosed() {
+        return pool.isShutdown();
+    }
+
+    /**
+     * Stops accepting new multiplies and waits for running ones to finish.
+     * Has no effect on the {@link #shared()} engine.
+     */
+    @Override
+    public void close() {
+        if (shared) {
+            return;
+        }
+
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting for in-flight multiplies to drain
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops accepting new multiplies and cancels running ones without waiting.
+     * Has no effect on the {@link #shared()} engine.
+     */
+    public void shutdownNow() {
+        if (!shared) {
+            pool.shutdownNow();
+        }
+    }
+}
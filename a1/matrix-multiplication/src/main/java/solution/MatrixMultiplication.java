@@ -1,13 +1,28 @@
 package solution;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import solution.tasks.MatrixMultiplicationTask;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import solution.distributed.DistributedCoordinator;
+import solution.io.MatrixFile;
+import solution.kernels.BlockedKernel;
+import solution.kernels.Epilogue;
+import solution.kernels.MatrixKernel;
+import solution.kernels.MatrixKernels;
+import solution.kernels.PreparedOperand;
+import solution.matrix.DenseMatrix;
+import solution.matrix.IntMatrix;
+import solution.tasks.GemmTask;
+import solution.tasks.OutOfCoreTileTask;
+import solution.tasks.RecursiveMultiplyTask;
+import solution.tasks.StrassenWinogradTask;
+import solution.tuning.AutoTuner;
+import solution.tuning.TuningConfig;
 
 public class MatrixMultiplication {
 
-    private static final int NUMBER_THREADS = 8; // For theoretic optimum, set to number of cpu cores on machine
+    private static final int STRASSEN_CROSSOVER = 256; // Smallest block handed to Strassen-Winograd
     private static final int[] MATRIX_SIZES = {
         100,
         200,
@@ -32,28 +47,111 @@ public class MatrixMultiplication {
     ) {
         validateInputMatrices(a, b);
 
-        Integer rows = a.length;
-        Integer common = a[0].length;
-        Integer cols = b[0].length;
+        return sequentialMultiplyMatrix(
+            DenseMatrix.of(a),
+            DenseMatrix.of(b)
+        ).toArray();
+    }
 
-        Double[][] bTranspose = computeTranspose(b);
-        Double[][] res = new Double[rows][cols];
+    /**
+     * Returns the result of a sequential matrix multiplication over primitive
+     * row-major storage, using the scalar cache-blocked kernel with its default
+     * tile sizes. This is the reference result the other modes are compared
+     * against.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     */
+    public static DenseMatrix sequentialMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b
+    ) {
+        return sequentialMultiplyMatrix(a, b, BlockedKernel.withDefaults());
+    }
 
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                double sum = 0.0;
+    /**
+     * Returns the result of a sequential matrix multiplication over primitive
+     * row-major storage, computed by the given kernel on the calling thread.
+     *
+     * @param a      is the first matrix
+     * @param b      is the second matrix
+     * @param kernel the kernel computing the product
+     * @return the result of the multiplication
+     */
+    public static DenseMatrix sequentialMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        MatrixKernel kernel
+    ) {
+        validateInputMatrices(a, b);
 
-                for (int i = 0; i < common; i++) {
-                    sum += a[r][i] * bTranspose[c][i];
-                }
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        kernel.multiplyAdd(a, b, res);
 
-                res[r][c] = sum;
-            }
-        }
+        return res;
+    }
+
+    /**
+     * Returns the result of a sequential matrix multiplication against a
+     * right-hand operand that was validated and packed ahead of time, using
+     * the scalar cache-blocked kernel.
+     *
+     * @param a is the first matrix
+     * @param b is the prepared second matrix
+     * @return the result of the multiplication
+     * @see PreparedOperand
+     */
+    public static DenseMatrix sequentialMultiplyMatrix(
+        DenseMatrix a,
+        PreparedOperand b
+    ) {
+        validateInputMatrices(a, b);
+
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        b.multiplyAdd(BlockedKernel.withDefaults(), a, res);
 
         return res;
     }
 
+    /**
+     * Computes C = alpha * A * B + beta * C on the calling thread, writing
+     * into the caller's result storage, and applies an epilogue to each row
+     * tile of C as soon as it is finished. No matrix is allocated.
+     *
+     * @param alpha    the scale of the product
+     * @param a        is the first matrix
+     * @param b        is the second matrix
+     * @param beta     the scale of the existing contents of C; zero ignores
+     *                 them, including NaNs
+     * @param c        the result, updated in place
+     * @param epilogue the transformation applied to every element of C
+     * @see MatrixComputeEngine#multiplyInto(double, DenseMatrix, DenseMatrix,
+     *      double, DenseMatrix, Epilogue)
+     */
+    public static void sequentialMultiplyMatrix(
+        double alpha,
+        DenseMatrix a,
+        DenseMatrix b,
+        double beta,
+        DenseMatrix c,
+        Epilogue epilogue
+    ) {
+        validateResultMatrix(a, b, c, epilogue);
+
+        new GemmTask(
+            0,
+            c.rows(),
+            alpha,
+            a,
+            b,
+            beta,
+            c,
+            BlockedKernel.withDefaults(),
+            epilogue
+        ).run();
+    }
+
     /**
      * Returns the result of a concurrent matrix multiplication
      * The two matrices are randomly generated
@@ -69,73 +167,555 @@ public class MatrixMultiplication {
     ) {
         validateInputMatrices(a, b);
 
-        Integer rows = a.length;
-        Integer cols = b[0].length;
+        return parallelMultiplyMatrix(
+            DenseMatrix.of(a),
+            DenseMatrix.of(b),
+            numThreads
+        ).toArray();
+    }
 
-        Double[][] bTranspose = computeTranspose(b);
-        Double[][] res = new Double[rows][cols];
+    /**
+     * Returns the result of a concurrent matrix multiplication over primitive
+     * row-major storage. The rows of the result are split into contiguous
+     * blocks, a few per thread, computed by the SIMD kernel when the Vector
+     * API is available.
+     *
+     * @param a          is the first matrix
+     * @param b          is the second matrix
+     * @param numThreads the number of threads to use for parallel execution
+     * @return the result of the multiplication
+     */
+    public static DenseMatrix parallelMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        Integer numThreads
+    ) {
+        return parallelMultiplyMatrix(a, b, numThreads, MatrixKernels.best());
+    }
 
-        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
-        Future<?>[] futures = new Future<?>[rows];
+    /**
+     * Returns the result of a concurrent matrix multiplication over primitive
+     * row-major storage, with contiguous row blocks of the result computed by
+     * the given kernel. A compute engine with the given number of threads is
+     * created for the call and closed before returning; callers multiplying
+     * repeatedly should keep a {@link MatrixComputeEngine} instead.
+     *
+     * <p>When the {@code mmul.verify} system property is {@code true}, the
+     * result is checked with {@link FreivaldsVerifier#withDefaults()} before
+     * it is returned, at O(n^2) extra cost.
+     *
+     * @param a          is the first matrix
+     * @param b          is the second matrix
+     * @param numThreads the number of threads to use for parallel execution
+     * @param kernel     the kernel computing each row block
+     * @return the result of the multiplication
+     * @throws IllegalStateException if self-checking is enabled and the
+     *                               result is wrong
+     */
+    public static DenseMatrix parallelMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        Integer numThreads,
+        MatrixKernel kernel
+    ) {
+        validateInputMatrices(a, b);
 
-        for (int r = 0; r < rows; r++) {
-            futures[r] = executor.submit(
-                new MatrixMultiplicationTask(r, a, bTranspose, res)
-            );
-        }
+        try (
+            MatrixComputeEngine engine = new MatrixComputeEngine(
+                numThreads,
+                kernel
+            )
+        ) {
+            DenseMatrix res = engine.multiply(a, b);
 
-        for (Future<?> f : futures) {
-            try {
-                f.get();
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+            if (Boolean.getBoolean("mmul.verify")) {
+                FreivaldsVerifier.withDefaults().check(a, b, res);
             }
+            return res;
         }
+    }
+
+    /**
+     * Returns the result of a concurrent matrix multiplication run with the
+     * kernel, tile sizes and thread count an auto-tuner chose for the shape
+     * of the product, on the tuner's engine for that configuration.
+     *
+     * <p>When the {@code mmul.verify} system property is {@code true}, the
+     * result is checked with {@link FreivaldsVerifier#withDefaults()} before
+     * it is returned, at O(n^2) extra cost.
+     *
+     * @param a     is the first matrix
+     * @param b     is the second matrix
+     * @param tuner the tuner choosing the configuration
+     * @return the result of the multiplication
+     * @throws IllegalStateException if self-checking is enabled and the
+     *                               result is wrong
+     * @see AutoTuner#multiply(DenseMatrix, DenseMatrix)
+     */
+    public static DenseMatrix parallelMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        AutoTuner tuner
+    ) {
+        validateInputMatrices(a, b);
 
-        executor.shutdown();
+        DenseMatrix res = tuner.multiply(a, b);
+
+        if (Boolean.getBoolean("mmul.verify")) {
+            FreivaldsVerifier.withDefaults().check(a, b, res);
+        }
         return res;
     }
 
     /**
-     * Returns the tranpose of a given matrix. This function is used to leverage
-     * cache locality when performing matrix multiplications in order to boost
-     * runtime performance.
+     * Returns the result of a concurrent matrix multiplication that splits
+     * the common dimension, rather than the rows of the result, across
+     * threads, and adds the partial products in a fixed order. Suited to
+     * products with a long common dimension and few result rows; the result
+     * is bit-identical for any number of threads.
+     *
+     * @param a           is the first matrix
+     * @param b           is the second matrix
+     * @param numThreads  the number of threads to use for parallel execution
+     * @param compensated whether partial products use compensated summation
+     * @return the result of the multiplication
+     * @see MatrixComputeEngine#multiplySplitK(DenseMatrix, DenseMatrix,
+     *      boolean)
+     */
+    public static DenseMatrix splitKMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        Integer numThreads,
+        boolean compensated
+    ) {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(numThreads)) {
+            return engine.multiplySplitK(a, b, compensated);
+        }
+    }
+
+    /**
+     * Returns the exact product of two integer matrices, computed in int
+     * arithmetic (on SIMD lanes when the Vector API is available) when no
+     * element can overflow, and with checked long accumulation otherwise. A
+     * compute engine with the given number of threads is created for the
+     * call and closed before returning.
      *
-     * @param inputMatrix is the input matrix whose transpose we want to compute
-     * @return the result of the tranpose operation
+     * @param a          is the first matrix
+     * @param b          is the second matrix
+     * @param numThreads the number of threads to use for parallel execution
+     * @return the result of the multiplication
+     * @throws ArithmeticException if an element of the result does not fit in
+     *                             an int
+     * @see MatrixComputeEngine#multiplyWide(IntMatrix, IntMatrix)
      */
-    private static Double[][] computeTranspose(Double[][] inputMatrix) {
-        Integer M = inputMatrix.length;
-        Integer N = inputMatrix[0].length;
-        Double[][] transpose = new Double[N][M];
+    public static IntMatrix parallelMultiplyMatrix(
+        IntMatrix a,
+        IntMatrix b,
+        Integer numThreads
+    ) {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(numThreads)) {
+            return engine.multiply(a, b);
+        }
+    }
 
-        for (int r = 0; r < M; r++) {
-            for (int c = 0; c < N; c++) {
-                transpose[c][r] = inputMatrix[r][c];
+    /**
+     * Returns the product of a chain of matrices, parenthesised to minimise
+     * multiply-adds rather than multiplied left to right. A compute engine
+     * with the given number of threads is created for the call and closed
+     * before returning.
+     *
+     * @param matrices   the chain, in multiplication order
+     * @param numThreads the number of threads to use for parallel execution
+     * @return the result of the multiplication
+     * @see MatrixChain
+     */
+    public static DenseMatrix chainMultiplyMatrix(
+        DenseMatrix[] matrices,
+        Integer numThreads
+    ) {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(numThreads)) {
+            return engine.multiplyChain(matrices);
+        }
+    }
+
+    /**
+     * Returns the result of a fork/join matrix multiplication. The result is
+     * split recursively into quadrants and work-stealing balances the blocks
+     * across a pool of the given size, which is shut down before returning.
+     *
+     * @param a          is the first matrix
+     * @param b          is the second matrix
+     * @param numThreads the number of threads to use for parallel execution
+     * @return the result of the multiplication
+     */
+    public static Double[][] forkJoinMultiplyMatrix(
+        Double[][] a,
+        Double[][] b,
+        Integer numThreads
+    ) {
+        validateInputMatrices(a, b);
+
+        return forkJoinMultiplyMatrix(
+            DenseMatrix.of(a),
+            DenseMatrix.of(b),
+            numThreads
+        ).toArray();
+    }
+
+    /**
+     * Returns the result of a fork/join matrix multiplication over primitive
+     * row-major storage, run on a pool of the given size that is shut down
+     * before returning.
+     *
+     * @param a          is the first matrix
+     * @param b          is the second matrix
+     * @param numThreads the number of threads to use for parallel execution
+     * @return the result of the multiplication
+     */
+    public static DenseMatrix forkJoinMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        Integer numThreads
+    ) {
+        ForkJoinPool pool = new ForkJoinPool(numThreads);
+
+        try {
+            return forkJoinMultiplyMatrix(
+                a,
+                b,
+                pool,
+                MatrixKernels.best(),
+                RecursiveMultiplyTask.DEFAULT_THRESHOLD
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the result of a fork/join matrix multiplication over primitive
+     * row-major storage, run on the given pool.
+     *
+     * @param a         is the first matrix
+     * @param b         is the second matrix
+     * @param pool      the pool running the recursive tasks
+     * @param kernel    the kernel computing leaf blocks
+     * @param threshold multiply-adds below which a block is not split further;
+     *                  at least 1
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible or
+     *                                  the threshold is not positive
+     */
+    public static DenseMatrix forkJoinMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        ForkJoinPool pool,
+        MatrixKernel kernel,
+        long threshold
+    ) {
+        validateInputMatrices(a, b);
+        RecursiveMultiplyTask.checkThreshold(threshold);
+
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        pool.invoke(new RecursiveMultiplyTask(a, b, res, kernel, threshold));
+
+        return res;
+    }
+
+    /**
+     * Returns the result of a Strassen-Winograd matrix multiplication, run on
+     * a pool of the given size that is shut down before returning. See
+     * {@link #strassenMultiplyMatrix(DenseMatrix, DenseMatrix, ForkJoinPool,
+     * MatrixKernel, int)} for accuracy.
+     *
+     * @param a          is the first matrix
+     * @param b          is the second matrix
+     * @param numThreads the number of threads to use for parallel execution
+     * @return the result of the multiplication
+     */
+    public static Double[][] strassenMultiplyMatrix(
+        Double[][] a,
+        Double[][] b,
+        Integer numThreads
+    ) {
+        validateInputMatrices(a, b);
+
+        return strassenMultiplyMatrix(
+            DenseMatrix.of(a),
+            DenseMatrix.of(b),
+            numThreads
+        ).toArray();
+    }
+
+    /**
+     * Returns the result of a Strassen-Winograd matrix multiplication over
+     * primitive row-major storage, run on a pool of the given size that is
+     * shut down before returning.
+     *
+     * @param a          is the first matrix
+     * @param b          is the second matrix
+     * @param numThreads the number of threads to use for parallel execution
+     * @return the result of the multiplication
+     */
+    public static DenseMatrix strassenMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        Integer numThreads
+    ) {
+        ForkJoinPool pool = new ForkJoinPool(numThreads);
+
+        try {
+            return strassenMultiplyMatrix(
+                a,
+                b,
+                pool,
+                MatrixKernels.best(),
+                STRASSEN_CROSSOVER
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the result of a Strassen-Winograd matrix multiplication over
+     * primitive row-major storage. Each level halves every dimension and
+     * computes 7 half-size products in parallel instead of 8; recursion stops
+     * once the smallest dimension would drop below {@code crossover}, where
+     * the classical kernel takes over. Products whose smallest dimension is
+     * under {@code 2 * crossover} are therefore computed classically. Each
+     * dimension is padded with zeros up to a multiple of {@code 2^levels}, so
+     * rectangular and non-power-of-two inputs only pay for a few extra rows or
+     * columns.
+     *
+     * <p>Accuracy: the classical algorithm used by
+     * {@link #sequentialMultiplyMatrix(DenseMatrix, DenseMatrix)} satisfies
+     * the componentwise bound |C - Ĉ| &le; k u |A| |B| for a common dimension
+     * k and unit roundoff u = 2^-53. Strassen-Winograd only satisfies a
+     * normwise bound (Higham, <i>Accuracy and Stability of Numerical
+     * Algorithms</i>, 2nd ed., Thm. 23.3): for square n x n operands and
+     * leaves of size n0,
+     * <pre>
+     *   max|C - Ĉ| &le; [(n / n0)^log2(18) (n0^2 + 6 n0) - 6 n] u max|A| max|B|
+     * </pre>
+     * to first order. Errors therefore grow roughly as n^4.17 rather than n
+     * and concentrate in elements that are small relative to the largest
+     * entries of A and B; choose a larger crossover when that matters.
+     *
+     * @param a         is the first matrix
+     * @param b         is the second matrix
+     * @param pool      the pool running the seven sub-products of each level
+     * @param kernel    the classical kernel computing leaf products
+     * @param crossover smallest block dimension handed to Strassen-Winograd
+     * @return the result of the multiplication
+     */
+    public static DenseMatrix strassenMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        ForkJoinPool pool,
+        MatrixKernel kernel,
+        int crossover
+    ) {
+        validateInputMatrices(a, b);
+
+        if (crossover <= 0) {
+            throw new IllegalArgumentException(
+                "Crossover must be positive, got " + crossover
+            );
+        }
+
+        int rows = a.rows();
+        int common = a.cols();
+        int cols = b.cols();
+
+        int levels = 0;
+        int smallest = Math.min(rows, Math.min(common, cols));
+        while (smallest / 2 >= crossover) {
+            smallest /= 2;
+            levels++;
+        }
+
+        int paddedRows = padTo(rows, levels);
+        int paddedCommon = padTo(common, levels);
+        int paddedCols = padTo(cols, levels);
+
+        DenseMatrix res = new DenseMatrix(paddedRows, paddedCols);
+        pool.invoke(
+            new StrassenWinogradTask(
+                padded(a, paddedRows, paddedCommon),
+                padded(b, paddedCommon, paddedCols),
+                res,
+                kernel,
+                levels
+            )
+        );
+
+        if (paddedRows == rows && paddedCols == cols) {
+            return res;
+        }
+        return res.view(0, 0, rows, cols).copy();
+    }
+
+    /**
+     * Multiplies two matrices stored in matrix files and writes the product
+     * to a new matrix file, without ever holding a whole operand in the heap.
+     * Result tiles are computed in parallel on the engine's workers; each one
+     * streams tiles of A and B from their files with positional reads, so
+     * resident heap stays around {@code 3 * tileSize^2 * 8} bytes per worker
+     * whatever the size of the matrices.
+     *
+     * @param a        path of the first matrix file
+     * @param b        path of the second matrix file
+     * @param res      path of the result file, created or truncated
+     * @param tileSize edge length of the square tiles kept in memory
+     * @param engine   the engine whose workers and kernel compute the tiles
+     * @throws IOException              if a file cannot be read or written
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @see MatrixFile
+     */
+    public static void outOfCoreMultiplyMatrix(
+        Path a,
+        Path b,
+        Path res,
+        int tileSize,
+        MatrixComputeEngine engine
+    ) throws IOException {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException(
+                "Tile size must be positive, got " + tileSize
+            );
+        }
+
+        try (
+            MatrixFile aFile = MatrixFile.open(a, false);
+            MatrixFile bFile = MatrixFile.open(b, false)
+        ) {
+            if (aFile.cols() != bFile.rows()) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Matrix dimensions incompatible for multiplication: " +
+                            "A has %d columns but B has %d rows",
+                        aFile.cols(),
+                        bFile.rows()
+                    )
+                );
+            }
+
+            try (
+                MatrixFile resFile = MatrixFile.create(
+                    res,
+                    aFile.rows(),
+                    bFile.cols()
+                )
+            ) {
+                long rowTiles = (aFile.rows() + tileSize - 1) / tileSize;
+                long colTiles = (bFile.cols() + tileSize - 1) / tileSize;
+                Runnable[] tasks = new Runnable[
+                    Math.toIntExact(rowTiles * colTiles)
+                ];
+
+                for (long i = 0; i < rowTiles; i++) {
+                    for (long j = 0; j < colTiles; j++) {
+                        tasks[(int) (i * colTiles + j)] = new OutOfCoreTileTask(
+                            aFile,
+                            bFile,
+                            resFile,
+                            i * tileSize,
+                            j * tileSize,
+                            tileSize,
+                            engine.kernel()
+                        );
+                    }
+                }
+
+                try {
+                    engine.runAll(tasks);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                resFile.force();
             }
         }
+    }
+
+    /**
+     * Returns the result of a matrix multiplication spread over worker JVMs
+     * started on this machine for the duration of the call. Each worker
+     * computes square tiles of the result on its own compute engine.
+     *
+     * @param a          is the first matrix
+     * @param b          is the second matrix
+     * @param numWorkers number of worker processes to start
+     * @return the result of the multiplication
+     * @throws IOException              if a worker fails or cannot be reached
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @see DistributedCoordinator
+     */
+    public static DenseMatrix distributedMultiplyMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        int numWorkers
+    ) throws IOException {
+        validateInputMatrices(a, b);
+
+        int threads = Math.max(
+            1,
+            Runtime.getRuntime().availableProcessors() / numWorkers
+        );
+        try (
+            DistributedCoordinator coordinator =
+                DistributedCoordinator.spawnLocal(
+                    numWorkers,
+                    threads,
+                    DistributedCoordinator.DEFAULT_TILE_SIZE
+                )
+        ) {
+            return coordinator.multiply(a, b);
+        }
+    }
+
+    /**
+     * Rounds a dimension up to the next multiple of {@code 2^levels}.
+     */
+    private static int padTo(int dimension, int levels) {
+        int block = 1 << levels;
+        return ((dimension + block - 1) / block) * block;
+    }
+
+    /**
+     * Returns the matrix itself if it already has the given size, and a
+     * zero-padded copy otherwise.
+     */
+    private static DenseMatrix padded(DenseMatrix m, int rows, int cols) {
+        if (m.rows() == rows && m.cols() == cols) {
+            return m;
+        }
 
-        return transpose;
+        DenseMatrix res = new DenseMatrix(rows, cols);
+        res.view(0, 0, m.rows(), m.cols()).copyFrom(m);
+        return res;
     }
 
     /**
      * Populates a matrix of given size with randomly generated integers between
-     * 0-10.
+     * 0-9, filled in parallel and reproducible from the seed.
      *
      * @param numRows number of rows
      * @param numCols number of cols
+     * @param seed    the seed of the matrix
      * @return matrix
      */
-    private static Double[][] generateRandomMatrix(int numRows, int numCols) {
-        Double[][] matrix = new Double[numRows][numCols];
-
-        for (int row = 0; row < numRows; row++) {
-            for (int col = 0; col < numCols; col++) {
-                matrix[row][col] = (double) ((int) (Math.random() * 10.0));
-            }
-        }
-
-        return matrix;
+    private static DenseMatrix generateRandomMatrix(
+        int numRows,
+        int numCols,
+        long seed
+    ) {
+        return new WorkloadGenerator(seed).generate(
+            numRows,
+            numCols,
+            WorkloadGenerator.Distribution.uniformInts(0, 10)
+        );
     }
 
     /**
@@ -203,6 +783,104 @@ public class MatrixMultiplication {
         }
     }
 
+    /**
+     * Validates whether two primitive matrices are compatible for matrix
+     * multiplication. Primitive matrices are rectangular by construction, so
+     * only nullness, emptiness and the shared dimension are checked.
+     *
+     * @param a the first matrix
+     * @param b the second matrix
+     * @throws IllegalArgumentException if matrices are null or incompatible for
+     *                                  multiplication
+     */
+    static void validateInputMatrices(DenseMatrix a, DenseMatrix b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+
+        if (a.rows() == 0 || a.cols() == 0 || b.rows() == 0 || b.cols() == 0) {
+            throw new IllegalArgumentException(
+                "Input matrices cannot be empty"
+            );
+        }
+
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Matrix dimensions incompatible for multiplication: " +
+                        "A has %d columns but B has %d rows",
+                    a.cols(),
+                    b.rows()
+                )
+            );
+        }
+    }
+
+    /**
+     * Checks a left-hand operand against a prepared right-hand operand. The
+     * prepared operand was checked when it was packed, so only A and the
+     * shared dimension are validated here.
+     */
+    static void validateInputMatrices(DenseMatrix a, PreparedOperand b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+
+        if (a.rows() == 0 || a.cols() == 0) {
+            throw new IllegalArgumentException(
+                "Input matrices cannot be empty"
+            );
+        }
+
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Matrix dimensions incompatible for multiplication: " +
+                        "A has %d columns but B has %d rows",
+                    a.cols(),
+                    b.rows()
+                )
+            );
+        }
+    }
+
+    /**
+     * Validates the operands and caller-supplied result of an in-place
+     * multiply C = alpha * A * B + beta * C.
+     *
+     * @param a        the first matrix
+     * @param b        the second matrix
+     * @param c        the result, of size a.rows() x b.cols()
+     * @param epilogue the transformation applied to the result
+     * @throws IllegalArgumentException if the matrices are incompatible, the
+     *                                  result has the wrong shape or shares
+     *                                  storage with an operand, or the
+     *                                  epilogue does not fit the result
+     */
+    static void validateResultMatrix(
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix c,
+        Epilogue epilogue
+    ) {
+        validateInputMatrices(a, b);
+
+        if (c == null || epilogue == null) {
+            throw new IllegalArgumentException(
+                "Result matrix and epilogue cannot be null"
+            );
+        }
+
+        MatrixKernel.checkShapes(a, b, c);
+        if (c.data() == a.data() || c.data() == b.data()) {
+            throw new IllegalArgumentException(
+                "Result matrix cannot share storage with an operand"
+            );
+        }
+
+        epilogue.checkShape(c.rows(), c.cols());
+    }
+
     /**
      * Performs sequential matrix multiplication and measures execution time.
      * Prints the elapsed time in milliseconds to the console.
@@ -211,9 +889,12 @@ public class MatrixMultiplication {
      * @param b the second matrix
      * @return the result of the matrix multiplication
      */
-    private static Double[][] benchmarkSequential(Double[][] a, Double[][] b) {
+    private static DenseMatrix benchmarkSequential(
+        DenseMatrix a,
+        DenseMatrix b
+    ) {
         long startSeq = System.nanoTime();
-        Double[][] res = sequentialMultiplyMatrix(a, b);
+        DenseMatrix res = sequentialMultiplyMatrix(a, b);
         long endSeq = System.nanoTime();
 
         double elapsedSeqMs = (endSeq - startSeq) / 1_000_000.0;
@@ -231,13 +912,13 @@ public class MatrixMultiplication {
      * @param numThreads the number of threads to use for parallel execution
      * @return the result of the matrix multiplication
      */
-    private static Double[][] benchmarkParallel(
-        Double[][] a,
-        Double[][] b,
+    private static DenseMatrix benchmarkParallel(
+        DenseMatrix a,
+        DenseMatrix b,
         Integer numThreads
     ) {
         long startSeq = System.nanoTime();
-        Double[][] res = parallelMultiplyMatrix(a, b, numThreads);
+        DenseMatrix res = parallelMultiplyMatrix(a, b, numThreads);
         long endSeq = System.nanoTime();
 
         double elapsedSeqMs = (endSeq - startSeq) / 1_000_000.0;
@@ -246,11 +927,60 @@ public class MatrixMultiplication {
         return res;
     }
 
+    /**
+     * Performs auto-tuned matrix multiplication and measures execution time.
+     * Prints the elapsed time in milliseconds to the console.
+     *
+     * @param a     the first matrix
+     * @param b     the second matrix
+     * @param tuner the tuner choosing the configuration
+     * @return the result of the matrix multiplication
+     */
+    private static DenseMatrix benchmarkTuned(
+        DenseMatrix a,
+        DenseMatrix b,
+        AutoTuner tuner
+    ) {
+        long startSeq = System.nanoTime();
+        DenseMatrix res = parallelMultiplyMatrix(a, b, tuner);
+        long endSeq = System.nanoTime();
+
+        double elapsedSeqMs = (endSeq - startSeq) / 1_000_000.0;
+        System.out.printf("Tuned multiply took %.3f ms%n", elapsedSeqMs);
+
+        return res;
+    }
+
+    /**
+     * Performs exact integer matrix multiplication in parallel and measures
+     * execution time. Prints the elapsed time in milliseconds to the console.
+     *
+     * @param a          the first matrix
+     * @param b          the second matrix
+     * @param numThreads the number of threads to use for parallel execution
+     * @return the result of the matrix multiplication
+     */
+    private static IntMatrix benchmarkExact(
+        IntMatrix a,
+        IntMatrix b,
+        Integer numThreads
+    ) {
+        long startSeq = System.nanoTime();
+        IntMatrix res = parallelMultiplyMatrix(a, b, numThreads);
+        long endSeq = System.nanoTime();
+
+        double elapsedSeqMs = (endSeq - startSeq) / 1_000_000.0;
+        System.out.printf("Exact int multiply took %.3f ms%n", elapsedSeqMs);
+
+        return res;
+    }
+
     /**
      * Runs a benchmark suite that tests parallel matrix multiplication
      * performance across different thread counts (1-49 threads).
-     * Uses a fixed matrix size of 4000x4000 and compares results
-     * against sequential implementation for correctness.
+     * Uses a fixed matrix size of 4000x4000 and checks every result with
+     * Freivalds' algorithm, in O(n^2) instead of a sequential control
+     * multiply that would take longer than the runs being measured.
      */
     @SuppressWarnings("unused")
     private static void runBenchmarkByThreads() {
@@ -259,11 +989,10 @@ public class MatrixMultiplication {
         );
 
         Integer matrixSize = 4000;
-        Double[][] a = generateRandomMatrix(matrixSize, matrixSize);
-        Double[][] b = generateRandomMatrix(matrixSize, matrixSize);
+        DenseMatrix a = generateRandomMatrix(matrixSize, matrixSize, 1);
+        DenseMatrix b = generateRandomMatrix(matrixSize, matrixSize, 2);
 
-        // Store sequential result as control
-        Double[][] seqRes = benchmarkSequential(a, b);
+        FreivaldsVerifier verifier = FreivaldsVerifier.withDefaults();
 
         for (int i = 1; i < 50; i++) {
             String testName = String.format(
@@ -273,7 +1002,10 @@ public class MatrixMultiplication {
             );
             System.out.print(testName);
 
-            Double[][] parRes = benchmarkParallel(a, b, i);
+            DenseMatrix parRes = benchmarkParallel(a, b, i);
+            if (!verifier.verify(a, b, parRes)) {
+                System.out.println("Result check FAILED");
+            }
         }
     }
 
@@ -281,7 +1013,10 @@ public class MatrixMultiplication {
      * Runs a benchmark suite that tests both sequential and parallel
      * matrix multiplication performance across different matrix sizes.
      * Uses the predefined MATRIX_SIZES array and compares results
-     * for correctness while measuring execution times.
+     * for correctness while measuring execution times. The parallel
+     * multiply runs with the kernel, tiles and thread count the auto-tuner
+     * picked for each size, calibrating this machine first if no plan has
+     * been stored yet, and the exact multiply uses the same thread count.
      */
     @SuppressWarnings("unused")
     private static void runBenchmarkByMatrixSizes() {
@@ -289,20 +1024,36 @@ public class MatrixMultiplication {
             "\n=========== Running Benchmark by Matrix Size Suite ==========="
         );
 
-        for (int i = 0; i < MATRIX_SIZES.length; i++) {
-            Integer size = MATRIX_SIZES[i];
-            String testName = String.format(
-                "Benchmark %d: Matrix size = %d",
-                i,
-                size
-            );
-            System.out.println(testName);
+        try (
+            AutoTuner tuner = AutoTuner.loadOrCalibrate(
+                AutoTuner.defaultPlanFile()
+            )
+        ) {
+            for (int i = 0; i < MATRIX_SIZES.length; i++) {
+                Integer size = MATRIX_SIZES[i];
+                TuningConfig config = tuner.plan().configFor(size, size, size);
+                String testName = String.format(
+                    "Benchmark %d: Matrix size = %d, tuned kernel = %s, " +
+                        "threads = %d, tiles = %s",
+                    i,
+                    size,
+                    config.kernel(),
+                    config.threads(),
+                    config.tiles()
+                );
+                System.out.println(testName);
 
-            Double[][] a = generateRandomMatrix(size, size);
-            Double[][] b = generateRandomMatrix(size, size);
+                DenseMatrix a = generateRandomMatrix(size, size, 1);
+                DenseMatrix b = generateRandomMatrix(size, size, 2);
 
-            benchmarkSequential(a, b);
-            benchmarkParallel(a, b, NUMBER_THREADS);
+                benchmarkSequential(a, b);
+                benchmarkTuned(a, b, tuner);
+                benchmarkExact(
+                    IntMatrix.of(a),
+                    IntMatrix.of(b),
+                    config.threads()
+                );
+            }
         }
     }
 
@@ -364,6 +1115,11 @@ public class MatrixMultiplication {
     }
 
     public static void main(String[] args) {
+        // with arguments, run as a binary pipeline, see MatrixCli
+        if (args.length > 0) {
+            System.exit(MatrixCli.run(args));
+        }
+
         // run example
         runExample();
 
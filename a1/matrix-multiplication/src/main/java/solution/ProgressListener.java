@@ -0,0 +1,20 @@
+package solution;
+
+/**
+ * Callback notified as the tiles of an asynchronous multiply complete. It is
+ * called from worker threads, possibly concurrently, so implementations must
+ * be thread-safe and should return quickly.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /** Listener that ignores every notification. */
+    ProgressListener NONE = (completed, total) -> {};
+
+    /**
+     * Reports that another tile of the result has been computed.
+     *
+     * @param completed the number of tiles completed so far
+     * @param total     the number of tiles in the result
+     */
+    void onProgress(int completed, int total);
+}
@@ -0,0 +1,235 @@
+package solution;
+
+import java.util.SplittableRandom;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Fills matrices with random values in parallel, reproducibly from a seed.
+ *
+ * <p>A matrix is cut into chunks of whole rows of a fixed size, and every
+ * chunk draws from its own {@link SplittableRandom} stream, split from the
+ * generator's seed on the calling thread before the chunks are filled on the
+ * engine's workers. The chunks do not depend on the number of threads, so
+ * the same seed and sequence of calls produce the same matrices on any
+ * engine. Unlike {@code Math.random()}, no lock is shared between threads.
+ *
+ * <p>Each call draws a fresh stream from the generator, so successive
+ * matrices differ. Instances are not safe for concurrent use.
+ */
+public class WorkloadGenerator {
+
+    /** Elements per chunk, each filled by one task from one stream. */
+    private static final int CHUNK_ELEMENTS = 1 << 16;
+
+    private final SplittableRandom root;
+    private final MatrixComputeEngine engine;
+
+    /**
+     * Creates a generator filling matrices on the shared engine.
+     *
+     * @param seed the seed of every matrix this generator produces
+     */
+    public WorkloadGenerator(long seed) {
+        this(seed, MatrixComputeEngine.shared());
+    }
+
+    /**
+     * Creates a generator filling matrices on the given engine.
+     *
+     * @param seed   the seed of every matrix this generator produces
+     * @param engine the engine whose workers fill the chunks
+     */
+    public WorkloadGenerator(long seed, MatrixComputeEngine engine) {
+        this.root = new SplittableRandom(seed);
+        this.engine = engine;
+    }
+
+    /**
+     * Returns a matrix whose elements are all drawn from a distribution.
+     *
+     * @param rows         number of rows
+     * @param cols         number of cols
+     * @param distribution the distribution of the elements
+     * @return the matrix
+     */
+    public DenseMatrix generate(
+        int rows,
+        int cols,
+        Distribution distribution
+    ) {
+        return banded(rows, cols, rows, cols, distribution);
+    }
+
+    /**
+     * Returns a banded matrix: element (r, c) is drawn from a distribution
+     * when {@code -lower <= c - r <= upper} and is zero otherwise. A band of
+     * 0 and 0 gives a diagonal matrix.
+     *
+     * @param rows         number of rows
+     * @param cols         number of cols
+     * @param lower        number of diagonals below the main one
+     * @param upper        number of diagonals above the main one
+     * @param distribution the distribution of the elements in the band
+     * @return the matrix
+     * @throws IllegalArgumentException if a bandwidth is negative
+     */
+    public DenseMatrix banded(
+        int rows,
+        int cols,
+        int lower,
+        int upper,
+        Distribution distribution
+    ) {
+        if (lower < 0 || upper < 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid bandwidths %d and %d", lower, upper)
+            );
+        }
+
+        DenseMatrix res = new DenseMatrix(rows, cols);
+        if (rows == 0 || cols == 0) {
+            return res;
+        }
+
+        double[] data = res.data();
+        int chunkRows = Math.max(1, CHUNK_ELEMENTS / cols);
+        SplittableRandom source = root.split();
+        Runnable[] tasks = new Runnable[(rows + chunkRows - 1) / chunkRows];
+
+        for (int i = 0; i < tasks.length; i++) {
+            int rowStart = i * chunkRows;
+            int rowEnd = Math.min(rows, rowStart + chunkRows);
+            SplittableRandom random = source.split();
+
+            tasks[i] = () -> {
+                for (int r = rowStart; r < rowEnd; r++) {
+                    // Clamp in long: r + upper + 1 may overflow an int
+                    int from = (int) Math.max(0L, (long) r - lower);
+                    int to = (int) Math.min(cols, (long) r + upper + 1);
+                    for (int c = from; c < to; c++) {
+                        data[r * cols + c] = distribution.sample(random);
+                    }
+                }
+            };
+        }
+
+        engine.runAll(tasks);
+        return res;
+    }
+
+    /**
+     * Returns a square lower triangular matrix, with the diagonal and the
+     * elements below it drawn from a distribution.
+     *
+     * @param n            number of rows and cols
+     * @param distribution the distribution of the elements in the triangle
+     * @return the matrix
+     */
+    public DenseMatrix lowerTriangular(int n, Distribution distribution) {
+        return banded(n, n, n, 0, distribution);
+    }
+
+    /**
+     * Returns a square upper triangular matrix, with the diagonal and the
+     * elements above it drawn from a distribution.
+     *
+     * @param n            number of rows and cols
+     * @param distribution the distribution of the elements in the triangle
+     * @return the matrix
+     */
+    public DenseMatrix upperTriangular(int n, Distribution distribution) {
+        return banded(n, n, 0, n, distribution);
+    }
+
+    /**
+     * Distribution of the elements of a generated matrix. Samples are drawn
+     * concurrently, each chunk from its own stream, so implementations must
+     * only use the stream they are given.
+     */
+    @FunctionalInterface
+    public interface Distribution {
+        /**
+         * Draws one element.
+         *
+         * @param random the stream of the chunk being filled
+         * @return the element
+         */
+        double sample(SplittableRandom random);
+
+        /**
+         * Returns a distribution keeping each sample of this one with a
+         * probability and giving zero otherwise, for sparse workloads.
+         *
+         * @param density the expected fraction of elements drawn from this
+         *                distribution, in [0, 1]
+         * @return the sparse distribution
+         * @throws IllegalArgumentException if density is not in [0, 1]
+         */
+        default Distribution sparse(double density) {
+            if (!(density >= 0.0 && density <= 1.0)) {
+                throw new IllegalArgumentException(
+                    "Invalid density " + density
+                );
+            }
+
+            return random -> random.nextDouble() < density
+                ? sample(random)
+                : 0.0;
+        }
+
+        /**
+         * Returns integers drawn uniformly from [origin, bound), stored as
+         * doubles; products of such matrices are exact.
+         *
+         * @param origin the smallest value (inclusive)
+         * @param bound  the upper bound (exclusive)
+         * @return the distribution
+         * @throws IllegalArgumentException if origin is not below bound
+         */
+        static Distribution uniformInts(int origin, int bound) {
+            if (origin >= bound) {
+                throw new IllegalArgumentException(
+                    String.format("Invalid range [%d, %d)", origin, bound)
+                );
+            }
+
+            return random -> random.nextInt(origin, bound);
+        }
+
+        /**
+         * Returns doubles drawn uniformly from [origin, bound).
+         *
+         * @param origin the smallest value (inclusive)
+         * @param bound  the upper bound (exclusive)
+         * @return the distribution
+         * @throws IllegalArgumentException if origin is not below bound
+         */
+        static Distribution uniform(double origin, double bound) {
+            if (!(origin < bound)) {
+                throw new IllegalArgumentException(
+                    String.format("Invalid range [%s, %s)", origin, bound)
+                );
+            }
+
+            return random -> random.nextDouble(origin, bound);
+        }
+
+        /**
+         * Returns normally distributed doubles.
+         *
+         * @param mean   the mean
+         * @param stddev the standard deviation
+         * @return the distribution
+         * @throws IllegalArgumentException if stddev is negative
+         */
+        static Distribution gaussian(double mean, double stddev) {
+            if (!(stddev >= 0.0)) {
+                throw new IllegalArgumentException(
+                    "Invalid standard deviation " + stddev
+                );
+            }
+
+            return random -> mean + stddev * random.nextGaussian();
+        }
+    }
+}
@@ -0,0 +1,557 @@
+package solution.distributed;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import solution.io.MatrixStreams;
+import solution.kernels.MatrixKernels;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Multiplies matrices across several {@link MatrixWorker} processes in the
+ * manner of SUMMA. The result is cut into square tiles that are dealt 2D
+ * block-cyclically over a grid of workers: tile (i, j) goes to worker
+ * (i mod p, j mod q) of a p x q grid, which keeps all of its tiles as one
+ * local block. The common dimension is then streamed in panels of the tile
+ * size: for each panel, every worker is sent the slice of A covering its
+ * tile rows and the slice of B covering its tile columns, and accumulates
+ * their product into its block, which it sends back once the last panel is
+ * in.
+ *
+ * <p>Each element of A therefore crosses the network q times and each
+ * element of B p times, instead of once per tile of the result. A worker
+ * holds its share of the result, about m * n / (p * q) elements, plus one
+ * panel of A and of B; it never needs the whole common dimension at once.
+ * Workers are driven concurrently, one connection each, and the blocks are
+ * scattered into the result as they arrive.
+ *
+ * <p>For testing, {@link #spawnLocal} starts worker JVMs on this machine;
+ * in production, {@link #connect} attaches to workers already running on
+ * other hosts. If a connection fails mid-multiply the coordinator should be
+ * closed, as the connection is left in an unknown state.
+ */
+public class DistributedCoordinator implements AutoCloseable {
+
+    /** Default side of the result tiles and depth of the common panels. */
+    public static final int DEFAULT_TILE_SIZE = 512;
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 5;
+    private static final long STARTUP_WAIT_SECONDS = 60;
+
+    private final SocketChannel[] workers;
+    private final List<Process> processes;
+    private final ExecutorService io;
+    private final int tileSize;
+
+    private DistributedCoordinator(
+        SocketChannel[] workers,
+        List<Process> processes,
+        int tileSize
+    ) {
+        this.workers = workers;
+        this.processes = processes;
+        this.tileSize = tileSize;
+        this.io = Executors.newFixedThreadPool(workers.length);
+    }
+
+    /**
+     * Starts worker JVMs on this machine, with the same Java installation
+     * and class path as this one, and connects to them.
+     *
+     * @param numWorkers       the number of worker processes
+     * @param threadsPerWorker compute threads in each worker
+     * @param tileSize         side of the result tiles
+     * @return the coordinator, owning the worker processes; closing it
+     *         shuts them down
+     * @throws IOException if a worker cannot be started or reached
+     */
+    public static DistributedCoordinator spawnLocal(
+        int numWorkers,
+        int threadsPerWorker,
+        int tileSize
+    ) throws IOException {
+        checkArguments(numWorkers, tileSize);
+        if (threadsPerWorker <= 0) {
+            throw new IllegalArgumentException(
+                "Number of threads must be positive, got " + threadsPerWorker
+            );
+        }
+
+        List<Process> processes = new ArrayList<>();
+        SocketChannel[] channels = new SocketChannel[numWorkers];
+
+        try {
+            for (int i = 0; i < numWorkers; i++) {
+                Process process = startWorker(threadsPerWorker);
+                processes.add(process);
+
+                int port = awaitPort(
+                    process,
+                    STARTUP_WAIT_SECONDS,
+                    TimeUnit.SECONDS
+                );
+                channels[i] = SocketChannel.open(
+                    new InetSocketAddress(
+                        InetAddress.getLoopbackAddress(),
+                        port
+                    )
+                );
+            }
+        } catch (IOException | RuntimeException e) {
+            new DistributedCoordinator(channels, processes, tileSize).close();
+            throw e;
+        }
+
+        return new DistributedCoordinator(channels, processes, tileSize);
+    }
+
+    /**
+     * Connects to workers that are already running.
+     *
+     * @param addresses the address each worker listens on
+     * @param tileSize  side of the result tiles
+     * @return the coordinator; closing it disconnects from the workers,
+     *         which keep running and wait for the next coordinator
+     * @throws IOException if a worker cannot be reached
+     */
+    public static DistributedCoordinator connect(
+        List<InetSocketAddress> addresses,
+        int tileSize
+    ) throws IOException {
+        checkArguments(addresses.size(), tileSize);
+
+        SocketChannel[] channels = new SocketChannel[addresses.size()];
+        try {
+            for (int i = 0; i < channels.length; i++) {
+                channels[i] = SocketChannel.open(addresses.get(i));
+            }
+        } catch (IOException e) {
+            new DistributedCoordinator(channels, List.of(), tileSize).close();
+            throw e;
+        }
+
+        return new DistributedCoordinator(channels, List.of(), tileSize);
+    }
+
+    /**
+     * Returns the product of two matrices computed by the workers.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     * @throws IOException              if a worker fails or cannot be reached
+     */
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b)
+        throws IOException {
+        validate(a, b);
+
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        int tileRows = (a.rows() + tileSize - 1) / tileSize;
+        int tileCols = (b.cols() + tileSize - 1) / tileSize;
+
+        // Most square process grid p x q with p * q == workers
+        int p = gridRows(workers.length);
+        int q = workers.length / p;
+
+        List<Future<Void>> pending = new ArrayList<>();
+        for (int w = 0; w < workers.length; w++) {
+            int gridRow = w / q;
+            int gridCol = w % q;
+            if (gridRow >= tileRows || gridCol >= tileCols) {
+                continue; // more workers than tiles along this side
+            }
+
+            Grid grid = new Grid(gridRow, p, gridCol, q);
+            SocketChannel channel = workers[w];
+            int worker = w;
+
+            pending.add(
+                io.submit(() -> {
+                    computeBlock(channel, worker, grid, a, b, res);
+                    return null;
+                })
+            );
+        }
+
+        awaitAll(pending);
+        return res;
+    }
+
+    /**
+     * Position of a worker in the p x q grid: it owns tile rows gridRow,
+     * gridRow + p, ... and tile columns gridCol, gridCol + q, ...
+     */
+    private record Grid(int gridRow, int p, int gridCol, int q) {}
+
+    /**
+     * Returns the largest divisor of n that is at most its square root.
+     */
+    private static int gridRows(int n) {
+        int p = (int) Math.sqrt(n);
+        while (n % p != 0) {
+            p--;
+        }
+        return p;
+    }
+
+    /**
+     * Streams the panels of A and B a worker needs for its tiles, one panel
+     * of the common dimension at a time, then collects the worker's block of
+     * the result and scatters it into its tiles.
+     */
+    private void computeBlock(
+        SocketChannel channel,
+        int worker,
+        Grid grid,
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix res
+    ) throws IOException {
+        int firstRow = grid.gridRow() * tileSize;
+        int firstCol = grid.gridCol() * tileSize;
+        int rowStep = grid.p() * tileSize;
+        int colStep = grid.q() * tileSize;
+        int localRows = ownedLength(a.rows(), firstRow, rowStep);
+        int localCols = ownedLength(b.cols(), firstCol, colStep);
+        int common = a.cols();
+
+        int panels = 0;
+        for (int k0 = 0; k0 < common; k0 += tileSize, panels++) {
+            int depth = Math.min(tileSize, common - k0);
+
+            WireProtocol.writeHeader(channel, WireProtocol.ACCUMULATE, panels);
+            // The worker's rows of A are sent tile row by tile row, uncopied
+            MatrixStreams.writeHeader(channel, localRows, depth);
+            for (int r0 = firstRow; r0 < a.rows(); r0 += rowStep) {
+                int numRows = Math.min(tileSize, a.rows() - r0);
+                MatrixStreams.writeRows(
+                    channel,
+                    a.view(r0, k0, numRows, depth)
+                );
+            }
+            MatrixStreams.write(
+                channel,
+                ownedColumns(b, k0, depth, firstCol, colStep, localCols)
+            );
+        }
+
+        WireProtocol.writeHeader(channel, WireProtocol.FINISH, panels);
+
+        int[] header = WireProtocol.readHeader(channel);
+        if (header[0] == WireProtocol.ERROR) {
+            throw new IOException(
+                String.format(
+                    "Worker %d failed: %s",
+                    worker,
+                    WireProtocol.readMessage(channel)
+                )
+            );
+        }
+
+        if (header[0] != WireProtocol.RESULT || header[1] != panels) {
+            throw new IOException(
+                String.format(
+                    "Worker %d sent opcode %d after %d panels, expected a " +
+                        "result after %d",
+                    worker,
+                    header[0],
+                    header[1],
+                    panels
+                )
+            );
+        }
+
+        DenseMatrix block = MatrixStreams.read(channel);
+        if (block.rows() != localRows || block.cols() != localCols) {
+            throw new IOException(
+                String.format(
+                    "Worker %d sent a %dx%d block, expected %dx%d",
+                    worker,
+                    block.rows(),
+                    block.cols(),
+                    localRows,
+                    localCols
+                )
+            );
+        }
+
+        int localRow = 0;
+        for (int r0 = firstRow; r0 < a.rows(); r0 += rowStep) {
+            int numRows = Math.min(tileSize, a.rows() - r0);
+            int localCol = 0;
+
+            for (int c0 = firstCol; c0 < b.cols(); c0 += colStep) {
+                int numCols = Math.min(tileSize, b.cols() - c0);
+                res
+                    .view(r0, c0, numRows, numCols)
+                    .copyFrom(block.view(localRow, localCol, numRows, numCols));
+                localCol += numCols;
+            }
+            localRow += numRows;
+        }
+    }
+
+    /**
+     * Returns how many of {@code total} rows (or columns) lie in the tiles
+     * starting at {@code first}, {@code first + step}, ...
+     */
+    private int ownedLength(int total, int first, int step) {
+        int length = 0;
+        for (int start = first; start < total; start += step) {
+            length += Math.min(tileSize, total - start);
+        }
+        return length;
+    }
+
+    /**
+     * Returns rows k0 to k0 + depth of the columns of B in a worker's tile
+     * columns: a view when the worker owns every column, and otherwise a
+     * copy of its columns packed side by side.
+     */
+    private DenseMatrix ownedColumns(
+        DenseMatrix b,
+        int k0,
+        int depth,
+        int firstCol,
+        int colStep,
+        int localCols
+    ) {
+        if (localCols == b.cols()) {
+            return b.view(k0, 0, depth, localCols);
+        }
+
+        DenseMatrix panel = new DenseMatrix(depth, localCols);
+        int localCol = 0;
+        for (int c0 = firstCol; c0 < b.cols(); c0 += colStep) {
+            int numCols = Math.min(tileSize, b.cols() - c0);
+            panel
+                .view(0, localCol, depth, numCols)
+                .copyFrom(b.view(k0, c0, depth, numCols));
+            localCol += numCols;
+        }
+        return panel;
+    }
+
+    /**
+     * Waits for every worker to finish its block and rethrows the first
+     * failure, cancelling the rest.
+     */
+    private static void awaitAll(List<Future<Void>> pending)
+        throws IOException {
+        Throwable failure = null;
+
+        for (Future<Void> future : pending) {
+            if (failure != null) {
+                future.cancel(true);
+                continue;
+            }
+
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            }
+        }
+
+        if (failure instanceof IOException e) {
+            throw e;
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure != null) {
+            throw new IOException("Distributed multiply failed", failure);
+        }
+    }
+
+    /**
+     * Starts a worker JVM with the same Java installation and class path as
+     * this one, listening on a free port.
+     */
+    static Process startWorker(int threads) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString()
+        );
+        if (MatrixKernels.isVectorApiAvailable()) {
+            command.add("--add-modules");
+            command.add("jdk.incubator.vector");
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MatrixWorker.class.getName());
+        command.add("0");
+        command.add(Integer.toString(threads));
+
+        return new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+    }
+
+    /**
+     * Reads the port a freshly started worker announces on standard output.
+     * A worker that does not announce one in time is destroyed.
+     */
+    static int awaitPort(Process process, long timeout, TimeUnit unit)
+        throws IOException {
+        FutureTask<Integer> port = new FutureTask<>(() -> readPort(process));
+        Thread reader = new Thread(port, "matrix-worker-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            return port.get(timeout, unit);
+        } catch (TimeoutException e) {
+            process.destroyForcibly();
+            throw new IOException(
+                String.format(
+                    "Worker process did not start listening within %d %s " +
+                        "(pid %d)",
+                    timeout,
+                    unit.toString().toLowerCase(),
+                    process.pid()
+                )
+            );
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(
+                "Interrupted while waiting for a worker to start"
+            );
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Worker process failed to start", e);
+        }
+    }
+
+    private static int readPort(Process process) throws IOException {
+        BufferedReader out = new BufferedReader(
+            new InputStreamReader(
+                process.getInputStream(),
+                StandardCharsets.UTF_8
+            )
+        );
+
+        String line;
+        while ((line = out.readLine()) != null) {
+            if (line.startsWith(WireProtocol.READY)) {
+                return Integer.parseInt(
+                    line.substring(WireProtocol.READY.length()).trim()
+                );
+            }
+        }
+
+        throw new IOException(
+            "Worker process exited before listening (pid " +
+                process.pid() +
+                ")"
+        );
+    }
+
+    private static void checkArguments(int numWorkers, int tileSize) {
+        if (numWorkers <= 0 || tileSize <= 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Workers and tile size must be positive: workers=%d " +
+                        "tile=%d",
+                    numWorkers,
+                    tileSize
+                )
+            );
+        }
+    }
+
+    private static void validate(DenseMatrix a, DenseMatrix b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+
+        if (a.rows() == 0 || a.cols() == 0 || b.rows() == 0 || b.cols() == 0) {
+            throw new IllegalArgumentException(
+                "Input matrices cannot be empty"
+            );
+        }
+
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Matrix dimensions incompatible for multiplication: " +
+                        "A has %d columns but B has %d rows",
+                    a.cols(),
+                    b.rows()
+                )
+            );
+        }
+    }
+
+    public int numWorkers() {
+        return workers.length;
+    }
+
+    public int tileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Closes the connections. Workers started by {@link #spawnLocal} are
+     * asked to shut down first and waited for, and killed if they do not
+     * exit; workers attached with {@link #connect} are left running.
+     */
+    @Override
+    public void close() {
+        io.shutdownNow();
+        boolean owned = !processes.isEmpty();
+
+        for (SocketChannel channel : workers) {
+            if (channel == null) {
+                continue;
+            }
+
+            try (channel) {
+                if (owned) {
+                    WireProtocol.writeHeader(
+                        channel,
+                        WireProtocol.SHUTDOWN,
+                        0
+                    );
+                }
+            } catch (IOException e) {
+                // the worker is already gone
+            }
+        }
+
+        for (Process process : processes) {
+            try {
+                if (
+                    !process.waitFor(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)
+                ) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package solution.distributed;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import solution.MatrixComputeEngine;
+import solution.io.MatrixStreams;
+import solution.kernels.Epilogue;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Worker process for {@link DistributedCoordinator}. It listens on a TCP
+ * port and, for every connection, accumulates the products of the panels
+ * it is sent into its block of the result on a local compute engine and
+ * sends the block back when the coordinator has sent the last panel, until
+ * the coordinator says to shut down or disconnects.
+ *
+ * <p>Run as {@code java solution.distributed.MatrixWorker [port [threads]]};
+ * port 0 (the default) picks a free port. Once listening, the worker prints
+ * {@code LISTENING <port>} on standard output.
+ *
+ * <p>The worker binds all interfaces and does not authenticate its peers:
+ * anyone who can reach the port can make it allocate matrices of any size
+ * the headers announce, or shut it down with {@code SHUTDOWN}. Only run it
+ * on a trusted network, or behind a firewall that limits the port to the
+ * coordinator's host.
+ */
+public class MatrixWorker {
+
+    private MatrixWorker() {}
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int threads = args.length > 1
+            ? Integer.parseInt(args[1])
+            : Runtime.getRuntime().availableProcessors();
+
+        try (
+            ServerSocketChannel server = ServerSocketChannel.open();
+            MatrixComputeEngine engine = new MatrixComputeEngine(threads)
+        ) {
+            server.bind(new InetSocketAddress(port));
+            InetSocketAddress bound =
+                (InetSocketAddress) server.getLocalAddress();
+            System.out.println(WireProtocol.READY + bound.getPort());
+            System.out.flush();
+
+            // One coordinator per worker: serve connections one at a time
+            // and exit when a coordinator asks to shut down.
+            boolean running = true;
+            while (running) {
+                try (SocketChannel channel = server.accept()) {
+                    running = serve(channel, engine);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serves one coordinator connection.
+     *
+     * @return false if the coordinator asked the worker to shut down
+     */
+    static boolean serve(SocketChannel channel, MatrixComputeEngine engine)
+        throws IOException {
+        DenseMatrix block = null;
+        String failure = null;
+        int panels = 0;
+
+        while (true) {
+            int[] header;
+            try {
+                header = WireProtocol.readHeader(channel);
+            } catch (IOException e) {
+                // coordinator went away; wait for the next one
+                return true;
+            }
+
+            if (header[0] == WireProtocol.SHUTDOWN) {
+                return false;
+            }
+
+            if (header[0] == WireProtocol.ACCUMULATE) {
+                // Read every panel, even after a failure, to stay in step
+                DenseMatrix a = MatrixStreams.read(channel);
+                DenseMatrix b = MatrixStreams.read(channel);
+                panels++;
+
+                if (failure == null) {
+                    try {
+                        if (block == null) {
+                            block = new DenseMatrix(a.rows(), b.cols());
+                        }
+                        engine.multiplyInto(
+                            1.0,
+                            a,
+                            b,
+                            1.0,
+                            block,
+                            Epilogue.NONE
+                        );
+                    } catch (RuntimeException e) {
+                        failure = e.toString();
+                    }
+                }
+                continue;
+            }
+
+            if (header[0] != WireProtocol.FINISH) {
+                throw new IOException("Unexpected opcode " + header[0]);
+            }
+
+            if (failure == null && (block == null || panels != header[1])) {
+                failure = String.format(
+                    "Received %d panels, expected %d",
+                    panels,
+                    header[1]
+                );
+            }
+
+            if (failure != null) {
+                WireProtocol.writeHeader(channel, WireProtocol.ERROR, panels);
+                WireProtocol.writeMessage(channel, failure);
+            } else {
+                WireProtocol.writeHeader(channel, WireProtocol.RESULT, panels);
+                MatrixStreams.write(channel, block);
+            }
+
+            block = null;
+            failure = null;
+            panels = 0;
+        }
+    }
+}
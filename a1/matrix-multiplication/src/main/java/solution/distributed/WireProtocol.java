@@ -0,0 +1,99 @@
+package solution.distributed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import solution.io.MatrixStreams;
+
+/**
+ * Framing shared by the coordinator and the workers. Every message starts
+ * with a little-endian int opcode and an int count:
+ * <pre>
+ *   ACCUMULATE  coordinator -&gt; worker   A panel, B panel; count = panel
+ *   FINISH      coordinator -&gt; worker   (no body); count = panels sent
+ *   RESULT      worker -&gt; coordinator   C block; count = panels summed
+ *   ERROR       worker -&gt; coordinator   int length, UTF-8 message
+ *   SHUTDOWN    coordinator -&gt; worker   (no body)
+ * </pre>
+ * A worker adds the product of each ACCUMULATE's panels to its block and
+ * answers FINISH with the block, or with the first error, and then starts
+ * a new block. Matrices are encoded with {@link MatrixStreams}.
+ */
+final class WireProtocol {
+
+    static final int ACCUMULATE = 1;
+    static final int RESULT = 2;
+    static final int ERROR = 3;
+    static final int SHUTDOWN = 4;
+    static final int FINISH = 5;
+
+    /** Line a worker prints on standard output once it is listening. */
+    static final String READY = "LISTENING ";
+
+    /** Longest ERROR message, in bytes; longer ones are truncated. */
+    static final int MAX_MESSAGE_BYTES = 1 << 16;
+
+    private WireProtocol() {}
+
+    /**
+     * Writes the opcode and count that start a message.
+     */
+    static void writeHeader(WritableByteChannel channel, int opcode, int count)
+        throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8).order(
+            ByteOrder.LITTLE_ENDIAN
+        );
+        header.putInt(opcode).putInt(count).flip();
+        MatrixStreams.writeFully(channel, header);
+    }
+
+    /**
+     * Reads the opcode and count that start a message.
+     *
+     * @return the opcode and the count
+     */
+    static int[] readHeader(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8).order(
+            ByteOrder.LITTLE_ENDIAN
+        );
+        MatrixStreams.readFully(channel, header);
+        header.flip();
+        return new int[] { header.getInt(), header.getInt() };
+    }
+
+    static void writeMessage(WritableByteChannel channel, String message)
+        throws IOException {
+        byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_MESSAGE_BYTES) {
+            bytes = Arrays.copyOf(bytes, MAX_MESSAGE_BYTES);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4 + bytes.length).order(
+            ByteOrder.LITTLE_ENDIAN
+        );
+        buffer.putInt(bytes.length).put(bytes).flip();
+        MatrixStreams.writeFully(channel, buffer);
+    }
+
+    static String readMessage(ReadableByteChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4).order(
+            ByteOrder.LITTLE_ENDIAN
+        );
+        MatrixStreams.readFully(channel, length);
+        length.flip();
+
+        int size = length.getInt();
+        if (size < 0 || size > MAX_MESSAGE_BYTES) {
+            throw new IOException(
+                String.format("Invalid message length %d", size)
+            );
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(size);
+        MatrixStreams.readFully(channel, bytes);
+        return new String(bytes.array(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,393 @@
+package solution.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import solution.matrix.DenseMatrix;
+
+/**
+ * On-disk matrix of doubles read and written a block at a time, so that
+ * blocks can be transferred without loading the whole matrix into the heap.
+ * Blocks are copied row by row with positional channel reads and writes
+ * through a small buffer, so nothing beyond the block and that buffer stays
+ * resident, and closing the file releases everything it holds. Positional
+ * transfers do not share a file position, so disjoint blocks may be read and
+ * written from several threads at once.
+ *
+ * <p>The file starts with a {@value #HEADER_BYTES}-byte little-endian header:
+ * <pre>
+ *   offset 0   int   magic   0x4D4D4154 ("MMAT")
+ *   offset 4   int   version 1
+ *   offset 8   long  rows
+ *   offset 16  long  cols
+ *   offset 24  long  reserved (0)
+ * </pre>
+ * followed by rows * cols little-endian doubles in row-major order.
+ */
+public class MatrixFile implements AutoCloseable {
+
+    public static final int MAGIC = 0x4D4D4154;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+
+    /** Doubles copied per channel read or write. */
+    private static final int CHUNK_DOUBLES = 1 << 13;
+
+    private final FileChannel channel;
+    private final long rows;
+    private final long cols;
+    private final boolean writable;
+
+    private MatrixFile(
+        FileChannel channel,
+        long rows,
+        long cols,
+        boolean writable
+    ) {
+        this.channel = channel;
+        this.rows = rows;
+        this.cols = cols;
+        this.writable = writable;
+    }
+
+    /**
+     * Creates (or truncates) a zero-filled matrix file of the given size and
+     * opens it for reading and writing.
+     *
+     * @param path the file to create
+     * @param rows number of rows
+     * @param cols number of cols
+     * @return the open matrix file
+     * @throws IOException if the file cannot be created
+     */
+    public static MatrixFile create(Path path, long rows, long cols)
+        throws IOException {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid matrix size %dx%d", rows, cols)
+            );
+        }
+
+        FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+
+        try {
+            channel.write(header(rows, cols), 0);
+            long end = fileSize(rows, cols);
+            // Extend the file with a hole; the OS fills it with zeros
+            channel.write(ByteBuffer.allocate(1), end - 1);
+
+            return new MatrixFile(channel, rows, cols, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing matrix file.
+     *
+     * @param path     the file to open
+     * @param writable whether blocks may be written
+     * @return the open matrix file
+     * @throws IOException if the file cannot be read or is not a matrix file
+     */
+    public static MatrixFile open(Path path, boolean writable)
+        throws IOException {
+        FileChannel channel = writable
+            ? FileChannel.open(
+                path,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            )
+            : FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(
+                ByteOrder.LITTLE_ENDIAN
+            );
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated matrix header in " + path);
+                }
+            }
+            header.flip();
+
+            long[] shape = parseHeader(header);
+            long expected;
+            try {
+                expected = fileSize(shape[0], shape[1]);
+            } catch (ArithmeticException e) {
+                throw new IOException(
+                    String.format(
+                        "Matrix size %dx%d in %s is too large",
+                        shape[0],
+                        shape[1],
+                        path
+                    ),
+                    e
+                );
+            }
+            if (channel.size() < expected) {
+                throw new IOException(
+                    String.format(
+                        "Matrix file %s holds %d bytes but a %dx%d matrix " +
+                            "needs %d",
+                        path,
+                        channel.size(),
+                        shape[0],
+                        shape[1],
+                        expected
+                    )
+                );
+            }
+
+            return new MatrixFile(channel, shape[0], shape[1], writable);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a whole in-memory matrix to a new matrix file.
+     *
+     * @param path   the file to create
+     * @param matrix the matrix to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, DenseMatrix matrix) throws IOException {
+        try (MatrixFile file = create(path, matrix.rows(), matrix.cols())) {
+            file.writeBlock(0, 0, matrix);
+        }
+    }
+
+    /**
+     * Reads a whole matrix file into memory.
+     *
+     * @param path the file to read
+     * @return the matrix
+     * @throws IOException if the file cannot be read or does not fit in an
+     *                     array
+     */
+    public static DenseMatrix read(Path path) throws IOException {
+        try (MatrixFile file = open(path, false)) {
+            if (file.rows * file.cols > Integer.MAX_VALUE - 8) {
+                throw new IOException(
+                    String.format(
+                        "Matrix of %dx%d does not fit in memory; read it in " +
+                            "blocks instead",
+                        file.rows,
+                        file.cols
+                    )
+                );
+            }
+
+            DenseMatrix res = new DenseMatrix((int) file.rows, (int) file.cols);
+            file.readBlock(0, 0, res);
+            return res;
+        }
+    }
+
+    /**
+     * Returns the size in bytes of a file holding a matrix of the given size.
+     *
+     * @param rows number of rows
+     * @param cols number of cols
+     * @return the header and body size
+     * @throws ArithmeticException if the size overflows a long
+     */
+    static long fileSize(long rows, long cols) {
+        return Math.addExact(
+            HEADER_BYTES,
+            Math.multiplyExact(Math.multiplyExact(rows, cols), 8L)
+        );
+    }
+
+    /**
+     * Encodes the header of a matrix of the given size.
+     *
+     * @param rows number of rows
+     * @param cols number of cols
+     * @return a buffer positioned at 0 holding the header
+     */
+    static ByteBuffer header(long rows, long cols) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(
+            ByteOrder.LITTLE_ENDIAN
+        );
+        header.putInt(MAGIC).putInt(VERSION).putLong(rows).putLong(cols);
+        header.putLong(0L);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Decodes a header, checking its magic number and version.
+     *
+     * @param header a little-endian buffer holding the header
+     * @return the rows and cols of the matrix
+     * @throws IOException if the header is invalid
+     */
+    static long[] parseHeader(ByteBuffer header) throws IOException {
+        int magic = header.getInt();
+        int version = header.getInt();
+        long numRows = header.getLong();
+        long numCols = header.getLong();
+        header.getLong();
+
+        if (magic != MAGIC) {
+            throw new IOException(
+                String.format("Not a matrix file (magic 0x%08X)", magic)
+            );
+        }
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported matrix file version " + version);
+        }
+
+        if (numRows <= 0 || numCols <= 0) {
+            throw new IOException(
+                String.format("Invalid matrix size %dx%d", numRows, numCols)
+            );
+        }
+
+        return new long[] { numRows, numCols };
+    }
+
+    /**
+     * Copies the block of this matrix whose top-left element is (row, col)
+     * into {@code dst}, which determines the size of the block.
+     *
+     * @param row first row of the block
+     * @param col first column of the block
+     * @param dst destination matrix (or view)
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public void readBlock(long row, long col, DenseMatrix dst) {
+        transferBlock(row, col, dst, false);
+    }
+
+    /**
+     * Copies {@code src} into the block of this matrix whose top-left element
+     * is (row, col).
+     *
+     * @param row first row of the block
+     * @param col first column of the block
+     * @param src source matrix (or view)
+     * @throws IllegalStateException if the file was opened read-only
+     * @throws UncheckedIOException  if the file cannot be written
+     */
+    public void writeBlock(long row, long col, DenseMatrix src) {
+        if (!writable) {
+            throw new IllegalStateException("Matrix file opened read-only");
+        }
+        transferBlock(row, col, src, true);
+    }
+
+    private void transferBlock(
+        long row,
+        long col,
+        DenseMatrix block,
+        boolean write
+    ) {
+        int numRows = block.rows();
+        int numCols = block.cols();
+
+        if (
+            row < 0 ||
+            col < 0 ||
+            row + numRows > rows ||
+            col + numCols > cols
+        ) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "Block [%d+%d, %d+%d] outside %dx%d matrix file",
+                    row,
+                    numRows,
+                    col,
+                    numCols,
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        double[] data = block.data();
+        ByteBuffer buffer = ByteBuffer.allocate(
+            Math.min(numCols, CHUNK_DOUBLES) * 8
+        ).order(ByteOrder.LITTLE_ENDIAN);
+        DoubleBuffer doubles = buffer.asDoubleBuffer();
+
+        try {
+            for (int r = 0; r < numRows; r++) {
+                long position = HEADER_BYTES + ((row + r) * cols + col) * 8;
+                int base = block.offset() + r * block.stride();
+
+                for (int done = 0; done < numCols; done += CHUNK_DOUBLES) {
+                    int length = Math.min(numCols - done, CHUNK_DOUBLES);
+                    long offset = position + done * 8L;
+                    buffer.clear().limit(length * 8);
+                    doubles.clear();
+
+                    if (write) {
+                        doubles.put(data, base + done, length);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer, offset + buffer.position());
+                        }
+                    } else {
+                        while (buffer.hasRemaining()) {
+                            if (
+                                channel.read(
+                                    buffer,
+                                    offset + buffer.position()
+                                ) < 0
+                            ) {
+                                throw new EOFException(
+                                    "Matrix file ends inside its body"
+                                );
+                            }
+                        }
+                        doubles.get(data, base + done, length);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long cols() {
+        return cols;
+    }
+
+    /**
+     * Flushes written blocks to the storage device.
+     *
+     * @throws IOException if the file cannot be flushed
+     */
+    public void force() throws IOException {
+        if (writable) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
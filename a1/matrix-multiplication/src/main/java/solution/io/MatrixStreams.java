@@ -0,0 +1,208 @@
+package solution.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Sends and receives whole matrices over byte channels (sockets, pipes,
+ * standard streams) in the {@link MatrixFile} format: the same 32-byte
+ * header followed by the little-endian body. Rows are staged through a
+ * small direct buffer, so no byte array of the whole matrix is built on
+ * either side.
+ */
+public final class MatrixStreams {
+
+    /** Bytes staged per channel operation. */
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private MatrixStreams() {}
+
+    /**
+     * Writes a matrix (or view) to a channel.
+     *
+     * @param channel the channel to write to
+     * @param matrix  the matrix to write
+     * @throws IOException if the channel cannot be written
+     */
+    public static void write(WritableByteChannel channel, DenseMatrix matrix)
+        throws IOException {
+        writeHeader(channel, matrix.rows(), matrix.cols());
+        writeRows(channel, matrix);
+    }
+
+    /**
+     * Writes the header of a matrix whose rows will follow, for producers
+     * that send a large matrix in row bands with {@link #writeRows} as the
+     * bands are computed, instead of holding all of it at once.
+     *
+     * @param channel the channel to write to
+     * @param rows    number of rows that will follow
+     * @param cols    number of cols
+     * @throws IOException if the channel cannot be written
+     */
+    public static void writeHeader(
+        WritableByteChannel channel,
+        long rows,
+        long cols
+    ) throws IOException {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid matrix size %dx%d", rows, cols)
+            );
+        }
+
+        writeFully(channel, MatrixFile.header(rows, cols));
+    }
+
+    /**
+     * Writes the elements of a matrix (or view), without a header, as the
+     * next rows of a matrix started with {@link #writeHeader}.
+     *
+     * @param channel the channel to write to
+     * @param matrix  the rows to write
+     * @throws IOException if the channel cannot be written
+     */
+    public static void writeRows(
+        WritableByteChannel channel,
+        DenseMatrix matrix
+    ) throws IOException {
+        ByteBuffer buffer = chunk();
+        DoubleBuffer doubles = buffer.asDoubleBuffer();
+        double[] data = matrix.data();
+
+        for (int r = 0; r < matrix.rows(); r++) {
+            int base = matrix.offset() + r * matrix.stride();
+            int remaining = matrix.cols();
+
+            while (remaining > 0) {
+                int length = Math.min(remaining, doubles.remaining());
+                doubles.put(data, base, length);
+                base += length;
+                remaining -= length;
+
+                if (!doubles.hasRemaining()) {
+                    flush(channel, buffer, doubles);
+                }
+            }
+        }
+
+        flush(channel, buffer, doubles);
+    }
+
+    /**
+     * Reads a matrix written by {@link #write} from a channel.
+     *
+     * @param channel the channel to read from
+     * @return the matrix
+     * @throws EOFException if the channel ends before the matrix does
+     * @throws IOException  if the channel cannot be read or does not hold a
+     *                      valid matrix
+     */
+    public static DenseMatrix read(ReadableByteChannel channel)
+        throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(MatrixFile.HEADER_BYTES).order(
+            ByteOrder.LITTLE_ENDIAN
+        );
+        readFully(channel, header);
+        header.flip();
+
+        long[] shape = MatrixFile.parseHeader(header);
+        if (elements(shape[0], shape[1]) > Integer.MAX_VALUE - 8) {
+            throw new IOException(
+                String.format(
+                    "Matrix of %dx%d does not fit in memory",
+                    shape[0],
+                    shape[1]
+                )
+            );
+        }
+
+        DenseMatrix res = new DenseMatrix((int) shape[0], (int) shape[1]);
+        double[] data = res.data();
+        ByteBuffer buffer = chunk();
+        int position = 0;
+
+        while (position < data.length) {
+            int length = Math.min(data.length - position, CHUNK_BYTES / 8);
+            buffer.clear().limit(length * 8);
+            readFully(channel, buffer);
+            buffer.flip();
+            buffer.asDoubleBuffer().get(data, position, length);
+            position += length;
+        }
+
+        return res;
+    }
+
+    /**
+     * Writes the whole of a buffer, looping over partial writes.
+     *
+     * @param channel the channel to write to
+     * @param buffer  the bytes between position and limit are written
+     * @throws IOException if the channel cannot be written
+     */
+    public static void writeFully(
+        WritableByteChannel channel,
+        ByteBuffer buffer
+    ) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Fills a buffer from position to limit, looping over partial reads.
+     *
+     * @param channel the channel to read from
+     * @param buffer  the buffer to fill
+     * @throws EOFException if the channel ends before the buffer is full
+     * @throws IOException  if the channel cannot be read
+     */
+    public static void readFully(
+        ReadableByteChannel channel,
+        ByteBuffer buffer
+    ) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Channel ended inside a matrix");
+            }
+        }
+    }
+
+    private static ByteBuffer chunk() {
+        return ByteBuffer.allocateDirect(CHUNK_BYTES).order(
+            ByteOrder.LITTLE_ENDIAN
+        );
+    }
+
+    /**
+     * Writes the doubles staged in a buffer and empties it.
+     */
+    private static void flush(
+        WritableByteChannel channel,
+        ByteBuffer buffer,
+        DoubleBuffer doubles
+    ) throws IOException {
+        buffer.clear().limit(doubles.position() * 8);
+        writeFully(channel, buffer);
+        buffer.clear();
+        doubles.clear();
+    }
+
+    /**
+     * Returns rows * cols, or Long.MAX_VALUE if the product overflows.
+     */
+    private static long elements(long rows, long cols) {
+        try {
+            return Math.multiplyExact(rows, cols);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package solution.kernels;
+
+import solution.matrix.DenseMatrix;
+
+/**
+ * Cache-blocked multiply kernel. The product is computed tile by tile over
+ * columns of the result, the common dimension and rows of the result so that
+ * a (commonTile x colTile) block of B stays resident in L2 while it is reused
+ * for every row of A, and the colTile-wide slice of each result row stays in
+ * L1 while it accumulates.
+ *
+ * <p>Within every tile the loop order is row, common, column, and the common
+ * tiles are visited in increasing order, so each element of the result is
+ * summed in exactly the same order as the naive algorithm and results are
+ * bit-identical to it.
+ */
+public class BlockedKernel implements MatrixKernel {
+
+    public static final int DEFAULT_ROW_TILE = 32;
+    public static final int DEFAULT_COL_TILE = 256;
+    public static final int DEFAULT_COMMON_TILE = 128;
+
+    private static final BlockedKernel DEFAULT = new BlockedKernel(
+        tileProperty("mmul.tile.rows", DEFAULT_ROW_TILE),
+        tileProperty("mmul.tile.cols", DEFAULT_COL_TILE),
+        tileProperty("mmul.tile.common", DEFAULT_COMMON_TILE)
+    );
+
+    protected final int rowTile;
+    protected final int colTile;
+    protected final int commonTile;
+
+    /**
+     * Constructs a kernel with explicit tile sizes.
+     *
+     * @param rowTile    rows of A (and of the result) per tile
+     * @param colTile    columns of B (and of the result) per tile
+     * @param commonTile columns of A / rows of B per tile
+     * @throws IllegalArgumentException if a tile size is not positive
+     */
+    public BlockedKernel(int rowTile, int colTile, int commonTile) {
+        if (rowTile <= 0 || colTile <= 0 || commonTile <= 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Tile sizes must be positive: rows=%d cols=%d common=%d",
+                    rowTile,
+                    colTile,
+                    commonTile
+                )
+            );
+        }
+
+        this.rowTile = rowTile;
+        this.colTile = colTile;
+        this.commonTile = commonTile;
+    }
+
+    /**
+     * Returns the shared kernel using the default tile sizes. The defaults can
+     * be overridden with the {@code mmul.tile.rows}, {@code mmul.tile.cols}
+     * and {@code mmul.tile.common} system properties.
+     *
+     * @return the default blocked kernel
+     */
+    public static BlockedKernel withDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Reads a tile size from a system property. An invalid value falls back
+     * to the default with a warning rather than failing class
+     * initialization, which would break every multiply for the life of the
+     * JVM.
+     *
+     * @param name     the system property
+     * @param fallback the tile size used when the property is unset or
+     *                 invalid
+     * @return the tile size
+     */
+    static int tileProperty(String name, int fallback) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return fallback;
+        }
+
+        try {
+            int tile = Integer.parseInt(value.trim());
+            if (tile > 0) {
+                return tile;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+
+        System.err.printf(
+            "Ignoring invalid %s=%s; using the default tile size %d%n",
+            name,
+            value,
+            fallback
+        );
+        return fallback;
+    }
+
+    @Override
+    public void multiplyAdd(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        MatrixKernel.checkShapes(a, b, c);
+
+        int rows = c.rows();
+        int cols = c.cols();
+        int common = a.cols();
+
+        for (int c0 = 0; c0 < cols; c0 += colTile) {
+            int c1 = Math.min(c0 + colTile, cols);
+
+            for (int k0 = 0; k0 < common; k0 += commonTile) {
+                int k1 = Math.min(k0 + commonTile, common);
+
+                for (int r0 = 0; r0 < rows; r0 += rowTile) {
+                    int r1 = Math.min(r0 + rowTile, rows);
+                    multiplyTile(a, b, c, r0, r1, k0, k1, c0, c1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates A[r0:r1, k0:k1] * B[k0:k1, c0:c1] into C[r0:r1, c0:c1].
+     */
+    protected void multiplyTile(
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix c,
+        int r0,
+        int r1,
+        int k0,
+        int k1,
+        int c0,
+        int c1
+    ) {
+        double[] aData = a.data();
+        double[] bData = b.data();
+        double[] cData = c.data();
+
+        for (int r = r0; r < r1; r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = k0; k < k1; k++) {
+                double aik = aData[aRow + k];
+                int bRow = b.offset() + k * b.stride();
+
+                for (int col = c0; col < c1; col++) {
+                    cData[cRow + col] += aik * bData[bRow + col];
+                }
+            }
+        }
+    }
+
+    public int rowTile() {
+        return rowTile;
+    }
+
+    public int colTile() {
+        return colTile;
+    }
+
+    public int commonTile() {
+        return commonTile;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "BlockedKernel[rows=%d, cols=%d, common=%d]",
+            rowTile,
+            colTile,
+            commonTile
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package solution.kernels;
+
+import java.util.Arrays;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Kernel accumulating each element of C with Neumaier's compensated
+ * summation: the rounding error of every addition is captured in a second
+ * running sum and added back at the end. The error of a sum of k products
+ * then no longer grows with k; it stays within a couple of units of roundoff
+ * of sum |a_ik b_kj|, the rounding of the products themselves. It costs about
+ * four times as many flops as {@link BlockedKernel} and is meant for long dot
+ * products where accuracy matters more than speed.
+ */
+public class CompensatedKernel implements MatrixKernel {
+
+    @Override
+    public void multiplyAdd(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        MatrixKernel.checkShapes(a, b, c);
+
+        double[] aData = a.data();
+        double[] bData = b.data();
+        double[] cData = c.data();
+        int cols = c.cols();
+        double[] compensation = new double[cols];
+
+        for (int r = 0; r < c.rows(); r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+            Arrays.fill(compensation, 0.0);
+
+            for (int k = 0; k < a.cols(); k++) {
+                double aik = aData[aRow + k];
+                int bRow = b.offset() + k * b.stride();
+
+                for (int col = 0; col < cols; col++) {
+                    double sum = cData[cRow + col];
+                    double term = aik * bData[bRow + col];
+                    double next = sum + term;
+
+                    compensation[col] += Math.abs(sum) >= Math.abs(term)
+                        ? (sum - next) + term
+                        : (term - next) + sum;
+                    cData[cRow + col] = next;
+                }
+            }
+
+            for (int col = 0; col < cols; col++) {
+                cData[cRow + col] += compensation[col];
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package solution.kernels;
+
+import java.util.function.DoubleUnaryOperator;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Element-wise transformation applied to each block of a result as soon as
+ * the block has been computed, while it is still in cache, instead of in a
+ * separate pass over the whole matrix afterwards. Blocks are transformed
+ * concurrently from worker threads, so implementations must be thread-safe
+ * and must only touch the block they are given.
+ */
+@FunctionalInterface
+public interface Epilogue {
+    /** Epilogue that leaves the result unchanged. */
+    Epilogue NONE = (block, rowStart, colStart) -> {};
+
+    /**
+     * Transforms a finished block of the result in place.
+     *
+     * @param block    a view of the block
+     * @param rowStart row of the block's first element in the result
+     * @param colStart column of the block's first element in the result
+     */
+    void apply(DenseMatrix block, int rowStart, int colStart);
+
+    /**
+     * Checks, before anything is computed, that this epilogue can be applied
+     * to a result of the given size.
+     *
+     * @param rows rows of the result
+     * @param cols columns of the result
+     * @throws IllegalArgumentException if the sizes do not fit
+     */
+    default void checkShape(int rows, int cols) {}
+
+    /**
+     * Returns an epilogue applying this one and then another to each block.
+     *
+     * @param next the epilogue to apply second
+     * @return the combined epilogue
+     */
+    default Epilogue andThen(Epilogue next) {
+        Epilogue first = this;
+
+        return new Epilogue() {
+            @Override
+            public void apply(DenseMatrix block, int rowStart, int colStart) {
+                first.apply(block, rowStart, colStart);
+                next.apply(block, rowStart, colStart);
+            }
+
+            @Override
+            public void checkShape(int rows, int cols) {
+                first.checkShape(rows, cols);
+                next.checkShape(rows, cols);
+            }
+        };
+    }
+
+    /**
+     * Returns an epilogue adding a bias vector to every row, as in a dense
+     * neural-network layer: element (r, c) becomes C[r][c] + bias[c].
+     *
+     * @param bias one value per column of the result; not copied
+     * @return the bias epilogue
+     */
+    static Epilogue bias(double[] bias) {
+        return new Epilogue() {
+            @Override
+            public void apply(DenseMatrix block, int rowStart, int colStart) {
+                double[] data = block.data();
+
+                for (int r = 0; r < block.rows(); r++) {
+                    int base = block.offset() + r * block.stride();
+                    for (int c = 0; c < block.cols(); c++) {
+                        data[base + c] += bias[colStart + c];
+                    }
+                }
+            }
+
+            @Override
+            public void checkShape(int rows, int cols) {
+                if (bias.length != cols) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "Bias of length %d does not match %d columns",
+                            bias.length,
+                            cols
+                        )
+                    );
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns an epilogue limiting every element to [min, max], for example
+     * {@code clamp(0, Double.POSITIVE_INFINITY)} for a ReLU.
+     *
+     * @param min the smallest value kept
+     * @param max the largest value kept
+     * @return the clamping epilogue
+     * @throws IllegalArgumentException if min is greater than max
+     */
+    static Epilogue clamp(double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException(
+                String.format("Invalid clamp range [%s, %s]", min, max)
+            );
+        }
+
+        return (block, rowStart, colStart) -> {
+            double[] data = block.data();
+
+            for (int r = 0; r < block.rows(); r++) {
+                int base = block.offset() + r * block.stride();
+                for (int c = 0; c < block.cols(); c++) {
+                    double value = Math.max(data[base + c], min);
+                    data[base + c] = Math.min(value, max);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns an epilogue replacing every element by a function of itself.
+     *
+     * @param operator the function; called concurrently from workers
+     * @return the mapping epilogue
+     */
+    static Epilogue map(DoubleUnaryOperator operator) {
+        return (block, rowStart, colStart) -> {
+            double[] data = block.data();
+
+            for (int r = 0; r < block.rows(); r++) {
+                int base = block.offset() + r * block.stride();
+                for (int c = 0; c < block.cols(); c++) {
+                    data[base + c] = operator.applyAsDouble(data[base + c]);
+                }
+            }
+        };
+    }
+}
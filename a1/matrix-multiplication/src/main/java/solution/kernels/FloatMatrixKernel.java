@@ -0,0 +1,19 @@
+package solution.kernels;
+
+import solution.matrix.FloatMatrix;
+
+/**
+ * Single-precision counterpart of {@link MatrixKernel}: a single-threaded
+ * routine computing C += A * B over {@link FloatMatrix} views, accumulating
+ * in float.
+ */
+public interface FloatMatrixKernel {
+    /**
+     * Accumulates the product of {@code a} and {@code b} into {@code c}.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the accumulator, of size m x n
+     */
+    void multiplyAdd(FloatMatrix a, FloatMatrix b, FloatMatrix c);
+}
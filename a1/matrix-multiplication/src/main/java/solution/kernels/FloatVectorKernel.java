@@ -0,0 +1,64 @@
+package solution.kernels;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+import solution.matrix.FloatMatrix;
+
+/**
+ * Single-precision counterpart of {@link VectorKernel}, processing twice as
+ * many columns per vector instruction (8 on AVX2, 16 on AVX-512). Must only
+ * be loaded through {@link MatrixKernels#bestFloat()}.
+ */
+public class FloatVectorKernel extends FloatBlockedKernel {
+
+    private static final VectorSpecies<Float> SPECIES =
+        FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    protected void multiplyTile(
+        FloatMatrix a,
+        FloatMatrix b,
+        FloatMatrix c,
+        int r0,
+        int r1,
+        int k0,
+        int k1,
+        int c0,
+        int c1
+    ) {
+        float[] aData = a.data();
+        float[] bData = b.data();
+        float[] cData = c.data();
+        int vectorEnd = c0 + SPECIES.loopBound(c1 - c0);
+
+        for (int r = r0; r < r1; r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = k0; k < k1; k++) {
+                float aik = aData[aRow + k];
+                FloatVector aVec = FloatVector.broadcast(SPECIES, aik);
+                int bRow = b.offset() + k * b.stride();
+
+                int col = c0;
+                for (; col < vectorEnd; col += SPECIES.length()) {
+                    FloatVector bVec = FloatVector.fromArray(
+                        SPECIES,
+                        bData,
+                        bRow + col
+                    );
+                    FloatVector cVec = FloatVector.fromArray(
+                        SPECIES,
+                        cData,
+                        cRow + col
+                    );
+                    aVec.fma(bVec, cVec).intoArray(cData, cRow + col);
+                }
+
+                for (; col < c1; col++) {
+                    cData[cRow + col] += aik * bData[bRow + col];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package solution.kernels;
+
+import solution.matrix.IntMatrix;
+
+/**
+ * Integer cache-blocked kernel. Tiling follows {@link BlockedKernel}; since
+ * ints are half the size of doubles, the default column and common tiles are
+ * doubled to keep the same number of bytes resident per tile.
+ */
+public class IntBlockedKernel implements IntMatrixKernel {
+    protected final int rowTile;
+    protected final int colTile;
+    protected final int commonTile;
+
+    /**
+     * Constructs a kernel with tiles holding as many bytes as the default
+     * double-precision tiles.
+     */
+    public IntBlockedKernel() {
+        this(
+            BlockedKernel.withDefaults().rowTile(),
+            BlockedKernel.withDefaults().colTile() * 2,
+            BlockedKernel.withDefaults().commonTile() * 2
+        );
+    }
+
+    /**
+     * Constructs a kernel with explicit tile sizes.
+     *
+     * @param rowTile    rows of A (and of the result) per tile
+     * @param colTile    columns of B (and of the result) per tile
+     * @param commonTile columns of A / rows of B per tile
+     * @throws IllegalArgumentException if a tile size is not positive
+     */
+    public IntBlockedKernel(int rowTile, int colTile, int commonTile) {
+        if (rowTile <= 0 || colTile <= 0 || commonTile <= 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Tile sizes must be positive: rows=%d cols=%d common=%d",
+                    rowTile,
+                    colTile,
+                    commonTile
+                )
+            );
+        }
+
+        this.rowTile = rowTile;
+        this.colTile = colTile;
+        this.commonTile = commonTile;
+    }
+
+    @Override
+    public void multiplyAdd(IntMatrix a, IntMatrix b, IntMatrix c) {
+        Shapes.check(
+            a.rows(),
+            a.cols(),
+            b.rows(),
+            b.cols(),
+            c.rows(),
+            c.cols()
+        );
+
+        int rows = c.rows();
+        int cols = c.cols();
+        int common = a.cols();
+
+        for (int c0 = 0; c0 < cols; c0 += colTile) {
+            int c1 = Math.min(c0 + colTile, cols);
+
+            for (int k0 = 0; k0 < common; k0 += commonTile) {
+                int k1 = Math.min(k0 + commonTile, common);
+
+                for (int r0 = 0; r0 < rows; r0 += rowTile) {
+                    int r1 = Math.min(r0 + rowTile, rows);
+                    multiplyTile(a, b, c, r0, r1, k0, k1, c0, c1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates A[r0:r1, k0:k1] * B[k0:k1, c0:c1] into C[r0:r1, c0:c1].
+     */
+    protected void multiplyTile(
+        IntMatrix a,
+        IntMatrix b,
+        IntMatrix c,
+        int r0,
+        int r1,
+        int k0,
+        int k1,
+        int c0,
+        int c1
+    ) {
+        int[] aData = a.data();
+        int[] bData = b.data();
+        int[] cData = c.data();
+
+        for (int r = r0; r < r1; r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = k0; k < k1; k++) {
+                int aik = aData[aRow + k];
+                int bRow = b.offset() + k * b.stride();
+
+                for (int col = c0; col < c1; col++) {
+                    cData[cRow + col] += aik * bData[bRow + col];
+                }
+            }
+        }
+    }
+}
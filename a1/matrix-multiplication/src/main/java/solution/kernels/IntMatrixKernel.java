@@ -0,0 +1,20 @@
+package solution.kernels;
+
+import solution.matrix.IntMatrix;
+
+/**
+ * Integer counterpart of {@link MatrixKernel}: a single-threaded routine
+ * computing C += A * B over {@link IntMatrix} views, accumulating in int.
+ * Arithmetic wraps on overflow, so callers must first make sure that no
+ * element of the result can leave the range of an int.
+ */
+public interface IntMatrixKernel {
+    /**
+     * Accumulates the product of {@code a} and {@code b} into {@code c}.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the accumulator, of size m x n
+     */
+    void multiplyAdd(IntMatrix a, IntMatrix b, IntMatrix c);
+}
@@ -0,0 +1,66 @@
+package solution.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+import solution.matrix.IntMatrix;
+
+/**
+ * Integer counterpart of {@link VectorKernel}, multiplying and adding as many
+ * int columns per instruction as a float kernel (8 on AVX2, 16 on AVX-512).
+ * Integer lanes have no rounding, so results are identical to
+ * {@link IntBlockedKernel}. Must only be loaded through
+ * {@link MatrixKernels#bestInt()}.
+ */
+public class IntVectorKernel extends IntBlockedKernel {
+
+    private static final VectorSpecies<Integer> SPECIES =
+        IntVector.SPECIES_PREFERRED;
+
+    @Override
+    protected void multiplyTile(
+        IntMatrix a,
+        IntMatrix b,
+        IntMatrix c,
+        int r0,
+        int r1,
+        int k0,
+        int k1,
+        int c0,
+        int c1
+    ) {
+        int[] aData = a.data();
+        int[] bData = b.data();
+        int[] cData = c.data();
+        int vectorEnd = c0 + SPECIES.loopBound(c1 - c0);
+
+        for (int r = r0; r < r1; r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = k0; k < k1; k++) {
+                int aik = aData[aRow + k];
+                IntVector aVec = IntVector.broadcast(SPECIES, aik);
+                int bRow = b.offset() + k * b.stride();
+
+                int col = c0;
+                for (; col < vectorEnd; col += SPECIES.length()) {
+                    IntVector bVec = IntVector.fromArray(
+                        SPECIES,
+                        bData,
+                        bRow + col
+                    );
+                    IntVector cVec = IntVector.fromArray(
+                        SPECIES,
+                        cData,
+                        cRow + col
+                    );
+                    aVec.mul(bVec).add(cVec).intoArray(cData, cRow + col);
+                }
+
+                for (; col < c1; col++) {
+                    cData[cRow + col] += aik * bData[bRow + col];
+                }
+            }
+        }
+    }
+}
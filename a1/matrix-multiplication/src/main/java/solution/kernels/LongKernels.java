@@ -0,0 +1,284 @@
+package solution.kernels;
+
+import solution.matrix.IntMatrix;
+import solution.matrix.LongMatrix;
+
+/**
+ * Single-threaded kernels computing C += A * B with 64-bit integer
+ * accumulation: widening from int operands, plain, overflow-checked and
+ * modular. Each walks rows of A in i-k-j order, streaming the matching rows
+ * of B and C; callers parallelise over row blocks of C.
+ *
+ * <p>The plain kernels wrap on overflow like Java's {@code long}. Callers
+ * either prove the result fits first, using {@link #productFits}, or use the
+ * checked kernels, which throw instead.
+ */
+public final class LongKernels {
+
+    /**
+     * Largest modulus accepted by {@link #multiplyAddMod}: the square of the
+     * largest residue must still fit in a long.
+     */
+    public static final long MAX_MODULUS = 3_037_000_500L;
+
+    private LongKernels() {}
+
+    /**
+     * Returns whether every element of a product of matrices with the given
+     * largest magnitudes and common dimension lies within +-limit, i.e.
+     * whether {@code maxA * maxB * common <= limit}. A magnitude of
+     * {@code Long.MAX_VALUE} never fits, since {@link LongMatrix#maxAbs()}
+     * saturates there for {@code Long.MIN_VALUE}, whose true magnitude 2^63
+     * is out of range.
+     *
+     * @param maxA   largest magnitude in A
+     * @param maxB   largest magnitude in B
+     * @param common columns of A / rows of B
+     * @param limit  the bound to stay within
+     * @return true if no element of the product can exceed the limit
+     */
+    public static boolean productFits(
+        long maxA,
+        long maxB,
+        int common,
+        long limit
+    ) {
+        if (maxA == Long.MAX_VALUE || maxB == Long.MAX_VALUE) {
+            return false;
+        }
+
+        try {
+            return Math.multiplyExact(Math.multiplyExact(maxA, maxB), common) <=
+                limit;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Accumulates the product of two int matrices into a long matrix. Each
+     * product of two ints is exact in a long; the sums wrap on overflow.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the accumulator, of size m x n
+     */
+    public static void multiplyAdd(IntMatrix a, IntMatrix b, LongMatrix c) {
+        checkShapes(a.rows(), a.cols(), b.rows(), b.cols(), c);
+
+        int[] aData = a.data();
+        int[] bData = b.data();
+        long[] cData = c.data();
+
+        for (int r = 0; r < c.rows(); r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = 0; k < a.cols(); k++) {
+                long aik = aData[aRow + k];
+                int bRow = b.offset() + k * b.stride();
+
+                for (int col = 0; col < c.cols(); col++) {
+                    cData[cRow + col] += aik * bData[bRow + col];
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates the product of two long matrices, wrapping on overflow.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the accumulator, of size m x n
+     */
+    public static void multiplyAdd(LongMatrix a, LongMatrix b, LongMatrix c) {
+        checkShapes(a.rows(), a.cols(), b.rows(), b.cols(), c);
+
+        long[] aData = a.data();
+        long[] bData = b.data();
+        long[] cData = c.data();
+
+        for (int r = 0; r < c.rows(); r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = 0; k < a.cols(); k++) {
+                long aik = aData[aRow + k];
+                int bRow = b.offset() + k * b.stride();
+
+                for (int col = 0; col < c.cols(); col++) {
+                    cData[cRow + col] += aik * bData[bRow + col];
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates the product of two int matrices into a long matrix,
+     * failing if a sum overflows.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the accumulator, of size m x n; partly updated on failure
+     * @throws ArithmeticException if an element of C overflows a long
+     */
+    public static void multiplyAddExact(
+        IntMatrix a,
+        IntMatrix b,
+        LongMatrix c
+    ) {
+        checkShapes(a.rows(), a.cols(), b.rows(), b.cols(), c);
+
+        int[] aData = a.data();
+        int[] bData = b.data();
+        long[] cData = c.data();
+
+        for (int r = 0; r < c.rows(); r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = 0; k < a.cols(); k++) {
+                long aik = aData[aRow + k];
+                int bRow = b.offset() + k * b.stride();
+
+                for (int col = 0; col < c.cols(); col++) {
+                    cData[cRow + col] = Math.addExact(
+                        cData[cRow + col],
+                        aik * bData[bRow + col]
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulates the product of two long matrices, failing if a product or
+     * sum overflows.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the accumulator, of size m x n; partly updated on failure
+     * @throws ArithmeticException if an element of C overflows a long
+     */
+    public static void multiplyAddExact(
+        LongMatrix a,
+        LongMatrix b,
+        LongMatrix c
+    ) {
+        checkShapes(a.rows(), a.cols(), b.rows(), b.cols(), c);
+
+        long[] aData = a.data();
+        long[] bData = b.data();
+        long[] cData = c.data();
+
+        for (int r = 0; r < c.rows(); r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = 0; k < a.cols(); k++) {
+                long aik = aData[aRow + k];
+                int bRow = b.offset() + k * b.stride();
+
+                for (int col = 0; col < c.cols(); col++) {
+                    cData[cRow + col] = Math.addExact(
+                        cData[cRow + col],
+                        Math.multiplyExact(aik, bData[bRow + col])
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes C = (C + A * B) mod m for residues in [0, m). Products are
+     * summed unreduced for as many steps of k as cannot overflow a long, then
+     * reduced once, so most of the inner loop is a plain multiply-add.
+     *
+     * @param a       the left operand, of size m x k, with residues in [0, m)
+     * @param b       the right operand, of size k x n, with residues in [0, m)
+     * @param c       the accumulator, of size m x n, with residues in [0, m)
+     * @param modulus the modulus, between 1 and {@link #MAX_MODULUS}
+     * @throws IllegalArgumentException if the modulus is out of range
+     */
+    public static void multiplyAddMod(
+        LongMatrix a,
+        LongMatrix b,
+        LongMatrix c,
+        long modulus
+    ) {
+        checkShapes(a.rows(), a.cols(), b.rows(), b.cols(), c);
+        checkModulus(modulus);
+
+        long[] aData = a.data();
+        long[] bData = b.data();
+        long[] cData = c.data();
+
+        // Unreduced steps: c < m plus batch products < (m - 1)^2 each
+        long maxProduct = (modulus - 1) * (modulus - 1);
+        int batch = maxProduct == 0
+            ? a.cols()
+            : (int) Math.min(
+                a.cols(),
+                (Long.MAX_VALUE - (modulus - 1)) / maxProduct
+            );
+        batch = Math.max(batch, 1);
+
+        for (int r = 0; r < c.rows(); r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k0 = 0; k0 < a.cols(); k0 += batch) {
+                int k1 = Math.min(k0 + batch, a.cols());
+
+                for (int k = k0; k < k1; k++) {
+                    long aik = aData[aRow + k];
+                    int bRow = b.offset() + k * b.stride();
+
+                    for (int col = 0; col < c.cols(); col++) {
+                        cData[cRow + col] += aik * bData[bRow + col];
+                    }
+                }
+
+                for (int col = 0; col < c.cols(); col++) {
+                    cData[cRow + col] %= modulus;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a modulus is supported by {@link #multiplyAddMod}.
+     *
+     * @param modulus the modulus
+     * @throws IllegalArgumentException if the modulus is out of range
+     */
+    public static void checkModulus(long modulus) {
+        if (modulus < 1 || modulus > MAX_MODULUS) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Modulus must be between 1 and %d, got %d",
+                    MAX_MODULUS,
+                    modulus
+                )
+            );
+        }
+    }
+
+    private static void checkShapes(
+        int aRows,
+        int aCols,
+        int bRows,
+        int bCols,
+        LongMatrix c
+    ) {
+        Shapes.check(
+            aRows,
+            aCols,
+            bRows,
+            bCols,
+            c.rows(),
+            c.cols()
+        );
+    }
+}
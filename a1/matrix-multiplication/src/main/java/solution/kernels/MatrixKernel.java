@@ -0,0 +1,40 @@
+package solution.kernels;
+
+import solution.matrix.DenseMatrix;
+
+/**
+ * A single-threaded routine computing C += A * B over primitive storage.
+ * Parallel drivers split the result into blocks and hand each block, as a
+ * {@link DenseMatrix} view, to a kernel, so implementations must only touch
+ * the elements of the views they are given.
+ */
+public interface MatrixKernel {
+    /**
+     * Accumulates the product of {@code a} and {@code b} into {@code c}.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the accumulator, of size m x n
+     */
+    void multiplyAdd(DenseMatrix a, DenseMatrix b, DenseMatrix c);
+
+    /**
+     * Checks that three matrices have compatible shapes for
+     * {@link #multiplyAdd(DenseMatrix, DenseMatrix, DenseMatrix)}.
+     *
+     * @param a the left operand
+     * @param b the right operand
+     * @param c the accumulator
+     * @throws IllegalArgumentException if the shapes are incompatible
+     */
+    static void checkShapes(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        Shapes.check(
+            a.rows(),
+            a.cols(),
+            b.rows(),
+            b.cols(),
+            c.rows(),
+            c.cols()
+        );
+    }
+}
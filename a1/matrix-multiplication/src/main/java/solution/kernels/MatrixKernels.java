@@ -0,0 +1,191 @@
+package solution.kernels;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Picks the fastest multiply kernel available in the running JVM.
+ */
+public final class MatrixKernels {
+
+    public static final String BLOCKED = "blocked";
+    public static final String VECTOR = "vector";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final class BestHolder {
+
+        static final MatrixKernel INSTANCE = loadBest();
+    }
+
+    private static final class BestFloatHolder {
+
+        static final FloatMatrixKernel INSTANCE = loadBestFloat();
+    }
+
+    private static final class BestIntHolder {
+
+        static final IntMatrixKernel INSTANCE = loadBestInt();
+    }
+
+    private MatrixKernels() {}
+
+    /**
+     * Returns the SIMD kernel when the JVM was started with
+     * {@code --add-modules jdk.incubator.vector}, and the scalar blocked
+     * kernel otherwise. Setting the {@code mmul.vector} system property to
+     * {@code false} forces the scalar kernel.
+     *
+     * @return the kernel to use by default
+     */
+    public static MatrixKernel best() {
+        return BestHolder.INSTANCE;
+    }
+
+    /**
+     * Single-precision counterpart of {@link #best()}.
+     *
+     * @return the float kernel to use by default
+     */
+    public static FloatMatrixKernel bestFloat() {
+        return BestFloatHolder.INSTANCE;
+    }
+
+    /**
+     * Integer counterpart of {@link #best()}.
+     *
+     * @return the int kernel to use by default
+     */
+    public static IntMatrixKernel bestInt() {
+        return BestIntHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a kernel by name with explicit tile sizes.
+     *
+     * @param name       {@code "blocked"} for {@link BlockedKernel} or
+     *                   {@code "vector"} for {@link VectorKernel}
+     * @param rowTile    rows of A (and of the result) per tile
+     * @param colTile    columns of B (and of the result) per tile
+     * @param commonTile columns of A / rows of B per tile
+     * @return the new kernel
+     * @throws IllegalArgumentException if the name is unknown or a tile size
+     *                                  is not positive
+     * @throws IllegalStateException    if the vector kernel was requested but
+     *                                  the Vector API is unavailable
+     */
+    public static MatrixKernel create(
+        String name,
+        int rowTile,
+        int colTile,
+        int commonTile
+    ) {
+        switch (name) {
+            case BLOCKED:
+                return new BlockedKernel(rowTile, colTile, commonTile);
+            case VECTOR:
+                MatrixKernel vector = loadVectorKernel(
+                    "solution.kernels.VectorKernel",
+                    MatrixKernel.class,
+                    rowTile,
+                    colTile,
+                    commonTile
+                );
+                if (vector == null) {
+                    throw new IllegalStateException(
+                        "Vector API is not available in this JVM"
+                    );
+                }
+                return vector;
+            default:
+                throw new IllegalArgumentException(
+                    String.format("Unknown kernel: %s", name)
+                );
+        }
+    }
+
+    /**
+     * Returns the names accepted by {@link #create} for the kernels usable in
+     * this JVM.
+     *
+     * @return {@code "blocked"}, followed by {@code "vector"} if available
+     */
+    public static String[] available() {
+        return best() == BlockedKernel.withDefaults()
+            ? new String[] { BLOCKED }
+            : new String[] { BLOCKED, VECTOR };
+    }
+
+    /**
+     * Returns whether the Vector API module is present in the boot layer.
+     *
+     * @return true if {@link VectorKernel} can be used
+     */
+    public static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    private static MatrixKernel loadBest() {
+        MatrixKernel vector = loadVectorKernel(
+            "solution.kernels.VectorKernel",
+            MatrixKernel.class
+        );
+        return vector != null ? vector : BlockedKernel.withDefaults();
+    }
+
+    private static FloatMatrixKernel loadBestFloat() {
+        FloatMatrixKernel vector = loadVectorKernel(
+            "solution.kernels.FloatVectorKernel",
+            FloatMatrixKernel.class
+        );
+        return vector != null ? vector : new FloatBlockedKernel();
+    }
+
+    private static IntMatrixKernel loadBestInt() {
+        IntMatrixKernel vector = loadVectorKernel(
+            "solution.kernels.IntVectorKernel",
+            IntMatrixKernel.class
+        );
+        return vector != null ? vector : new IntBlockedKernel();
+    }
+
+    /**
+     * Instantiates a kernel built on the Vector API, or returns null if the
+     * module is absent or disabled.
+     */
+    private static <T> T loadVectorKernel(
+        String className,
+        Class<T> type,
+        int... tiles
+    ) {
+        boolean enabled = Boolean.parseBoolean(
+            System.getProperty("mmul.vector", "true")
+        );
+
+        if (enabled && isVectorApiAvailable()) {
+            try {
+                // Load reflectively so this class links without the module
+                Class<?>[] params = new Class<?>[tiles.length];
+                Object[] args = new Object[tiles.length];
+                for (int i = 0; i < tiles.length; i++) {
+                    params[i] = int.class;
+                    args[i] = tiles[i];
+                }
+
+                return type.cast(
+                    Class.forName(className)
+                        .getDeclaredConstructor(params)
+                        .newInstance(args)
+                );
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    // the constructor rejected its arguments
+                    throw cause;
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the scalar kernel
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package solution.kernels;
+
+import solution.matrix.DenseMatrix;
+import solution.matrix.FloatMatrix;
+
+/**
+ * Mixed-precision kernel: operands are stored in float, halving the memory
+ * they occupy and the bandwidth needed to stream them, while products and
+ * sums are carried out in double. The product of two floats is exact in
+ * double, so the only single-precision error left is the rounding of the
+ * inputs themselves; it does not grow with the common dimension.
+ */
+public class MixedPrecisionKernel {
+
+    private final int colTile;
+    private final int commonTile;
+
+    /**
+     * Constructs a kernel with the default double-precision tile sizes.
+     */
+    public MixedPrecisionKernel() {
+        this(
+            BlockedKernel.withDefaults().colTile(),
+            BlockedKernel.withDefaults().commonTile()
+        );
+    }
+
+    /**
+     * Constructs a kernel with explicit tile sizes.
+     *
+     * @param colTile    columns of B (and of the result) per tile
+     * @param commonTile columns of A / rows of B per tile
+     * @throws IllegalArgumentException if a tile size is not positive
+     */
+    public MixedPrecisionKernel(int colTile, int commonTile) {
+        if (colTile <= 0 || commonTile <= 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Tile sizes must be positive: cols=%d common=%d",
+                    colTile,
+                    commonTile
+                )
+            );
+        }
+
+        this.colTile = colTile;
+        this.commonTile = commonTile;
+    }
+
+    /**
+     * Accumulates the product of {@code a} and {@code b} into {@code c}.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the double-precision accumulator, of size m x n
+     */
+    public void multiplyAdd(FloatMatrix a, FloatMatrix b, DenseMatrix c) {
+        Shapes.check(
+            a.rows(),
+            a.cols(),
+            b.rows(),
+            b.cols(),
+            c.rows(),
+            c.cols()
+        );
+
+        float[] aData = a.data();
+        float[] bData = b.data();
+        double[] cData = c.data();
+        int rows = c.rows();
+        int cols = c.cols();
+        int common = a.cols();
+
+        for (int c0 = 0; c0 < cols; c0 += colTile) {
+            int c1 = Math.min(c0 + colTile, cols);
+
+            for (int k0 = 0; k0 < common; k0 += commonTile) {
+                int k1 = Math.min(k0 + commonTile, common);
+
+                for (int r = 0; r < rows; r++) {
+                    int aRow = a.offset() + r * a.stride();
+                    int cRow = c.offset() + r * c.stride();
+
+                    for (int k = k0; k < k1; k++) {
+                        double aik = aData[aRow + k];
+                        int bRow = b.offset() + k * b.stride();
+
+                        for (int col = c0; col < c1; col++) {
+                            cData[cRow + col] += aik * bData[bRow + col];
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package solution.kernels;
+
+import solution.matrix.DenseMatrix;
+
+/**
+ * A right-hand operand that has been validated and packed once so it can be
+ * multiplied against many left-hand operands. B is copied into column panels
+ * as wide as the kernel's column tile, each stored compactly, so the block of
+ * B a kernel tile reads is one contiguous run of memory instead of a strided
+ * slice of a wide matrix.
+ *
+ * <p>The packed copy is a snapshot: later writes to the matrix it was
+ * prepared from are not seen. Each panel is handed to the kernel as a whole
+ * column tile and panels are visited left to right, so every element of the
+ * result is summed in the same order as an unprepared multiply with the same
+ * kernel.
+ */
+public final class PreparedOperand {
+
+    private final DenseMatrix[] panels;
+    private final int rows;
+    private final int cols;
+    private final int panelWidth;
+
+    private PreparedOperand(
+        DenseMatrix[] panels,
+        int rows,
+        int cols,
+        int panelWidth
+    ) {
+        this.panels = panels;
+        this.rows = rows;
+        this.cols = cols;
+        this.panelWidth = panelWidth;
+    }
+
+    /**
+     * Packs a matrix into panels matching the column tile of the given
+     * kernel, or of {@link BlockedKernel#withDefaults()} for kernels that are
+     * not blocked.
+     *
+     * @param b      the right-hand operand
+     * @param kernel the kernel the operand will be multiplied with
+     * @return the prepared operand
+     * @throws IllegalArgumentException if the matrix is null or empty
+     */
+    public static PreparedOperand of(DenseMatrix b, MatrixKernel kernel) {
+        int panelWidth = kernel instanceof BlockedKernel blocked
+            ? blocked.colTile()
+            : BlockedKernel.withDefaults().colTile();
+
+        return of(b, panelWidth);
+    }
+
+    /**
+     * Packs a matrix into compact column panels of the given width; the last
+     * panel holds the remaining columns.
+     *
+     * @param b          the right-hand operand
+     * @param panelWidth the number of columns per panel
+     * @return the prepared operand
+     * @throws IllegalArgumentException if the matrix is null or empty, or the
+     *                                  width is not positive
+     */
+    public static PreparedOperand of(DenseMatrix b, int panelWidth) {
+        if (b == null) {
+            throw new IllegalArgumentException("Input matrix cannot be null");
+        }
+
+        if (b.rows() == 0 || b.cols() == 0) {
+            throw new IllegalArgumentException("Input matrix cannot be empty");
+        }
+
+        if (panelWidth <= 0) {
+            throw new IllegalArgumentException(
+                "Panel width must be positive, got " + panelWidth
+            );
+        }
+
+        int numPanels = (b.cols() + panelWidth - 1) / panelWidth;
+        DenseMatrix[] panels = new DenseMatrix[numPanels];
+
+        for (int p = 0; p < numPanels; p++) {
+            int c0 = p * panelWidth;
+            int width = Math.min(panelWidth, b.cols() - c0);
+            panels[p] = b.view(0, c0, b.rows(), width).copy();
+        }
+
+        return new PreparedOperand(panels, b.rows(), b.cols(), panelWidth);
+    }
+
+    /**
+     * Accumulates the product of {@code a} and this operand into {@code c},
+     * one panel at a time.
+     *
+     * @param kernel the kernel computing each panel
+     * @param a      the left operand, of size m x rows()
+     * @param c      the accumulator, of size m x cols()
+     * @throws IllegalArgumentException if the shapes are incompatible
+     */
+    public void multiplyAdd(MatrixKernel kernel, DenseMatrix a, DenseMatrix c) {
+        if (a.cols() != rows || a.rows() != c.rows() || c.cols() != cols) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Incompatible shapes: %dx%d * %dx%d into %dx%d",
+                    a.rows(),
+                    a.cols(),
+                    rows,
+                    cols,
+                    c.rows(),
+                    c.cols()
+                )
+            );
+        }
+
+        for (int p = 0; p < panels.length; p++) {
+            DenseMatrix panel = panels[p];
+            kernel.multiplyAdd(
+                a,
+                panel,
+                c.view(0, p * panelWidth, c.rows(), panel.cols())
+            );
+        }
+    }
+
+    /**
+     * Reassembles the operand into a compact row-major matrix.
+     *
+     * @return a copy of the matrix this operand was prepared from
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix res = new DenseMatrix(rows, cols);
+
+        for (int p = 0; p < panels.length; p++) {
+            res
+                .view(0, p * panelWidth, rows, panels[p].cols())
+                .copyFrom(panels[p]);
+        }
+
+        return res;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int panelWidth() {
+        return panelWidth;
+    }
+}
@@ -0,0 +1,37 @@
+package solution.kernels;
+
+/**
+ * Shape checks shared by the kernels of every element type.
+ */
+final class Shapes {
+
+    private Shapes() {}
+
+    /**
+     * Checks that three matrices have compatible shapes for C += A * B.
+     *
+     * @throws IllegalArgumentException if the shapes are incompatible
+     */
+    static void check(
+        int aRows,
+        int aCols,
+        int bRows,
+        int bCols,
+        int cRows,
+        int cCols
+    ) {
+        if (aCols != bRows || aRows != cRows || bCols != cCols) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Incompatible shapes: %dx%d * %dx%d into %dx%d",
+                    aRows,
+                    aCols,
+                    bRows,
+                    bCols,
+                    cRows,
+                    cCols
+                )
+            );
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package solution.kernels;
+
+import solution.matrix.DenseMatrix;
+
+/**
+ * Multiply routines for tiny operands, where the loop and tiling overhead of
+ * {@link BlockedKernel} outweighs the arithmetic. Square 2x2, 3x3 and 4x4
+ * products are fully unrolled with every element held in a local. Results
+ * whose width is a multiple of 8, such as 8x8 and 16x16, are computed in
+ * panels of 8 columns that stay in locals while the rows of A are broadcast
+ * against contiguous rows of B. Other shapes use an untiled i-k-j loop,
+ * which also reads B along its rows. Every element is summed in the same
+ * order as a dot product, so all paths give the same bits.
+ *
+ * <p>Unlike {@link MatrixKernel}, these routines overwrite the result rather
+ * than accumulating into it.
+ */
+public final class SmallMatrixKernel {
+
+    private SmallMatrixKernel() {}
+
+    /**
+     * Stores the product of {@code a} and {@code b} into {@code c}.
+     *
+     * @param a the left operand, of size m x k
+     * @param b the right operand, of size k x n
+     * @param c the result, of size m x n
+     * @throws IllegalArgumentException if the shapes are incompatible
+     */
+    public static void multiply(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        MatrixKernel.checkShapes(a, b, c);
+
+        int n = a.rows();
+        boolean square = a.cols() == n && b.cols() == n;
+
+        if (square && n == 2) {
+            multiply2x2(a, b, c);
+        } else if (square && n == 3) {
+            multiply3x3(a, b, c);
+        } else if (square && n == 4) {
+            multiply4x4(a, b, c);
+        } else if (c.cols() % 8 == 0) {
+            for (int col = 0; col < c.cols(); col += 8) {
+                multiplyPanel8(a, b, c, col);
+            }
+        } else {
+            multiplyGeneric(a, b, c);
+        }
+    }
+
+    private static void multiply2x2(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        double[] x = a.data();
+        double[] y = b.data();
+        double[] z = c.data();
+        int a0 = a.offset();
+        int a1 = a0 + a.stride();
+        int b0 = b.offset();
+        int b1 = b0 + b.stride();
+        int c0 = c.offset();
+        int c1 = c0 + c.stride();
+
+        double a00 = x[a0], a01 = x[a0 + 1];
+        double a10 = x[a1], a11 = x[a1 + 1];
+        double b00 = y[b0], b01 = y[b0 + 1];
+        double b10 = y[b1], b11 = y[b1 + 1];
+
+        z[c0] = a00 * b00 + a01 * b10;
+        z[c0 + 1] = a00 * b01 + a01 * b11;
+        z[c1] = a10 * b00 + a11 * b10;
+        z[c1 + 1] = a10 * b01 + a11 * b11;
+    }
+
+    private static void multiply3x3(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        double[] x = a.data();
+        double[] y = b.data();
+        double[] z = c.data();
+        int sa = a.stride();
+        int sb = b.stride();
+        int sc = c.stride();
+        int a0 = a.offset();
+        int b0 = b.offset();
+        int c0 = c.offset();
+
+        double b00 = y[b0], b01 = y[b0 + 1], b02 = y[b0 + 2];
+        double b10 = y[b0 + sb], b11 = y[b0 + sb + 1], b12 = y[b0 + sb + 2];
+        double b20 = y[b0 + 2 * sb];
+        double b21 = y[b0 + 2 * sb + 1];
+        double b22 = y[b0 + 2 * sb + 2];
+
+        for (int r = 0; r < 3; r++) {
+            int ar = a0 + r * sa;
+            int cr = c0 + r * sc;
+            double ar0 = x[ar], ar1 = x[ar + 1], ar2 = x[ar + 2];
+
+            z[cr] = ar0 * b00 + ar1 * b10 + ar2 * b20;
+            z[cr + 1] = ar0 * b01 + ar1 * b11 + ar2 * b21;
+            z[cr + 2] = ar0 * b02 + ar1 * b12 + ar2 * b22;
+        }
+    }
+
+    private static void multiply4x4(DenseMatrix a, DenseMatrix b, DenseMatrix c) {
+        double[] x = a.data();
+        double[] y = b.data();
+        double[] z = c.data();
+        int sa = a.stride();
+        int sb = b.stride();
+        int sc = c.stride();
+        int b0 = b.offset();
+        int b1 = b0 + sb;
+        int b2 = b1 + sb;
+        int b3 = b2 + sb;
+
+        double b00 = y[b0], b01 = y[b0 + 1], b02 = y[b0 + 2], b03 = y[b0 + 3];
+        double b10 = y[b1], b11 = y[b1 + 1], b12 = y[b1 + 2], b13 = y[b1 + 3];
+        double b20 = y[b2], b21 = y[b2 + 1], b22 = y[b2 + 2], b23 = y[b2 + 3];
+        double b30 = y[b3], b31 = y[b3 + 1], b32 = y[b3 + 2], b33 = y[b3 + 3];
+
+        for (int r = 0; r < 4; r++) {
+            int ar = a.offset() + r * sa;
+            int cr = c.offset() + r * sc;
+            double ar0 = x[ar], ar1 = x[ar + 1], ar2 = x[ar + 2], ar3 = x[ar + 3];
+
+            z[cr] = ar0 * b00 + ar1 * b10 + ar2 * b20 + ar3 * b30;
+            z[cr + 1] = ar0 * b01 + ar1 * b11 + ar2 * b21 + ar3 * b31;
+            z[cr + 2] = ar0 * b02 + ar1 * b12 + ar2 * b22 + ar3 * b32;
+            z[cr + 3] = ar0 * b03 + ar1 * b13 + ar2 * b23 + ar3 * b33;
+        }
+    }
+
+    /**
+     * Stores columns [col, col + 8) of the product, keeping one row of the
+     * panel in locals while the common dimension is swept.
+     */
+    private static void multiplyPanel8(
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix c,
+        int col
+    ) {
+        double[] x = a.data();
+        double[] y = b.data();
+        double[] z = c.data();
+        int common = a.cols();
+
+        for (int r = 0; r < c.rows(); r++) {
+            int ar = a.offset() + r * a.stride();
+            int bk = b.offset() + col;
+            double c0 = 0.0, c1 = 0.0, c2 = 0.0, c3 = 0.0;
+            double c4 = 0.0, c5 = 0.0, c6 = 0.0, c7 = 0.0;
+
+            for (int k = 0; k < common; k++) {
+                double ark = x[ar + k];
+                c0 += ark * y[bk];
+                c1 += ark * y[bk + 1];
+                c2 += ark * y[bk + 2];
+                c3 += ark * y[bk + 3];
+                c4 += ark * y[bk + 4];
+                c5 += ark * y[bk + 5];
+                c6 += ark * y[bk + 6];
+                c7 += ark * y[bk + 7];
+                bk += b.stride();
+            }
+
+            int cr = c.offset() + r * c.stride() + col;
+            z[cr] = c0;
+            z[cr + 1] = c1;
+            z[cr + 2] = c2;
+            z[cr + 3] = c3;
+            z[cr + 4] = c4;
+            z[cr + 5] = c5;
+            z[cr + 6] = c6;
+            z[cr + 7] = c7;
+        }
+    }
+
+    private static void multiplyGeneric(
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix c
+    ) {
+        double[] x = a.data();
+        double[] y = b.data();
+        double[] z = c.data();
+        int common = a.cols();
+        int cols = c.cols();
+
+        for (int r = 0; r < c.rows(); r++) {
+            int ar = a.offset() + r * a.stride();
+            int cr = c.offset() + r * c.stride();
+
+            for (int col = 0; col < cols; col++) {
+                z[cr + col] = 0.0;
+            }
+
+            // Broadcast A[r, k] against row k of B, which is contiguous
+            for (int k = 0; k < common; k++) {
+                double ark = x[ar + k];
+                int bk = b.offset() + k * b.stride();
+
+                for (int col = 0; col < cols; col++) {
+                    z[cr + col] += ark * y[bk + col];
+                }
+            }
+        }
+    }
+}
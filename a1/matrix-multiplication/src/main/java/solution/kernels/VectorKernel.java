@@ -0,0 +1,114 @@
+package solution.kernels;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Blocked multiply kernel whose inner loop runs on SIMD lanes through the
+ * incubating JDK Vector API. Each A[r][k] is broadcast and fused-multiply-added
+ * into as many result columns as the platform's preferred vector holds (4 on
+ * AVX2, 8 on AVX-512); the columns left over at the end of a tile use the
+ * scalar loop.
+ *
+ * <p>This class links against {@code jdk.incubator.vector}, so it must only be
+ * loaded through {@link MatrixKernels#best()}, which checks the module is
+ * present first. Because FMA rounds once instead of twice, results may differ
+ * from {@link BlockedKernel} in the last bit.
+ */
+public class VectorKernel extends BlockedKernel {
+
+    private static final VectorSpecies<Double> SPECIES =
+        DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Constructs a kernel with the same tile sizes as
+     * {@link BlockedKernel#withDefaults()}.
+     */
+    public VectorKernel() {
+        this(
+            withDefaults().rowTile(),
+            withDefaults().colTile(),
+            withDefaults().commonTile()
+        );
+    }
+
+    /**
+     * Constructs a kernel with explicit tile sizes.
+     *
+     * @param rowTile    rows of A (and of the result) per tile
+     * @param colTile    columns of B (and of the result) per tile
+     * @param commonTile columns of A / rows of B per tile
+     */
+    public VectorKernel(int rowTile, int colTile, int commonTile) {
+        super(rowTile, colTile, commonTile);
+    }
+
+    /**
+     * Returns the number of doubles processed per vector instruction.
+     *
+     * @return the lane count of the preferred species
+     */
+    public static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    protected void multiplyTile(
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix c,
+        int r0,
+        int r1,
+        int k0,
+        int k1,
+        int c0,
+        int c1
+    ) {
+        double[] aData = a.data();
+        double[] bData = b.data();
+        double[] cData = c.data();
+        int vectorEnd = c0 + SPECIES.loopBound(c1 - c0);
+
+        for (int r = r0; r < r1; r++) {
+            int aRow = a.offset() + r * a.stride();
+            int cRow = c.offset() + r * c.stride();
+
+            for (int k = k0; k < k1; k++) {
+                double aik = aData[aRow + k];
+                DoubleVector aVec = DoubleVector.broadcast(SPECIES, aik);
+                int bRow = b.offset() + k * b.stride();
+
+                int col = c0;
+                for (; col < vectorEnd; col += SPECIES.length()) {
+                    DoubleVector bVec = DoubleVector.fromArray(
+                        SPECIES,
+                        bData,
+                        bRow + col
+                    );
+                    DoubleVector cVec = DoubleVector.fromArray(
+                        SPECIES,
+                        cData,
+                        cRow + col
+                    );
+                    aVec.fma(bVec, cVec).intoArray(cData, cRow + col);
+                }
+
+                for (; col < c1; col++) {
+                    cData[cRow + col] += aik * bData[bRow + col];
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "VectorKernel[lanes=%d, rows=%d, cols=%d, common=%d]",
+            lanes(),
+            rowTile,
+            colTile,
+            commonTile
+        );
+    }
+}
@@ -0,0 +1,161 @@
+package solution.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Sparse matrix in compressed sparse column (CSC) format. The non-zeros of
+ * column c are {@code values[colPtr[c] .. colPtr[c + 1])}, at the rows stored
+ * in the same range of {@code rowIdx}, in increasing row order. Instances are
+ * immutable once built.
+ */
+public final class CscMatrix {
+
+    private final int rows;
+    private final int cols;
+    private final int[] colPtr;
+    private final int[] rowIdx;
+    private final double[] values;
+
+    /**
+     * Wraps existing CSC arrays without copying them.
+     *
+     * @param rows   number of rows
+     * @param cols   number of cols
+     * @param colPtr column start offsets, of length cols + 1
+     * @param rowIdx row of each non-zero, sorted within each column
+     * @param values value of each non-zero
+     * @throws IllegalArgumentException if the arrays are inconsistent
+     */
+    public CscMatrix(
+        int rows,
+        int cols,
+        int[] colPtr,
+        int[] rowIdx,
+        double[] values
+    ) {
+        CsrMatrix.checkCompressed(cols, rows, colPtr, rowIdx, values, "column");
+
+        this.rows = rows;
+        this.cols = cols;
+        this.colPtr = colPtr;
+        this.rowIdx = rowIdx;
+        this.values = values;
+    }
+
+    /**
+     * Compresses a dense matrix, dropping exact zeros. Both passes read the
+     * dense matrix row by row: the first counts the non-zeros of every
+     * column, and the second scatters them into column order, which keeps
+     * the rows of each column sorted.
+     *
+     * @param dense the matrix to compress
+     * @return the CSC form of {@code dense}
+     */
+    public static CscMatrix fromDense(DenseMatrix dense) {
+        int numRows = dense.rows();
+        int numCols = dense.cols();
+        double[] data = dense.data();
+
+        int[] ptr = new int[numCols + 1];
+        for (int r = 0; r < numRows; r++) {
+            int base = dense.offset() + r * dense.stride();
+            for (int c = 0; c < numCols; c++) {
+                if (data[base + c] != 0.0) {
+                    ptr[c + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < numCols; c++) {
+            ptr[c + 1] += ptr[c];
+        }
+
+        int[] next = Arrays.copyOf(ptr, numCols);
+        int[] idx = new int[ptr[numCols]];
+        double[] vals = new double[ptr[numCols]];
+        for (int r = 0; r < numRows; r++) {
+            int base = dense.offset() + r * dense.stride();
+            for (int c = 0; c < numCols; c++) {
+                double v = data[base + c];
+                if (v != 0.0) {
+                    int pos = next[c]++;
+                    idx[pos] = r;
+                    vals[pos] = v;
+                }
+            }
+        }
+
+        return new CscMatrix(numRows, numCols, ptr, idx, vals);
+    }
+
+    /**
+     * Expands this matrix into dense storage.
+     *
+     * @return a dense copy of this matrix
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix res = new DenseMatrix(rows, cols);
+        double[] data = res.data();
+
+        for (int c = 0; c < cols; c++) {
+            for (int p = colPtr[c]; p < colPtr[c + 1]; p++) {
+                data[rowIdx[p] * cols + c] = values[p];
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Converts this matrix to compressed sparse row format.
+     *
+     * @return the CSR form of this matrix
+     */
+    public CsrMatrix toCsr() {
+        int[] ptr = new int[rows + 1];
+        for (int p = 0; p < nonZeros(); p++) {
+            ptr[rowIdx[p] + 1]++;
+        }
+        for (int r = 0; r < rows; r++) {
+            ptr[r + 1] += ptr[r];
+        }
+
+        int[] next = Arrays.copyOf(ptr, rows);
+        int[] idx = new int[nonZeros()];
+        double[] vals = new double[nonZeros()];
+
+        // Visiting columns in order keeps column indices sorted within rows
+        for (int c = 0; c < cols; c++) {
+            for (int p = colPtr[c]; p < colPtr[c + 1]; p++) {
+                int pos = next[rowIdx[p]]++;
+                idx[pos] = c;
+                vals[pos] = values[p];
+            }
+        }
+
+        return new CsrMatrix(rows, cols, ptr, idx, vals);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int nonZeros() {
+        return colPtr[cols];
+    }
+
+    public int[] colPtr() {
+        return colPtr;
+    }
+
+    public int[] rowIdx() {
+        return rowIdx;
+    }
+
+    public double[] values() {
+        return values;
+    }
+}
@@ -0,0 +1,237 @@
+package solution.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Sparse matrix in compressed sparse row (CSR) format. The non-zeros of row r
+ * are {@code values[rowPtr[r] .. rowPtr[r + 1])}, at the columns stored in the
+ * same range of {@code colIdx}, in increasing column order. Instances are
+ * immutable once built.
+ */
+public final class CsrMatrix {
+
+    private final int rows;
+    private final int cols;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final double[] values;
+
+    /**
+     * Wraps existing CSR arrays without copying them.
+     *
+     * @param rows   number of rows
+     * @param cols   number of cols
+     * @param rowPtr row start offsets, of length rows + 1
+     * @param colIdx column of each non-zero, sorted within each row
+     * @param values value of each non-zero
+     * @throws IllegalArgumentException if the arrays are inconsistent
+     */
+    public CsrMatrix(
+        int rows,
+        int cols,
+        int[] rowPtr,
+        int[] colIdx,
+        double[] values
+    ) {
+        checkCompressed(rows, cols, rowPtr, colIdx, values, "row");
+
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /**
+     * Compresses a dense matrix, dropping exact zeros.
+     *
+     * @param dense the matrix to compress
+     * @return the CSR form of {@code dense}
+     */
+    public static CsrMatrix fromDense(DenseMatrix dense) {
+        int numRows = dense.rows();
+        int numCols = dense.cols();
+        double[] data = dense.data();
+
+        int[] ptr = new int[numRows + 1];
+        for (int r = 0; r < numRows; r++) {
+            int base = dense.offset() + r * dense.stride();
+            int count = 0;
+            for (int c = 0; c < numCols; c++) {
+                if (data[base + c] != 0.0) {
+                    count++;
+                }
+            }
+            ptr[r + 1] = ptr[r] + count;
+        }
+
+        int[] idx = new int[ptr[numRows]];
+        double[] vals = new double[ptr[numRows]];
+        for (int r = 0; r < numRows; r++) {
+            int base = dense.offset() + r * dense.stride();
+            int pos = ptr[r];
+            for (int c = 0; c < numCols; c++) {
+                double v = data[base + c];
+                if (v != 0.0) {
+                    idx[pos] = c;
+                    vals[pos] = v;
+                    pos++;
+                }
+            }
+        }
+
+        return new CsrMatrix(numRows, numCols, ptr, idx, vals);
+    }
+
+    /**
+     * Expands this matrix into dense storage.
+     *
+     * @return a dense copy of this matrix
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix res = new DenseMatrix(rows, cols);
+        double[] data = res.data();
+
+        for (int r = 0; r < rows; r++) {
+            for (int p = rowPtr[r]; p < rowPtr[r + 1]; p++) {
+                data[r * cols + colIdx[p]] = values[p];
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Converts this matrix to compressed sparse column format.
+     *
+     * @return the CSC form of this matrix
+     */
+    public CscMatrix toCsc() {
+        int[] ptr = new int[cols + 1];
+        for (int p = 0; p < nonZeros(); p++) {
+            ptr[colIdx[p] + 1]++;
+        }
+        for (int c = 0; c < cols; c++) {
+            ptr[c + 1] += ptr[c];
+        }
+
+        int[] next = Arrays.copyOf(ptr, cols);
+        int[] idx = new int[nonZeros()];
+        double[] vals = new double[nonZeros()];
+
+        // Visiting rows in order keeps row indices sorted within each column
+        for (int r = 0; r < rows; r++) {
+            for (int p = rowPtr[r]; p < rowPtr[r + 1]; p++) {
+                int pos = next[colIdx[p]]++;
+                idx[pos] = r;
+                vals[pos] = values[p];
+            }
+        }
+
+        return new CscMatrix(rows, cols, ptr, idx, vals);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int nonZeros() {
+        return rowPtr[rows];
+    }
+
+    /**
+     * Returns the fraction of elements that are stored explicitly.
+     *
+     * @return non-zeros divided by rows * cols
+     */
+    public double density() {
+        return rows == 0 || cols == 0
+            ? 0.0
+            : (double) nonZeros() / ((double) rows * cols);
+    }
+
+    public int[] rowPtr() {
+        return rowPtr;
+    }
+
+    public int[] colIdx() {
+        return colIdx;
+    }
+
+    public double[] values() {
+        return values;
+    }
+
+    /**
+     * Validates the arrays of a compressed (CSR or CSC) matrix.
+     */
+    static void checkCompressed(
+        int major,
+        int minor,
+        int[] ptr,
+        int[] idx,
+        double[] values,
+        String majorName
+    ) {
+        if (major < 0 || minor < 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid matrix size %dx%d", major, minor)
+            );
+        }
+
+        if (ptr == null || idx == null || values == null) {
+            throw new IllegalArgumentException(
+                "Compressed arrays cannot be null"
+            );
+        }
+
+        if (ptr.length != major + 1 || ptr[0] != 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Expected %d %s pointers starting at 0",
+                    major + 1,
+                    majorName
+                )
+            );
+        }
+
+        int nnz = ptr[major];
+        if (idx.length < nnz || values.length < nnz) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Pointers describe %d non-zeros but only %d indices " +
+                        "and %d values were given",
+                    nnz,
+                    idx.length,
+                    values.length
+                )
+            );
+        }
+
+        for (int i = 0; i < major; i++) {
+            if (ptr[i + 1] < ptr[i]) {
+                throw new IllegalArgumentException(
+                    String.format("Decreasing %s pointer at %d", majorName, i)
+                );
+            }
+
+            for (int p = ptr[i]; p < ptr[i + 1]; p++) {
+                boolean sorted = p == ptr[i] || idx[p - 1] < idx[p];
+                if (idx[p] < 0 || idx[p] >= minor || !sorted) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "Invalid or unsorted index %d in %s %d",
+                            idx[p],
+                            majorName,
+                            i
+                        )
+                    );
+                }
+            }
+        }
+    }
+}
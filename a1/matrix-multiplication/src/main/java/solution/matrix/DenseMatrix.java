@@ -0,0 +1,474 @@
+package solution.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Dense matrix of primitive doubles stored row-major in a single flat array.
+ * Element (r, c) lives at {@code data[offset + r * stride + c]}, which lets a
+ * matrix also act as a view onto a rectangular block of a larger matrix
+ * without copying. Views share storage with the matrix they were taken from.
+ */
+public final class DenseMatrix {
+
+    /** Side of the square blocks a transpose copies element by element. */
+    private static final int TRANSPOSE_BLOCK = 16;
+
+    private final double[] data;
+    private final int rows;
+    private final int cols;
+    private final int offset;
+    private final int stride;
+
+    /**
+     * Constructs a zero-filled matrix of the given size.
+     *
+     * @param rows number of rows
+     * @param cols number of cols
+     */
+    public DenseMatrix(int rows, int cols) {
+        this(checkedStorage(rows, cols), rows, cols, 0, cols);
+    }
+
+    private DenseMatrix(
+        double[] data,
+        int rows,
+        int cols,
+        int offset,
+        int stride
+    ) {
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * Wraps an existing row-major array without copying it.
+     *
+     * @param data backing array of at least {@code rows * cols} elements
+     * @param rows number of rows
+     * @param cols number of cols
+     * @return a matrix backed by {@code data}
+     * @throws IllegalArgumentException if the array is too small
+     */
+    public static DenseMatrix wrap(double[] data, int rows, int cols) {
+        return wrap(data, rows, cols, 0, cols);
+    }
+
+    /**
+     * Wraps a block of an existing row-major array without copying it.
+     *
+     * @param data   backing array
+     * @param rows   number of rows
+     * @param cols   number of cols
+     * @param offset index of element (0, 0) in {@code data}
+     * @param stride distance in {@code data} between two consecutive rows
+     * @return a matrix backed by {@code data}
+     * @throws IllegalArgumentException if the block does not fit in the array
+     */
+    public static DenseMatrix wrap(
+        double[] data,
+        int rows,
+        int cols,
+        int offset,
+        int stride
+    ) {
+        if (data == null) {
+            throw new IllegalArgumentException("Backing array cannot be null");
+        }
+
+        if (rows < 0 || cols < 0 || offset < 0 || stride < cols) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Invalid layout: rows=%d cols=%d offset=%d stride=%d",
+                    rows,
+                    cols,
+                    offset,
+                    stride
+                )
+            );
+        }
+
+        long last = rows == 0 || cols == 0
+            ? offset
+            : offset + (long) (rows - 1) * stride + cols;
+        if (last > data.length) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Backing array of length %d too small for %dx%d layout",
+                    data.length,
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        return new DenseMatrix(data, rows, cols, offset, stride);
+    }
+
+    /**
+     * Copies a boxed matrix into primitive storage. The input is expected to
+     * be rectangular with no null rows or elements.
+     *
+     * @param matrix the boxed matrix to copy
+     * @return a compact primitive copy of {@code matrix}
+     * @throws IllegalArgumentException if the matrix is null or ragged
+     */
+    public static DenseMatrix of(Double[][] matrix) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Input matrix cannot be null");
+        }
+
+        int numRows = matrix.length;
+        int numCols = numRows == 0 || matrix[0] == null ? 0 : matrix[0].length;
+        DenseMatrix res = new DenseMatrix(numRows, numCols);
+
+        for (int r = 0; r < numRows; r++) {
+            if (matrix[r] == null || matrix[r].length != numCols) {
+                throw new IllegalArgumentException(
+                    String.format("Matrix row %d has inconsistent dimensions", r)
+                );
+            }
+
+            int base = r * numCols;
+            for (int c = 0; c < numCols; c++) {
+                res.data[base + c] = matrix[r][c];
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Copies this matrix into a newly allocated boxed matrix.
+     *
+     * @return a boxed copy of this matrix
+     */
+    public Double[][] toArray() {
+        Double[][] res = new Double[rows][cols];
+
+        for (int r = 0; r < rows; r++) {
+            int base = offset + r * stride;
+            for (int c = 0; c < cols; c++) {
+                res[r][c] = data[base + c];
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns a view of a rectangular block of this matrix. Writes through the
+     * view are visible in this matrix and vice versa.
+     *
+     * @param rowStart first row of the block
+     * @param colStart first column of the block
+     * @param numRows  number of rows in the block
+     * @param numCols  number of columns in the block
+     * @return a view sharing storage with this matrix
+     * @throws IndexOutOfBoundsException if the block exceeds this matrix
+     */
+    public DenseMatrix view(
+        int rowStart,
+        int colStart,
+        int numRows,
+        int numCols
+    ) {
+        if (
+            rowStart < 0 ||
+            colStart < 0 ||
+            numRows < 0 ||
+            numCols < 0 ||
+            rowStart + numRows > rows ||
+            colStart + numCols > cols
+        ) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "Block [%d+%d, %d+%d] outside %dx%d matrix",
+                    rowStart,
+                    numRows,
+                    colStart,
+                    numCols,
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        return new DenseMatrix(
+            data,
+            numRows,
+            numCols,
+            offset + rowStart * stride + colStart,
+            stride
+        );
+    }
+
+    /**
+     * Returns a view of a contiguous range of rows of this matrix.
+     *
+     * @param rowStart first row (inclusive)
+     * @param rowEnd   last row (exclusive)
+     * @return a view sharing storage with this matrix
+     */
+    public DenseMatrix rowRange(int rowStart, int rowEnd) {
+        return view(rowStart, 0, rowEnd - rowStart, cols);
+    }
+
+    /**
+     * Returns a compact copy of this matrix that does not share storage with
+     * it.
+     *
+     * @return the copy
+     */
+    public DenseMatrix copy() {
+        DenseMatrix res = new DenseMatrix(rows, cols);
+        res.copyFrom(this);
+        return res;
+    }
+
+    /**
+     * Overwrites this matrix with the contents of another of the same size.
+     *
+     * @param source the matrix to copy from
+     * @throws IllegalArgumentException if the sizes differ
+     */
+    public void copyFrom(DenseMatrix source) {
+        requireSameShape(source);
+
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(
+                source.data,
+                source.offset + r * source.stride,
+                data,
+                offset + r * stride,
+                cols
+            );
+        }
+    }
+
+    /**
+     * Returns a compact transposed copy of this matrix, computed on the
+     * calling thread.
+     *
+     * @return the transpose
+     * @see #transposeInto(DenseMatrix)
+     */
+    public DenseMatrix transpose() {
+        DenseMatrix res = new DenseMatrix(cols, rows);
+        transposeInto(res);
+        return res;
+    }
+
+    /**
+     * Writes the transpose of this matrix into another, on the calling
+     * thread. The copy recursively halves the longer side until a block fits
+     * comfortably in L1, so both the row-wise reads and the column-wise
+     * writes reuse every cache line they touch, whatever the cache sizes.
+     *
+     * @param dst the destination, of size cols() x rows(); must not overlap
+     *            this matrix
+     * @throws IllegalArgumentException if the destination has the wrong size
+     */
+    public void transposeInto(DenseMatrix dst) {
+        if (dst.rows != cols || dst.cols != rows) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Transpose of %dx%d matrix cannot be stored in %dx%d",
+                    rows,
+                    cols,
+                    dst.rows,
+                    dst.cols
+                )
+            );
+        }
+
+        transposeBlock(dst, 0, rows, 0, cols);
+    }
+
+    /**
+     * Transposes this square matrix in place, on the calling thread, by
+     * swapping the blocks on either side of the diagonal.
+     *
+     * @throws IllegalArgumentException if the matrix is not square
+     */
+    public void transposeInPlace() {
+        if (rows != cols) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "In-place transpose needs a square matrix, got %dx%d",
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        for (int r0 = 0; r0 < rows; r0 += TRANSPOSE_BLOCK) {
+            int r1 = Math.min(r0 + TRANSPOSE_BLOCK, rows);
+
+            for (int c0 = r0; c0 < cols; c0 += TRANSPOSE_BLOCK) {
+                int c1 = Math.min(c0 + TRANSPOSE_BLOCK, cols);
+
+                for (int r = r0; r < r1; r++) {
+                    // On diagonal blocks, only swap the part above the diagonal
+                    for (int c = Math.max(c0, r + 1); c < c1; c++) {
+                        int upper = offset + r * stride + c;
+                        int lower = offset + c * stride + r;
+                        double tmp = data[upper];
+                        data[upper] = data[lower];
+                        data[lower] = tmp;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the transpose of block [r0, r1) x [c0, c1) of this matrix into
+     * the destination.
+     */
+    private void transposeBlock(
+        DenseMatrix dst,
+        int r0,
+        int r1,
+        int c0,
+        int c1
+    ) {
+        int numRows = r1 - r0;
+        int numCols = c1 - c0;
+
+        if (numRows <= TRANSPOSE_BLOCK && numCols <= TRANSPOSE_BLOCK) {
+            for (int r = r0; r < r1; r++) {
+                int src = offset + r * stride;
+                for (int c = c0; c < c1; c++) {
+                    dst.data[dst.offset + c * dst.stride + r] = data[src + c];
+                }
+            }
+        } else if (numRows >= numCols) {
+            int mid = r0 + numRows / 2;
+            transposeBlock(dst, r0, mid, c0, c1);
+            transposeBlock(dst, mid, r1, c0, c1);
+        } else {
+            int mid = c0 + numCols / 2;
+            transposeBlock(dst, r0, r1, c0, mid);
+            transposeBlock(dst, r0, r1, mid, c1);
+        }
+    }
+
+    /**
+     * Sets every element of this matrix to the same value.
+     *
+     * @param value the value to store
+     */
+    public void fill(double value) {
+        for (int r = 0; r < rows; r++) {
+            int base = offset + r * stride;
+            Arrays.fill(data, base, base + cols, value);
+        }
+    }
+
+    public double get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(int row, int col, double value) {
+        data[index(row, col)] = value;
+    }
+
+    /**
+     * Returns the position of element (row, col) in the backing array.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return index into {@link #data()}
+     */
+    public int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "Element (%d, %d) outside %dx%d matrix",
+                    row,
+                    col,
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        return offset + row * stride + col;
+    }
+
+    /**
+     * Returns whether the rows of this matrix are stored back to back starting
+     * at index 0, i.e. whether {@link #data()} holds exactly this matrix.
+     *
+     * @return true if the storage is compact
+     */
+    public boolean isCompact() {
+        return offset == 0 && (stride == cols || rows <= 1) &&
+            data.length == rows * cols;
+    }
+
+    /**
+     * Returns the backing array. Kernels index it directly using
+     * {@link #offset()} and {@link #stride()} to avoid per-element bounds
+     * checks on the hot path.
+     *
+     * @return the backing array, shared with this matrix
+     */
+    public double[] data() {
+        return data;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    private void requireSameShape(DenseMatrix other) {
+        if (other.rows != rows || other.cols != cols) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Matrix shapes differ: %dx%d vs %dx%d",
+                    rows,
+                    cols,
+                    other.rows,
+                    other.cols
+                )
+            );
+        }
+    }
+
+    private static double[] checkedStorage(int rows, int cols) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid matrix size %dx%d", rows, cols)
+            );
+        }
+
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Matrix of %dx%d exceeds the maximum array size",
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        return new double[(int) size];
+    }
+}
@@ -0,0 +1,244 @@
+package solution.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Single-precision counterpart of {@link DenseMatrix}: a row-major float[]
+ * with the same offset/stride view layout. Halving the element size halves
+ * the memory traffic of a multiply and doubles the number of SIMD lanes, at
+ * the cost of about 7 significant digits instead of 16.
+ */
+public final class FloatMatrix {
+
+    private final float[] data;
+    private final int rows;
+    private final int cols;
+    private final int offset;
+    private final int stride;
+
+    /**
+     * Constructs a zero-filled matrix of the given size.
+     *
+     * @param rows number of rows
+     * @param cols number of cols
+     */
+    public FloatMatrix(int rows, int cols) {
+        this(new float[checkedSize(rows, cols)], rows, cols, 0, cols);
+    }
+
+    private FloatMatrix(
+        float[] data,
+        int rows,
+        int cols,
+        int offset,
+        int stride
+    ) {
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * Wraps an existing row-major array without copying it.
+     *
+     * @param data backing array of at least {@code rows * cols} elements
+     * @param rows number of rows
+     * @param cols number of cols
+     * @return a matrix backed by {@code data}
+     * @throws IllegalArgumentException if the array is too small
+     */
+    public static FloatMatrix wrap(float[] data, int rows, int cols) {
+        if (data == null || data.length < checkedSize(rows, cols)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Backing array too small for %dx%d layout",
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        return new FloatMatrix(data, rows, cols, 0, cols);
+    }
+
+    /**
+     * Rounds every element of a double-precision matrix to the nearest float.
+     *
+     * @param matrix the matrix to convert
+     * @return a compact single-precision copy of {@code matrix}
+     */
+    public static FloatMatrix of(DenseMatrix matrix) {
+        FloatMatrix res = new FloatMatrix(matrix.rows(), matrix.cols());
+        double[] src = matrix.data();
+
+        for (int r = 0; r < res.rows; r++) {
+            int base = matrix.offset() + r * matrix.stride();
+            for (int c = 0; c < res.cols; c++) {
+                res.data[r * res.cols + c] = (float) src[base + c];
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Widens this matrix to double precision. Widening is exact.
+     *
+     * @return a compact double-precision copy of this matrix
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix res = new DenseMatrix(rows, cols);
+        double[] dst = res.data();
+
+        for (int r = 0; r < rows; r++) {
+            int base = offset + r * stride;
+            for (int c = 0; c < cols; c++) {
+                dst[r * cols + c] = data[base + c];
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns a view of a rectangular block of this matrix. Writes through the
+     * view are visible in this matrix and vice versa.
+     *
+     * @param rowStart first row of the block
+     * @param colStart first column of the block
+     * @param numRows  number of rows in the block
+     * @param numCols  number of columns in the block
+     * @return a view sharing storage with this matrix
+     * @throws IndexOutOfBoundsException if the block exceeds this matrix
+     */
+    public FloatMatrix view(
+        int rowStart,
+        int colStart,
+        int numRows,
+        int numCols
+    ) {
+        if (
+            rowStart < 0 ||
+            colStart < 0 ||
+            numRows < 0 ||
+            numCols < 0 ||
+            rowStart + numRows > rows ||
+            colStart + numCols > cols
+        ) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "Block [%d+%d, %d+%d] outside %dx%d matrix",
+                    rowStart,
+                    numRows,
+                    colStart,
+                    numCols,
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        return new FloatMatrix(
+            data,
+            numRows,
+            numCols,
+            offset + rowStart * stride + colStart,
+            stride
+        );
+    }
+
+    /**
+     * Returns a view of a contiguous range of rows of this matrix.
+     *
+     * @param rowStart first row (inclusive)
+     * @param rowEnd   last row (exclusive)
+     * @return a view sharing storage with this matrix
+     */
+    public FloatMatrix rowRange(int rowStart, int rowEnd) {
+        return view(rowStart, 0, rowEnd - rowStart, cols);
+    }
+
+    /**
+     * Sets every element of this matrix to the same value.
+     *
+     * @param value the value to store
+     */
+    public void fill(float value) {
+        for (int r = 0; r < rows; r++) {
+            int base = offset + r * stride;
+            Arrays.fill(data, base, base + cols, value);
+        }
+    }
+
+    public float get(int row, int col) {
+        checkIndex(row, col);
+        return data[offset + row * stride + col];
+    }
+
+    public void set(int row, int col, float value) {
+        checkIndex(row, col);
+        data[offset + row * stride + col] = value;
+    }
+
+    /**
+     * Returns the backing array, shared with this matrix.
+     *
+     * @return the backing array
+     */
+    public float[] data() {
+        return data;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    private void checkIndex(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "Element (%d, %d) outside %dx%d matrix",
+                    row,
+                    col,
+                    rows,
+                    cols
+                )
+            );
+        }
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid matrix size %dx%d", rows, cols)
+            );
+        }
+
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Matrix of %dx%d exceeds the maximum array size",
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        return (int) size;
+    }
+}
@@ -0,0 +1,244 @@
+package solution.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Integer counterpart of {@link DenseMatrix}: a row-major int[] with the same
+ * offset/stride view layout. Integral data multiplied in integer arithmetic
+ * is exact, and an int is half the size of a double, so a multiply moves half
+ * the bytes and fits twice as many SIMD lanes.
+ */
+public final class IntMatrix {
+
+    private final int[] data;
+    private final int rows;
+    private final int cols;
+    private final int offset;
+    private final int stride;
+
+    /**
+     * Constructs a zero-filled matrix of the given size.
+     *
+     * @param rows number of rows
+     * @param cols number of cols
+     */
+    public IntMatrix(int rows, int cols) {
+        this(new int[LongMatrix.checkedSize(rows, cols)], rows, cols, 0, cols);
+    }
+
+    private IntMatrix(int[] data, int rows, int cols, int offset, int stride) {
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * Wraps an existing row-major array without copying it.
+     *
+     * @param data backing array of at least {@code rows * cols} elements
+     * @param rows number of rows
+     * @param cols number of cols
+     * @return a matrix backed by {@code data}
+     * @throws IllegalArgumentException if the array is too small
+     */
+    public static IntMatrix wrap(int[] data, int rows, int cols) {
+        if (data == null || data.length < LongMatrix.checkedSize(rows, cols)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Backing array too small for %dx%d layout",
+                    rows,
+                    cols
+                )
+            );
+        }
+
+        return new IntMatrix(data, rows, cols, 0, cols);
+    }
+
+    /**
+     * Copies a double-precision matrix whose elements are all integers in the
+     * range of an int.
+     *
+     * @param matrix the matrix to convert
+     * @return a compact integer copy of {@code matrix}
+     * @throws IllegalArgumentException if an element is not an int
+     */
+    public static IntMatrix of(DenseMatrix matrix) {
+        IntMatrix res = new IntMatrix(matrix.rows(), matrix.cols());
+        double[] src = matrix.data();
+
+        for (int r = 0; r < res.rows; r++) {
+            int base = matrix.offset() + r * matrix.stride();
+            for (int c = 0; c < res.cols; c++) {
+                double value = src[base + c];
+                if ((int) value != value) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "Element (%d, %d) = %s is not an int",
+                            r,
+                            c,
+                            value
+                        )
+                    );
+                }
+                res.data[r * res.cols + c] = (int) value;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Narrows a long matrix whose elements all fit in an int.
+     *
+     * @param matrix the matrix to convert
+     * @return a compact integer copy of {@code matrix}
+     * @throws ArithmeticException if an element does not fit in an int
+     */
+    public static IntMatrix ofExact(LongMatrix matrix) {
+        IntMatrix res = new IntMatrix(matrix.rows(), matrix.cols());
+        long[] src = matrix.data();
+
+        for (int r = 0; r < res.rows; r++) {
+            int base = matrix.offset() + r * matrix.stride();
+            for (int c = 0; c < res.cols; c++) {
+                res.data[r * res.cols + c] = Math.toIntExact(src[base + c]);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Converts this matrix to double precision. The conversion is exact.
+     *
+     * @return a compact double-precision copy of this matrix
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix res = new DenseMatrix(rows, cols);
+        double[] dst = res.data();
+
+        for (int r = 0; r < rows; r++) {
+            int base = offset + r * stride;
+            for (int c = 0; c < cols; c++) {
+                dst[r * cols + c] = data[base + c];
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the largest absolute value of any element, as a long so that
+     * {@code Integer.MIN_VALUE} is represented exactly.
+     *
+     * @return the largest magnitude, or 0 for an empty matrix
+     */
+    public long maxAbs() {
+        long res = 0;
+
+        for (int r = 0; r < rows; r++) {
+            int base = offset + r * stride;
+            for (int c = 0; c < cols; c++) {
+                res = Math.max(res, Math.abs((long) data[base + c]));
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns a view of a rectangular block of this matrix. Writes through the
+     * view are visible in this matrix and vice versa.
+     *
+     * @param rowStart first row of the block
+     * @param colStart first column of the block
+     * @param numRows  number of rows in the block
+     * @param numCols  number of columns in the block
+     * @return a view sharing storage with this matrix
+     * @throws IndexOutOfBoundsException if the block exceeds this matrix
+     */
+    public IntMatrix view(
+        int rowStart,
+        int colStart,
+        int numRows,
+        int numCols
+    ) {
+        LongMatrix.checkBlock(
+            rowStart,
+            colStart,
+            numRows,
+            numCols,
+            rows,
+            cols
+        );
+
+        return new IntMatrix(
+            data,
+            numRows,
+            numCols,
+            offset + rowStart * stride + colStart,
+            stride
+        );
+    }
+
+    /**
+     * Returns a view of a contiguous range of rows of this matrix.
+     *
+     * @param rowStart first row (inclusive)
+     * @param rowEnd   last row (exclusive)
+     * @return a view sharing storage with this matrix
+     */
+    public IntMatrix rowRange(int rowStart, int rowEnd) {
+        return view(rowStart, 0, rowEnd - rowStart, cols);
+    }
+
+    /**
+     * Sets every element of this matrix to the same value.
+     *
+     * @param value the value to store
+     */
+    public void fill(int value) {
+        for (int r = 0; r < rows; r++) {
+            int base = offset + r * stride;
+            Arrays.fill(data, base, base + cols, value);
+        }
+    }
+
+    public int get(int row, int col) {
+        LongMatrix.checkIndex(row, col, rows, cols);
+        return data[offset + row * stride + col];
+    }
+
+    public void set(int row, int col, int value) {
+        LongMatrix.checkIndex(row, col, rows, cols);
+        data[offset + row * stride + col] = value;
+    }
+
+    /**
+     * Returns the backing array, shared with this matrix.
+     *
+     * @return the backing array
+     */
+    public int[] data() {
+        return data;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int stride() {
+        return stride;
+    }
+}
@@ -0,0 +1,67 @@
+package solution.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning one multiply, committed on the calling
+ * thread with the same breakdown as {@link MultiplyStats}.
+ */
+@Name("solution.Multiply")
+@Label("Matrix Multiply")
+@Category("Matrix Multiplication")
+@Description("A matrix product computed by a compute engine")
+public class MultiplyEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Columns")
+    public int cols;
+
+    @Label("Common Dimension")
+    public int common;
+
+    @Label("Threads")
+    public int threads;
+
+    @Label("Tiles")
+    public int tiles;
+
+    @Label("Validate Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long validateTime;
+
+    @Label("Compute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long computeTime;
+
+    @Label("Join Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long joinTime;
+
+    @Label("Queue Wait")
+    @Description("Time tiles spent queued, summed over tiles")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+
+    @Label("Busy Time")
+    @Description("Time workers spent computing tiles, summed over tiles")
+    @Timespan(Timespan.NANOSECONDS)
+    public long busyTime;
+
+    @Label("GFLOP/s")
+    public double gflops;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocated;
+}
@@ -0,0 +1,23 @@
+package solution.metrics;
+
+/**
+ * Receives the statistics of every multiply run by a
+ * {@link solution.MatrixComputeEngine} it is installed on. Implementations
+ * are called on the thread that requested the multiply, after the result is
+ * complete, and must be thread-safe if the engine is shared.
+ */
+@FunctionalInterface
+public interface MultiplyMetrics {
+    /**
+     * Metrics sink that discards everything. While it is installed and the
+     * Flight Recorder events are disabled, multiplies are not timed at all.
+     */
+    MultiplyMetrics NOOP = stats -> {};
+
+    /**
+     * Records the statistics of one completed multiply.
+     *
+     * @param stats the statistics
+     */
+    void record(MultiplyStats stats);
+}
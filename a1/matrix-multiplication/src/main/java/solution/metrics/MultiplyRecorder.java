@@ -0,0 +1,206 @@
+package solution.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.EventType;
+
+/**
+ * Collects the phase timings of one multiply and publishes them to a
+ * {@link MultiplyMetrics} sink and as Flight Recorder events. Engines obtain
+ * one from {@link #start} at the top of a multiply, which returns null when
+ * nothing is listening, so the uninstrumented path allocates nothing and
+ * only pays for a check of the event type and a null check.
+ */
+public final class MultiplyRecorder {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        allocationCounter();
+
+    /** Tracks whether a recording has the event enabled, without an event. */
+    private static final EventType EVENT_TYPE = EventType.getEventType(
+        MultiplyEvent.class
+    );
+
+    private final MultiplyMetrics metrics;
+    private final MultiplyEvent event;
+    private final String operation;
+    private final int threads;
+    private final long startNanos;
+    private final long startBytes;
+    private final Thread owner;
+
+    private final AtomicInteger tiles = new AtomicInteger();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong lastEndNanos = new AtomicLong();
+
+    private int rows;
+    private int cols;
+    private int common;
+    private long validatedNanos;
+    private long validatedBytes;
+
+    private MultiplyRecorder(
+        MultiplyMetrics metrics,
+        MultiplyEvent event,
+        String operation,
+        int threads
+    ) {
+        this.metrics = metrics;
+        this.event = event;
+        this.operation = operation;
+        this.threads = threads;
+        this.owner = Thread.currentThread();
+        this.startBytes = allocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts timing a multiply if the sink or the Flight Recorder event is
+     * enabled.
+     *
+     * @param metrics   the sink to publish to
+     * @param operation the name of the engine method
+     * @param threads   workers available to the multiply
+     * @return a recorder, or null if nothing would receive its results
+     */
+    public static MultiplyRecorder start(
+        MultiplyMetrics metrics,
+        String operation,
+        int threads
+    ) {
+        if (metrics == MultiplyMetrics.NOOP && !EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+
+        MultiplyEvent event = new MultiplyEvent();
+        event.begin();
+        return new MultiplyRecorder(metrics, event, operation, threads);
+    }
+
+    /**
+     * Marks the end of the validation phase and records the shape of the
+     * product.
+     *
+     * @param rows   rows of the result
+     * @param cols   columns of the result
+     * @param common columns of A / rows of B
+     */
+    public void validated(int rows, int cols, int common) {
+        this.rows = rows;
+        this.cols = cols;
+        this.common = common;
+        this.validatedNanos = System.nanoTime();
+        this.validatedBytes = allocatedBytes();
+        lastEndNanos.set(validatedNanos);
+    }
+
+    /**
+     * Wraps a tile so that its queue wait and run time are recorded. The
+     * queue wait is measured from this call, so tiles should be wrapped just
+     * before they are submitted.
+     *
+     * @param tile the tile to run
+     * @return the timed tile
+     */
+    public Runnable wrap(Runnable tile) {
+        long submitted = System.nanoTime();
+        tiles.incrementAndGet();
+
+        return () -> {
+            TileEvent tileEvent = new TileEvent();
+            tileEvent.begin();
+            long start = System.nanoTime();
+
+            try {
+                tile.run();
+            } finally {
+                long end = System.nanoTime();
+                queueWaitNanos.addAndGet(start - submitted);
+                busyNanos.addAndGet(end - start);
+                lastEndNanos.accumulateAndGet(end, Math::max);
+
+                tileEvent.end();
+                if (tileEvent.shouldCommit()) {
+                    tileEvent.operation = operation;
+                    tileEvent.queueWait = start - submitted;
+                    tileEvent.commit();
+                }
+            }
+        };
+    }
+
+    /**
+     * Marks the end of the multiply, once every tile has been joined, and
+     * publishes the statistics. When called on another thread than
+     * {@link #start}, as for asynchronous multiplies, the allocations
+     * counted are those of the starting thread until validation ended.
+     *
+     * @return the published statistics
+     */
+    public MultiplyStats finish() {
+        long end = System.nanoTime();
+        long lastEnd = lastEndNanos.get();
+        long endBytes = Thread.currentThread() == owner
+            ? allocatedBytes()
+            : validatedBytes;
+
+        MultiplyStats stats = new MultiplyStats(
+            operation,
+            rows,
+            cols,
+            common,
+            threads,
+            tiles.get(),
+            validatedNanos - startNanos,
+            lastEnd - validatedNanos,
+            Math.max(0, end - lastEnd),
+            queueWaitNanos.get(),
+            busyNanos.get(),
+            endBytes - startBytes
+        );
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = stats.operation();
+            event.rows = stats.rows();
+            event.cols = stats.cols();
+            event.common = stats.common();
+            event.threads = stats.threads();
+            event.tiles = stats.tiles();
+            event.validateTime = stats.validateNanos();
+            event.computeTime = stats.computeNanos();
+            event.joinTime = stats.joinNanos();
+            event.queueWait = stats.queueWaitNanos();
+            event.busyTime = stats.busyNanos();
+            event.gflops = stats.gflops();
+            event.allocated = stats.allocatedBytes();
+            event.commit();
+        }
+
+        metrics.record(stats);
+        return stats;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Returns the HotSpot thread bean if it can count allocations, or null
+     * on JVMs without it.
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (
+            ManagementFactory.getThreadMXBean() instanceof
+                com.sun.management.ThreadMXBean bean &&
+            bean.isThreadAllocatedMemorySupported() &&
+            bean.isThreadAllocatedMemoryEnabled()
+        ) {
+            return bean;
+        }
+
+        return null;
+    }
+}
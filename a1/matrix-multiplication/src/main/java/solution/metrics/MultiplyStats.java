@@ -0,0 +1,76 @@
+package solution.metrics;
+
+/**
+ * Timings of one multiply, broken down by phase. All durations are in
+ * nanoseconds.
+ *
+ * @param operation      the engine method that ran the multiply
+ * @param rows           rows of the result
+ * @param cols           columns of the result
+ * @param common         columns of A / rows of B
+ * @param threads        workers available to the multiply
+ * @param tiles          number of tiles the result was split into
+ * @param validateNanos  time spent checking inputs and allocating the result
+ * @param computeNanos   time from the end of validation until the last tile
+ *                       finished
+ * @param joinNanos      time from the last tile finishing until the caller
+ *                       resumed
+ * @param queueWaitNanos time tiles spent queued before a worker took them,
+ *                       summed over tiles
+ * @param busyNanos      time workers spent computing tiles, summed over tiles
+ * @param allocatedBytes bytes allocated by the calling thread, which include
+ *                       the result
+ */
+public record MultiplyStats(
+    String operation,
+    int rows,
+    int cols,
+    int common,
+    int threads,
+    int tiles,
+    long validateNanos,
+    long computeNanos,
+    long joinNanos,
+    long queueWaitNanos,
+    long busyNanos,
+    long allocatedBytes
+) {
+    /**
+     * Returns the wall-clock time of the whole multiply.
+     *
+     * @return the sum of the phase timings
+     */
+    public long totalNanos() {
+        return validateNanos + computeNanos + joinNanos;
+    }
+
+    /**
+     * Returns the time workers were available during the compute phase but
+     * not computing a tile of this multiply.
+     *
+     * @return the idle time summed over workers, never negative
+     */
+    public long idleNanos() {
+        return Math.max(0, threads * computeNanos - busyNanos);
+    }
+
+    /**
+     * Returns the floating-point operations of the product: one multiply and
+     * one add per term.
+     *
+     * @return 2 * rows * cols * common
+     */
+    public double flops() {
+        return 2.0 * rows * cols * common;
+    }
+
+    /**
+     * Returns the achieved rate over the whole multiply.
+     *
+     * @return billions of floating-point operations per second
+     */
+    public double gflops() {
+        long total = totalNanos();
+        return total == 0 ? 0.0 : flops() / total;
+    }
+}
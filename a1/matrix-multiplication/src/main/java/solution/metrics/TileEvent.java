@@ -0,0 +1,28 @@
+package solution.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning one tile of a multiply, committed on the
+ * worker that computed it. The recorded thread and duration give the busy
+ * time of each worker; gaps between a worker's tiles are its idle time.
+ */
+@Name("solution.MultiplyTile")
+@Label("Matrix Multiply Tile")
+@Category("Matrix Multiplication")
+@Description("One tile of a matrix product computed by a worker")
+public class TileEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Queue Wait")
+    @Description("Time between submission and a worker starting the tile")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+}
@@ -0,0 +1,67 @@
+package solution.tasks;
+
+import solution.kernels.MatrixKernel;
+import solution.kernels.SmallMatrixKernel;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Task class for batched matrix multiplication that computes a contiguous
+ * range of independent products of the batch on one thread. Products up to
+ * {@link #SMALL_LIMIT} in every dimension use the size-specialised small
+ * kernels; larger ones use the given blocked kernel.
+ */
+public class BatchMultiplicationTask implements Runnable {
+
+    /** Largest dimension for which the small-matrix kernels are used. */
+    public static final int SMALL_LIMIT = 64;
+
+    Integer start; // First product of the batch (inclusive)
+    Integer end; // Last product of the batch (exclusive)
+    DenseMatrix[] a;
+    DenseMatrix[] b;
+    DenseMatrix[] res;
+    MatrixKernel kernel;
+
+    /**
+     * Constructs a task for a range of products of a batch.
+     *
+     * @param start  the first product to compute (inclusive)
+     * @param end    the last product to compute (exclusive)
+     * @param a      the left operands
+     * @param b      the right operands
+     * @param res    the result matrices, overwritten
+     * @param kernel the kernel used for products beyond the small limit
+     */
+    public BatchMultiplicationTask(
+            Integer start,
+            Integer end,
+            DenseMatrix[] a,
+            DenseMatrix[] b,
+            DenseMatrix[] res,
+            MatrixKernel kernel) {
+        this.start = start;
+        this.end = end;
+        this.a = a;
+        this.b = b;
+        this.res = res;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Computes res[i] = a[i] * b[i] for every product in the range.
+     */
+    public void run() {
+        for (int i = start; i < end; i++) {
+            boolean small = a[i].rows() <= SMALL_LIMIT &&
+                a[i].cols() <= SMALL_LIMIT &&
+                b[i].cols() <= SMALL_LIMIT;
+
+            if (small) {
+                SmallMatrixKernel.multiply(a[i], b[i], res[i]);
+            } else {
+                res[i].fill(0.0);
+                kernel.multiplyAdd(a[i], b[i], res[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package solution.tasks;
+
+import java.util.Arrays;
+import solution.kernels.BlockedKernel;
+import solution.kernels.Epilogue;
+import solution.kernels.MatrixKernel;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Task class computing C = alpha * A * B + beta * C for a contiguous block of
+ * rows of C, in place, and applying an epilogue to it. The block is
+ * processed in sub-blocks of one kernel row tile: each sub-block is
+ * computed, then scaled by alpha and passed to the epilogue row by row in a
+ * single pass right after its last common-dimension tile, while it is still
+ * in cache, rather than in passes over the whole block afterwards.
+ *
+ * <p>Kernels only accumulate C += A * B, so when beta / alpha is moderate
+ * each sub-block is first scaled by beta / alpha, accumulated into, and
+ * scaled by alpha, which needs no scratch storage. The result may then
+ * differ from a separate alpha * (A * B) in the last bit when alpha is not a
+ * power of two. A very large or very small ratio could overflow or underflow
+ * C before alpha brings it back, so the product is then computed into a
+ * buffer the size of one sub-block and combined with C. As in BLAS, a beta
+ * of zero overwrites C without reading it, so NaNs in C are not propagated.
+ */
+public class GemmTask implements Runnable {
+
+    /** Largest binary exponent of beta / alpha that C is pre-scaled by. */
+    private static final int MAX_RATIO_EXPONENT = 32;
+
+    Integer rowStart; // First row of C in the block (inclusive)
+    Integer rowEnd; // Last row of C in the block (exclusive)
+    double alpha;
+    DenseMatrix a;
+    DenseMatrix b;
+    double beta;
+    DenseMatrix c;
+    MatrixKernel kernel;
+    Epilogue epilogue;
+
+    /**
+     * Constructs a task for a block of rows of C.
+     *
+     * @param rowStart the first row of C to compute (inclusive)
+     * @param rowEnd   the last row of C to compute (exclusive)
+     * @param alpha    the scale of the product
+     * @param a        the first matrix (matrix A)
+     * @param b        the second matrix (matrix B)
+     * @param beta     the scale of the existing contents of C
+     * @param c        the result, updated in place
+     * @param kernel   the kernel computing the product
+     * @param epilogue the transformation applied to the finished block
+     */
+    public GemmTask(
+            Integer rowStart,
+            Integer rowEnd,
+            double alpha,
+            DenseMatrix a,
+            DenseMatrix b,
+            double beta,
+            DenseMatrix c,
+            MatrixKernel kernel,
+            Epilogue epilogue) {
+        this.rowStart = rowStart;
+        this.rowEnd = rowEnd;
+        this.alpha = alpha;
+        this.a = a;
+        this.b = b;
+        this.beta = beta;
+        this.c = c;
+        this.kernel = kernel;
+        this.epilogue = epilogue;
+    }
+
+    /**
+     * Updates the block of rows of C and applies the epilogue to it, one
+     * sub-block of rows at a time.
+     */
+    public void run() {
+        int step = subBlockRows(kernel);
+        double ratio = beta / alpha;
+        DenseMatrix product = null;
+
+        if (
+            alpha != 0.0 &&
+            alpha != 1.0 &&
+            beta != 0.0 &&
+            !isModerate(ratio)
+        ) {
+            // Scaling C by beta / alpha could overflow or lose C entirely
+            product = new DenseMatrix(
+                Math.min(step, rowEnd - rowStart),
+                c.cols()
+            );
+        }
+
+        for (int r0 = rowStart; r0 < rowEnd; r0 += step) {
+            int r1 = Math.min(r0 + step, rowEnd);
+            DenseMatrix cRows = c.rowRange(r0, r1);
+
+            if (alpha == 0.0) {
+                finish(cRows, r0, null, beta);
+            } else if (product == null) {
+                scale(cRows, ratio);
+                kernel.multiplyAdd(a.rowRange(r0, r1), b, cRows);
+                finish(cRows, r0, null, alpha);
+            } else {
+                DenseMatrix partial = product.rowRange(0, r1 - r0);
+                partial.fill(0.0);
+                kernel.multiplyAdd(a.rowRange(r0, r1), b, partial);
+                finish(cRows, r0, partial, alpha);
+            }
+        }
+    }
+
+    /**
+     * Returns the rows of C finished at a time: the row tile of a blocked
+     * kernel, or the default row tile for other kernels.
+     */
+    private static int subBlockRows(MatrixKernel kernel) {
+        return kernel instanceof BlockedKernel blocked
+            ? blocked.rowTile()
+            : BlockedKernel.withDefaults().rowTile();
+    }
+
+    /**
+     * Returns whether scaling by a factor and then by its inverse cannot
+     * overflow or underflow any but the most extreme values.
+     */
+    private static boolean isModerate(double factor) {
+        return Math.abs(Math.getExponent(factor)) <= MAX_RATIO_EXPONENT;
+    }
+
+    /**
+     * Multiplies every element of a block by a factor, overwriting the block
+     * with zeros when the factor is zero.
+     */
+    private static void scale(DenseMatrix block, double factor) {
+        if (factor == 1.0) {
+            return;
+        }
+        if (factor == 0.0) {
+            block.fill(0.0);
+            return;
+        }
+
+        double[] data = block.data();
+        for (int r = 0; r < block.rows(); r++) {
+            int base = block.offset() + r * block.stride();
+            scaleRow(data, base, block.cols(), factor);
+        }
+    }
+
+    /**
+     * Makes the last pass over a finished sub-block of C, row by row: each
+     * row is scaled by a factor, or set to alpha * product + beta * C when a
+     * separate product is given, and then handed to the epilogue while it is
+     * still in L1.
+     *
+     * @param block    the sub-block of C
+     * @param rowStart row of the sub-block's first row in C
+     * @param product  the product of the sub-block's rows, or null
+     * @param factor   the scale of the rows when there is no product
+     */
+    private void finish(
+        DenseMatrix block,
+        int rowStart,
+        DenseMatrix product,
+        double factor
+    ) {
+        double[] data = block.data();
+        boolean noEpilogue = epilogue == Epilogue.NONE;
+
+        for (int r = 0; r < block.rows(); r++) {
+            int base = block.offset() + r * block.stride();
+
+            if (product != null) {
+                combineRow(data, base, product, r);
+            } else if (factor == 0.0) {
+                Arrays.fill(data, base, base + block.cols(), 0.0);
+            } else if (factor != 1.0) {
+                scaleRow(data, base, block.cols(), factor);
+            }
+
+            if (!noEpilogue) {
+                epilogue.apply(block.rowRange(r, r + 1), rowStart + r, 0);
+            }
+        }
+    }
+
+    private static void scaleRow(
+        double[] data,
+        int base,
+        int length,
+        double factor
+    ) {
+        for (int col = 0; col < length; col++) {
+            data[base + col] *= factor;
+        }
+    }
+
+    /**
+     * Stores alpha * product + beta * C into one row of C.
+     */
+    private void combineRow(
+        double[] data,
+        int base,
+        DenseMatrix product,
+        int row
+    ) {
+        double[] productData = product.data();
+        int productBase = product.offset() + row * product.stride();
+
+        for (int col = 0; col < product.cols(); col++) {
+            data[base + col] = alpha * productData[productBase + col] +
+                beta * data[base + col];
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package solution.tasks;
+
+import java.util.concurrent.RecursiveAction;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Fork/join task that transposes a square matrix in place. The matrix is
+ * split into quadrants: the two diagonal quadrants are transposed in place
+ * recursively while, concurrently, the two off-diagonal quadrants are
+ * transposed into each other by swapping elements. No second matrix is
+ * allocated.
+ */
+public class InPlaceTransposeTask extends RecursiveAction {
+
+    private final DenseMatrix m;
+    private final long threshold;
+
+    /**
+     * Constructs a task transposing a square matrix in place.
+     *
+     * @param m         the square matrix (view) to transpose
+     * @param threshold elements below which a block is handled directly
+     */
+    public InPlaceTransposeTask(DenseMatrix m, long threshold) {
+        this.m = m;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        int n = m.rows();
+
+        if ((long) n * n <= threshold || n < 2) {
+            m.transposeInPlace();
+            return;
+        }
+
+        int h = n / 2;
+        invokeAll(
+            new InPlaceTransposeTask(m.view(0, 0, h, h), threshold),
+            new InPlaceTransposeTask(m.view(h, h, n - h, n - h), threshold),
+            new SwapTask(
+                m.view(0, h, h, n - h),
+                m.view(h, 0, n - h, h),
+                threshold
+            )
+        );
+    }
+
+    /**
+     * Swaps x[i][j] with y[j][i] for every element of x, leaving each block
+     * holding the transpose of the other.
+     */
+    private static final class SwapTask extends RecursiveAction {
+
+        private static final int BLOCK = 16;
+
+        private final DenseMatrix x;
+        private final DenseMatrix y;
+        private final long threshold;
+
+        SwapTask(DenseMatrix x, DenseMatrix y, long threshold) {
+            this.x = x;
+            this.y = y;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = x.rows();
+            int cols = x.cols();
+
+            if ((long) rows * cols <= threshold || (rows < 2 && cols < 2)) {
+                swapBlocked();
+                return;
+            }
+
+            if (rows >= cols) {
+                int half = rows / 2;
+                invokeAll(
+                    new SwapTask(
+                        x.view(0, 0, half, cols),
+                        y.view(0, 0, cols, half),
+                        threshold
+                    ),
+                    new SwapTask(
+                        x.view(half, 0, rows - half, cols),
+                        y.view(0, half, cols, rows - half),
+                        threshold
+                    )
+                );
+            } else {
+                int half = cols / 2;
+                invokeAll(
+                    new SwapTask(
+                        x.view(0, 0, rows, half),
+                        y.view(0, 0, half, rows),
+                        threshold
+                    ),
+                    new SwapTask(
+                        x.view(0, half, rows, cols - half),
+                        y.view(half, 0, cols - half, rows),
+                        threshold
+                    )
+                );
+            }
+        }
+
+        private void swapBlocked() {
+            double[] data = x.data();
+            int rows = x.rows();
+            int cols = x.cols();
+
+            for (int r0 = 0; r0 < rows; r0 += BLOCK) {
+                int r1 = Math.min(r0 + BLOCK, rows);
+
+                for (int c0 = 0; c0 < cols; c0 += BLOCK) {
+                    int c1 = Math.min(c0 + BLOCK, cols);
+
+                    for (int r = r0; r < r1; r++) {
+                        int xRow = x.offset() + r * x.stride();
+                        for (int c = c0; c < c1; c++) {
+                            int other = y.offset() + c * y.stride() + r;
+                            double tmp = data[xRow + c];
+                            data[xRow + c] = data[other];
+                            data[other] = tmp;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
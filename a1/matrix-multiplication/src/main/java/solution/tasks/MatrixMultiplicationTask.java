@@ -1,52 +1,77 @@
 package solution.tasks;
 
+import solution.kernels.BlockedKernel;
+import solution.kernels.MatrixKernel;
+import solution.matrix.DenseMatrix;
+
 /**
- * Task class for parallel matrix multiplication that computes one row
- * of the result matrix. Implements Runnable to be executed by thread pool.
+ * Task class for parallel matrix multiplication that computes a contiguous
+ * block of rows of the result matrix. Implements Runnable to be executed by
+ * thread pool.
  */
 public class MatrixMultiplicationTask implements Runnable {
 
-    Integer rowIx; // Index of row in matrix A
-    Double[][] a;
-    Double[][] b;
-    Double[][] res;
+    Integer rowStart; // First row of matrix A in the block (inclusive)
+    Integer rowEnd; // Last row of matrix A in the block (exclusive)
+    DenseMatrix a;
+    DenseMatrix b;
+    DenseMatrix res;
+    MatrixKernel kernel;
 
     /**
      * Constructs a matrix multiplication task for a specific row.
      *
      * @param rowIx the index of the row in matrix A to compute
      * @param a     the first matrix (matrix A)
-     * @param b     the second matrix (matrix B, should be transposed)
+     * @param b     the second matrix (matrix B)
      * @param res   the result matrix where computed values will be stored
      */
     public MatrixMultiplicationTask(
             Integer rowIx,
-            Double[][] a,
-            Double[][] b,
-            Double[][] res) {
-        this.rowIx = rowIx;
+            DenseMatrix a,
+            DenseMatrix b,
+            DenseMatrix res) {
+        this(rowIx, rowIx + 1, a, b, res, BlockedKernel.withDefaults());
+    }
+
+    /**
+     * Constructs a matrix multiplication task for a block of rows that is
+     * computed by the given kernel.
+     *
+     * @param rowStart the first row in matrix A to compute (inclusive)
+     * @param rowEnd   the last row in matrix A to compute (exclusive)
+     * @param a        the first matrix (matrix A)
+     * @param b        the second matrix (matrix B)
+     * @param res      the result matrix where computed values will be stored
+     * @param kernel   the kernel computing the block
+     */
+    public MatrixMultiplicationTask(
+            Integer rowStart,
+            Integer rowEnd,
+            DenseMatrix a,
+            DenseMatrix b,
+            DenseMatrix res,
+            MatrixKernel kernel) {
+        this.rowStart = rowStart;
+        this.rowEnd = rowEnd;
         this.a = a;
         this.b = b;
         this.res = res;
+        this.kernel = kernel;
     }
 
     /**
-     * Computes one row of the matrix multiplication result.
+     * Computes a block of rows of the matrix multiplication result.
      * This method is called when the task is executed by a thread.
-     * It calculates all column values for the assigned row index.
+     * The block is handed to the kernel as row views of A and the result,
+     * so B is streamed through the kernel's tiles once per block rather than
+     * once per row.
      */
     public void run() {
-        Integer common = a[0].length;
-        Integer cols = res[0].length;
-
-        for (int col = 0; col < cols; col++) {
-            double sum = 0.0;
-
-            for (int i = 0; i < common; i++) {
-                sum += a[rowIx][i] * b[col][i];
-            }
-
-            res[rowIx][col] = sum;
-        }
+        kernel.multiplyAdd(
+            a.rowRange(rowStart, rowEnd),
+            b,
+            res.rowRange(rowStart, rowEnd)
+        );
     }
 }
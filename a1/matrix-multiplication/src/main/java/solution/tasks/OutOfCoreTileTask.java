@@ -0,0 +1,80 @@
+package solution.tasks;
+
+import solution.io.MatrixFile;
+import solution.kernels.MatrixKernel;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Task class for out-of-core matrix multiplication that computes one tile of
+ * the result file. Tiles of A and B are streamed from their files into small
+ * heap buffers one step of the common dimension at a time, so the memory
+ * used by the task depends only on the tile size.
+ */
+public class OutOfCoreTileTask implements Runnable {
+
+    MatrixFile a;
+    MatrixFile b;
+    MatrixFile res;
+    long rowStart; // First row of the result tile
+    long colStart; // First column of the result tile
+    int tileSize;
+    MatrixKernel kernel;
+
+    /**
+     * Constructs a task computing the result tile whose top-left element is
+     * (rowStart, colStart).
+     *
+     * @param a        the first matrix file (matrix A)
+     * @param b        the second matrix file (matrix B)
+     * @param res      the result matrix file
+     * @param rowStart first row of the result tile
+     * @param colStart first column of the result tile
+     * @param tileSize edge length of square tiles
+     * @param kernel   the kernel multiplying tiles in memory
+     */
+    public OutOfCoreTileTask(
+            MatrixFile a,
+            MatrixFile b,
+            MatrixFile res,
+            long rowStart,
+            long colStart,
+            int tileSize,
+            MatrixKernel kernel) {
+        this.a = a;
+        this.b = b;
+        this.res = res;
+        this.rowStart = rowStart;
+        this.colStart = colStart;
+        this.tileSize = tileSize;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Accumulates A[rows, k-tile] * B[k-tile, cols] for every tile of the
+     * common dimension in order, then writes the finished tile to the result
+     * file.
+     */
+    public void run() {
+        int rows = (int) Math.min(tileSize, a.rows() - rowStart);
+        int cols = (int) Math.min(tileSize, b.cols() - colStart);
+        long common = a.cols();
+
+        int depthTile = (int) Math.min(tileSize, common);
+
+        DenseMatrix aTile = new DenseMatrix(rows, depthTile);
+        DenseMatrix bTile = new DenseMatrix(depthTile, cols);
+        DenseMatrix resTile = new DenseMatrix(rows, cols);
+
+        for (long k = 0; k < common; k += tileSize) {
+            int depth = (int) Math.min(tileSize, common - k);
+            DenseMatrix aBlock = aTile.view(0, 0, rows, depth);
+            DenseMatrix bBlock = bTile.view(0, 0, depth, cols);
+
+            a.readBlock(rowStart, k, aBlock);
+            b.readBlock(k, colStart, bBlock);
+            kernel.multiplyAdd(aBlock, bBlock, resTile);
+        }
+
+        res.writeBlock(rowStart, colStart, resTile);
+    }
+}
@@ -0,0 +1,138 @@
+package solution.tasks;
+
+import java.util.concurrent.RecursiveAction;
+import solution.kernels.MatrixKernel;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Fork/join task that computes C += A * B by recursively splitting the result
+ * into quadrants (or halves, for tall and wide shapes) until a block is small
+ * enough to hand to a sequential kernel. Idle workers steal the unstarted
+ * halves, which balances load regardless of the shape of the product.
+ *
+ * <p>When the common dimension dominates, it is split as well, but the two
+ * halves are run one after the other since both accumulate into the same
+ * block of C. This keeps the leaves' working sets small and preserves the
+ * summation order of every result element.
+ */
+public class RecursiveMultiplyTask extends RecursiveAction {
+
+    /** Default number of multiply-adds below which a block is not split. */
+    public static final long DEFAULT_THRESHOLD = 64L * 64L * 64L;
+
+    private final DenseMatrix a;
+    private final DenseMatrix b;
+    private final DenseMatrix c;
+    private final MatrixKernel kernel;
+    private final long threshold;
+
+    /**
+     * Constructs a task accumulating the product of two matrices into a third.
+     *
+     * @param a         the left operand (view), of size m x k
+     * @param b         the right operand (view), of size k x n
+     * @param c         the accumulator (view), of size m x n
+     * @param kernel    the kernel computing leaf blocks
+     * @param threshold multiply-adds below which a block is computed directly;
+     *                  at least 1
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public RecursiveMultiplyTask(
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix c,
+        MatrixKernel kernel,
+        long threshold
+    ) {
+        checkThreshold(threshold);
+
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.kernel = kernel;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        int rows = c.rows();
+        int cols = c.cols();
+        int common = a.cols();
+
+        if ((long) rows * cols * common <= threshold) {
+            kernel.multiplyAdd(a, b, c);
+            return;
+        }
+
+        if (rows < 2 && cols < 2 && common <= 2) {
+            // Nothing left to halve, whatever the threshold
+            kernel.multiplyAdd(a, b, c);
+            return;
+        }
+
+        if (common > 2 * Math.max(rows, cols)) {
+            // Both halves write to the same block of C, so they cannot run
+            // concurrently; run them in order to keep the summation order.
+            int half = common / 2;
+            subtask(0, rows, 0, half, 0, cols).compute();
+            subtask(0, rows, half, common, 0, cols).compute();
+            return;
+        }
+
+        int rowHalf = rows / 2;
+        int colHalf = cols / 2;
+
+        if (rows >= 2 * cols || cols < 2) {
+            invokeAll(
+                subtask(0, rowHalf, 0, common, 0, cols),
+                subtask(rowHalf, rows, 0, common, 0, cols)
+            );
+        } else if (cols >= 2 * rows || rows < 2) {
+            invokeAll(
+                subtask(0, rows, 0, common, 0, colHalf),
+                subtask(0, rows, 0, common, colHalf, cols)
+            );
+        } else {
+            invokeAll(
+                subtask(0, rowHalf, 0, common, 0, colHalf),
+                subtask(0, rowHalf, 0, common, colHalf, cols),
+                subtask(rowHalf, rows, 0, common, 0, colHalf),
+                subtask(rowHalf, rows, 0, common, colHalf, cols)
+            );
+        }
+    }
+
+    /**
+     * Checks that a split threshold is positive.
+     *
+     * @param threshold multiply-adds below which a block is not split
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public static void checkThreshold(long threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException(
+                String.format("Invalid split threshold %d", threshold)
+            );
+        }
+    }
+
+    /**
+     * Creates the task for C[r0:r1, c0:c1] += A[r0:r1, k0:k1] * B[k0:k1, c0:c1].
+     */
+    private RecursiveMultiplyTask subtask(
+        int r0,
+        int r1,
+        int k0,
+        int k1,
+        int c0,
+        int c1
+    ) {
+        return new RecursiveMultiplyTask(
+            a.view(r0, k0, r1 - r0, k1 - k0),
+            b.view(k0, c0, k1 - k0, c1 - c0),
+            c.view(r0, c0, r1 - r0, c1 - c0),
+            kernel,
+            threshold
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package solution.tasks;
+
+import solution.matrix.CsrMatrix;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Task class for sparse x dense matrix multiplication (SpMM) that computes a
+ * contiguous block of rows of the result. Each non-zero A[r][k] scales row k
+ * of the dense operand into row r of the result, so both dense matrices are
+ * read and written contiguously.
+ */
+public class SparseDenseMultiplicationTask implements Runnable {
+
+    Integer rowStart; // First row of matrix A in the block (inclusive)
+    Integer rowEnd; // Last row of matrix A in the block (exclusive)
+    CsrMatrix a;
+    DenseMatrix b;
+    DenseMatrix res;
+
+    /**
+     * Constructs a sparse x dense multiplication task for a block of rows.
+     *
+     * @param rowStart the first row in matrix A to compute (inclusive)
+     * @param rowEnd   the last row in matrix A to compute (exclusive)
+     * @param a        the sparse first matrix (matrix A)
+     * @param b        the dense second matrix (matrix B)
+     * @param res      the zero-filled result matrix
+     */
+    public SparseDenseMultiplicationTask(
+            Integer rowStart,
+            Integer rowEnd,
+            CsrMatrix a,
+            DenseMatrix b,
+            DenseMatrix res) {
+        this.rowStart = rowStart;
+        this.rowEnd = rowEnd;
+        this.a = a;
+        this.b = b;
+        this.res = res;
+    }
+
+    /**
+     * Computes the block of rows by accumulating, for each stored A[r][k],
+     * A[r][k] * B[k][*] into row r of the result.
+     */
+    public void run() {
+        int[] rowPtr = a.rowPtr();
+        int[] colIdx = a.colIdx();
+        double[] values = a.values();
+        double[] bData = b.data();
+        double[] resData = res.data();
+        int cols = res.cols();
+
+        for (int r = rowStart; r < rowEnd; r++) {
+            int resRow = res.offset() + r * res.stride();
+
+            for (int p = rowPtr[r]; p < rowPtr[r + 1]; p++) {
+                double v = values[p];
+                int bRow = b.offset() + colIdx[p] * b.stride();
+
+                for (int c = 0; c < cols; c++) {
+                    resData[resRow + c] += v * bData[bRow + c];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package solution.tasks;
+
+import java.util.Arrays;
+import solution.matrix.CsrMatrix;
+
+/**
+ * Task class for sparse x sparse matrix multiplication (SpGEMM) that computes
+ * a contiguous block of rows of the result with Gustavson's row-by-row
+ * algorithm. Each row is accumulated in a dense scratch row that is reset
+ * only where it was touched, and the block's non-zeros are kept in the task
+ * until the caller stitches all blocks into one {@link CsrMatrix}.
+ */
+public class SparseSparseMultiplicationTask implements Runnable {
+
+    Integer rowStart; // First row of matrix A in the block (inclusive)
+    Integer rowEnd; // Last row of matrix A in the block (exclusive)
+    CsrMatrix a;
+    CsrMatrix b;
+
+    int[] rowCounts; // Non-zeros in each row of the block
+    int[] colIdx; // Columns of the block's non-zeros, row by row
+    double[] values; // Values of the block's non-zeros, row by row
+    int size; // Number of non-zeros in the block
+
+    /**
+     * Constructs a sparse x sparse multiplication task for a block of rows.
+     *
+     * @param rowStart the first row in matrix A to compute (inclusive)
+     * @param rowEnd   the last row in matrix A to compute (exclusive)
+     * @param a        the sparse first matrix (matrix A)
+     * @param b        the sparse second matrix (matrix B)
+     */
+    public SparseSparseMultiplicationTask(
+            Integer rowStart,
+            Integer rowEnd,
+            CsrMatrix a,
+            CsrMatrix b) {
+        this.rowStart = rowStart;
+        this.rowEnd = rowEnd;
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Computes the block of rows. For every stored A[r][k], row k of B is
+     * scaled and scattered into the scratch row, and the touched columns are
+     * then gathered in increasing order.
+     */
+    public void run() {
+        int[] aPtr = a.rowPtr();
+        int[] aIdx = a.colIdx();
+        double[] aVals = a.values();
+        int[] bPtr = b.rowPtr();
+        int[] bIdx = b.colIdx();
+        double[] bVals = b.values();
+
+        double[] accumulator = new double[b.cols()];
+        boolean[] occupied = new boolean[b.cols()];
+        int[] touched = new int[b.cols()];
+
+        rowCounts = new int[rowEnd - rowStart];
+        colIdx = new int[16];
+        values = new double[16];
+        size = 0;
+
+        for (int r = rowStart; r < rowEnd; r++) {
+            int numTouched = 0;
+
+            for (int p = aPtr[r]; p < aPtr[r + 1]; p++) {
+                double v = aVals[p];
+                int k = aIdx[p];
+
+                for (int q = bPtr[k]; q < bPtr[k + 1]; q++) {
+                    int c = bIdx[q];
+                    if (!occupied[c]) {
+                        occupied[c] = true;
+                        touched[numTouched++] = c;
+                    }
+                    accumulator[c] += v * bVals[q];
+                }
+            }
+
+            Arrays.sort(touched, 0, numTouched);
+            ensureCapacity(size + numTouched);
+
+            for (int i = 0; i < numTouched; i++) {
+                int c = touched[i];
+                colIdx[size] = c;
+                values[size] = accumulator[c];
+                size++;
+                accumulator[c] = 0.0;
+                occupied[c] = false;
+            }
+
+            rowCounts[r - rowStart] = numTouched;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > colIdx.length) {
+            int grown = Math.max(capacity, colIdx.length * 2);
+            colIdx = Arrays.copyOf(colIdx, grown);
+            values = Arrays.copyOf(values, grown);
+        }
+    }
+
+    public int[] rowCounts() {
+        return rowCounts;
+    }
+
+    public int[] colIdx() {
+        return colIdx;
+    }
+
+    public double[] values() {
+        return values;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,150 @@
+package solution.tasks;
+
+import java.util.concurrent.RecursiveAction;
+import solution.kernels.MatrixKernel;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Fork/join task computing C = A * B with the Winograd variant of Strassen's
+ * algorithm: each level replaces the 8 half-size products of the classical
+ * algorithm by 7, at the cost of 15 half-size additions, and the 7 products
+ * run as parallel subtasks. After a fixed number of levels the blocks are
+ * handed to a classical kernel.
+ *
+ * <p>Every dimension must be divisible by {@code 2^levels}; callers pad the
+ * operands with zeros beforehand. C must be zero-filled on entry.
+ */
+public class StrassenWinogradTask extends RecursiveAction {
+
+    private final DenseMatrix a;
+    private final DenseMatrix b;
+    private final DenseMatrix c;
+    private final MatrixKernel kernel;
+    private final int levels;
+
+    /**
+     * Constructs a task computing the product of two matrices into a third.
+     *
+     * @param a      the left operand, of size m x k
+     * @param b      the right operand, of size k x n
+     * @param c      the zero-filled result, of size m x n
+     * @param kernel the classical kernel computing the leaf products
+     * @param levels the number of Strassen-Winograd levels still to apply
+     */
+    public StrassenWinogradTask(
+        DenseMatrix a,
+        DenseMatrix b,
+        DenseMatrix c,
+        MatrixKernel kernel,
+        int levels
+    ) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.kernel = kernel;
+        this.levels = levels;
+    }
+
+    @Override
+    protected void compute() {
+        if (levels == 0) {
+            kernel.multiplyAdd(a, b, c);
+            return;
+        }
+
+        int m = a.rows() / 2;
+        int k = a.cols() / 2;
+        int n = b.cols() / 2;
+
+        DenseMatrix a11 = a.view(0, 0, m, k);
+        DenseMatrix a12 = a.view(0, k, m, k);
+        DenseMatrix a21 = a.view(m, 0, m, k);
+        DenseMatrix a22 = a.view(m, k, m, k);
+        DenseMatrix b11 = b.view(0, 0, k, n);
+        DenseMatrix b12 = b.view(0, n, k, n);
+        DenseMatrix b21 = b.view(k, 0, k, n);
+        DenseMatrix b22 = b.view(k, n, k, n);
+
+        DenseMatrix s1 = add(a21, a22);
+        DenseMatrix s2 = subtract(s1, a11);
+        DenseMatrix s3 = subtract(a11, a21);
+        DenseMatrix s4 = subtract(a12, s2);
+        DenseMatrix t1 = subtract(b12, b11);
+        DenseMatrix t2 = subtract(b22, t1);
+        DenseMatrix t3 = subtract(b22, b12);
+        DenseMatrix t4 = subtract(t2, b21);
+
+        DenseMatrix p1 = new DenseMatrix(m, n);
+        DenseMatrix p2 = new DenseMatrix(m, n);
+        DenseMatrix p3 = new DenseMatrix(m, n);
+        DenseMatrix p4 = new DenseMatrix(m, n);
+        DenseMatrix p5 = new DenseMatrix(m, n);
+        DenseMatrix p6 = new DenseMatrix(m, n);
+        DenseMatrix p7 = new DenseMatrix(m, n);
+
+        invokeAll(
+            subtask(a11, b11, p1),
+            subtask(a12, b21, p2),
+            subtask(s4, b22, p3),
+            subtask(a22, t4, p4),
+            subtask(s1, t1, p5),
+            subtask(s2, t2, p6),
+            subtask(s3, t3, p7)
+        );
+
+        // U2 = P1 + P6, U3 = U2 + P7, U4 = U2 + P5
+        DenseMatrix u2 = add(p1, p6);
+        DenseMatrix u3 = add(u2, p7);
+        DenseMatrix u4 = add(u2, p5);
+
+        combine(p1, 1.0, p2, c.view(0, 0, m, n));
+        combine(u4, 1.0, p3, c.view(0, n, m, n));
+        combine(u3, -1.0, p4, c.view(m, 0, m, n));
+        combine(u3, 1.0, p5, c.view(m, n, m, n));
+    }
+
+    private StrassenWinogradTask subtask(
+        DenseMatrix x,
+        DenseMatrix y,
+        DenseMatrix z
+    ) {
+        return new StrassenWinogradTask(x, y, z, kernel, levels - 1);
+    }
+
+    private static DenseMatrix add(DenseMatrix x, DenseMatrix y) {
+        DenseMatrix res = new DenseMatrix(x.rows(), x.cols());
+        combine(x, 1.0, y, res);
+        return res;
+    }
+
+    private static DenseMatrix subtract(DenseMatrix x, DenseMatrix y) {
+        DenseMatrix res = new DenseMatrix(x.rows(), x.cols());
+        combine(x, -1.0, y, res);
+        return res;
+    }
+
+    /**
+     * Stores x + sign * y into res, where sign is either 1 or -1.
+     */
+    private static void combine(
+        DenseMatrix x,
+        double sign,
+        DenseMatrix y,
+        DenseMatrix res
+    ) {
+        double[] xData = x.data();
+        double[] yData = y.data();
+        double[] resData = res.data();
+
+        for (int r = 0; r < res.rows(); r++) {
+            int xRow = x.offset() + r * x.stride();
+            int yRow = y.offset() + r * y.stride();
+            int resRow = res.offset() + r * res.stride();
+
+            for (int col = 0; col < res.cols(); col++) {
+                resData[resRow + col] = xData[xRow + col] +
+                    sign * yData[yRow + col];
+            }
+        }
+    }
+}
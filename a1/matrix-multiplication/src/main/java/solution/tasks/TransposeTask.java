@@ -0,0 +1,74 @@
+package solution.tasks;
+
+import java.util.concurrent.RecursiveAction;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Fork/join task that writes the transpose of a matrix into another by
+ * recursively halving the longer side of the source. Blocks below the
+ * threshold are copied on one worker with the cache-oblivious
+ * {@link DenseMatrix#transposeInto(DenseMatrix)}.
+ */
+public class TransposeTask extends RecursiveAction {
+
+    /** Default number of elements below which a block is not split. */
+    public static final long DEFAULT_THRESHOLD = 128L * 128L;
+
+    private final DenseMatrix src;
+    private final DenseMatrix dst;
+    private final long threshold;
+
+    /**
+     * Constructs a task transposing one matrix into another.
+     *
+     * @param src       the matrix (view) to transpose, of size m x n
+     * @param dst       the destination (view), of size n x m
+     * @param threshold elements below which a block is copied directly
+     */
+    public TransposeTask(DenseMatrix src, DenseMatrix dst, long threshold) {
+        this.src = src;
+        this.dst = dst;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        int rows = src.rows();
+        int cols = src.cols();
+
+        if ((long) rows * cols <= threshold || (rows < 2 && cols < 2)) {
+            src.transposeInto(dst);
+            return;
+        }
+
+        if (rows >= cols) {
+            int half = rows / 2;
+            invokeAll(
+                new TransposeTask(
+                    src.view(0, 0, half, cols),
+                    dst.view(0, 0, cols, half),
+                    threshold
+                ),
+                new TransposeTask(
+                    src.view(half, 0, rows - half, cols),
+                    dst.view(0, half, cols, rows - half),
+                    threshold
+                )
+            );
+        } else {
+            int half = cols / 2;
+            invokeAll(
+                new TransposeTask(
+                    src.view(0, 0, rows, half),
+                    dst.view(0, 0, half, rows),
+                    threshold
+                ),
+                new TransposeTask(
+                    src.view(0, half, rows, cols - half),
+                    dst.view(half, 0, cols - half, rows),
+                    threshold
+                )
+            );
+        }
+    }
+}
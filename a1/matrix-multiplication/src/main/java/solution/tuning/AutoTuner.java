@@ -0,0 +1,340 @@
+package solution.tuning;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import solution.MatrixComputeEngine;
+import solution.WorkloadGenerator;
+import solution.WorkloadGenerator.Distribution;
+import solution.kernels.BlockedKernel;
+import solution.kernels.MatrixKernels;
+import solution.matrix.DenseMatrix;
+import solution.tuning.TuningPlan.Shape;
+
+/**
+ * Picks the kernel, tile sizes and thread count of each multiply from
+ * measurements taken on the current machine. A calibration run times every
+ * candidate configuration on products of a few shapes, square and not, and
+ * keeps the fastest for each shape in a {@link TuningPlan}, which can be
+ * stored and reloaded so the measurements are only taken once per machine.
+ * Multiplies are then dispatched to an engine built for the configuration
+ * the plan chooses for their shape.
+ *
+ * <p>The tuner owns one engine per configuration in use and closes them
+ * when it is closed.
+ */
+public class AutoTuner implements AutoCloseable {
+
+    /** Square sizes measured by a default calibration. */
+    public static final int[] DEFAULT_SIZES = { 64, 128, 256, 512, 1024 };
+
+    /**
+     * Shapes measured by a default calibration besides the squares: a wide
+     * product with a short common dimension and a small product with a long
+     * one, whose best tiles and thread counts differ from a cube's.
+     */
+    public static final List<Shape> DEFAULT_SHAPES = List.of(
+        new Shape(1024, 1024, 64),
+        new Shape(64, 64, 4096)
+    );
+
+    /** Timed runs per candidate, after one warm-up run. */
+    public static final int DEFAULT_REPETITIONS = 3;
+
+    /** Tile sizes tried besides the defaults, sized for smaller caches. */
+    private static final int[] SMALL_TILES = { 16, 128, 64 };
+
+    private final Map<TuningConfig, MatrixComputeEngine> engines =
+        new ConcurrentHashMap<>();
+    private volatile TuningPlan plan;
+
+    /**
+     * Constructs a tuner dispatching by an existing plan.
+     *
+     * @param plan the plan to follow
+     */
+    public AutoTuner(TuningPlan plan) {
+        if (plan == null) {
+            throw new IllegalArgumentException("Tuning plan cannot be null");
+        }
+
+        this.plan = plan;
+    }
+
+    /**
+     * Returns the plan file used when none is given: the value of the
+     * {@code mmul.tuning.file} system property, or
+     * {@code ~/.mmul/tuning.properties}.
+     *
+     * @return the default plan file
+     */
+    public static Path defaultPlanFile() {
+        String file = System.getProperty("mmul.tuning.file");
+
+        if (file != null) {
+            return Path.of(file);
+        }
+
+        return Path.of(
+            System.getProperty("user.home"),
+            ".mmul",
+            "tuning.properties"
+        );
+    }
+
+    /**
+     * Returns a tuner following the plan stored in a file. If the file is
+     * missing, unreadable or was measured on a machine with a different
+     * processor count, a default calibration is run first and its plan is
+     * written to the file.
+     *
+     * @param path the plan file
+     * @return the tuner
+     * @throws UncheckedIOException if a new plan cannot be written
+     */
+    public static AutoTuner loadOrCalibrate(Path path) {
+        if (Files.isRegularFile(path)) {
+            try {
+                TuningPlan stored = TuningPlan.load(path);
+                if (stored.matchesMachine()) {
+                    return new AutoTuner(stored);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // recalibrate and overwrite the unusable plan
+            }
+        }
+
+        AutoTuner tuner = new AutoTuner(new TuningPlan(0, Map.of()));
+        try {
+            tuner.calibrate(defaultShapes(), DEFAULT_REPETITIONS).store(path);
+        } catch (IOException e) {
+            tuner.close();
+            throw new UncheckedIOException(e);
+        }
+
+        return tuner;
+    }
+
+    /**
+     * Returns the shapes measured by a default calibration: the squares of
+     * {@link #DEFAULT_SIZES} followed by {@link #DEFAULT_SHAPES}.
+     *
+     * @return the shapes
+     */
+    public static List<Shape> defaultShapes() {
+        List<Shape> shapes = new ArrayList<>();
+        for (int size : DEFAULT_SIZES) {
+            shapes.add(Shape.square(size));
+        }
+        shapes.addAll(DEFAULT_SHAPES);
+        return shapes;
+    }
+
+    /**
+     * Times every candidate configuration on square products of each size
+     * and replaces this tuner's plan with the fastest for each size.
+     *
+     * @param sizes       the square sizes to measure
+     * @param repetitions timed runs per candidate; the fastest counts
+     * @return the new plan
+     * @throws IllegalArgumentException if no size is given or a size or the
+     *                                  repetition count is not positive
+     */
+    public TuningPlan calibrate(int[] sizes, int repetitions) {
+        if (sizes == null || sizes.length == 0) {
+            throw new IllegalArgumentException(
+                "Calibration needs at least one size and one repetition"
+            );
+        }
+
+        List<Shape> shapes = new ArrayList<>();
+        for (int size : sizes) {
+            if (size <= 0) {
+                throw new IllegalArgumentException(
+                    "Calibration sizes must be positive, got " + size
+                );
+            }
+            shapes.add(Shape.square(size));
+        }
+
+        return calibrate(shapes, repetitions);
+    }
+
+    /**
+     * Times every candidate configuration on products of each shape and
+     * replaces this tuner's plan with the fastest for each shape.
+     *
+     * @param shapes      the shapes to measure
+     * @param repetitions timed runs per candidate; the fastest counts
+     * @return the new plan
+     * @throws IllegalArgumentException if no shape is given or the
+     *                                  repetition count is not positive
+     */
+    public TuningPlan calibrate(List<Shape> shapes, int repetitions) {
+        if (shapes == null || shapes.isEmpty() || repetitions <= 0) {
+            throw new IllegalArgumentException(
+                "Calibration needs at least one size and one repetition"
+            );
+        }
+
+        Map<Shape, TuningConfig> chosen = new TreeMap<>();
+        WorkloadGenerator generator = new WorkloadGenerator(42);
+        Distribution uniform = Distribution.uniform(0.0, 1.0);
+
+        for (Shape shape : shapes) {
+            DenseMatrix a = generator.generate(
+                shape.rows(),
+                shape.common(),
+                uniform
+            );
+            DenseMatrix b = generator.generate(
+                shape.common(),
+                shape.cols(),
+                uniform
+            );
+            TuningConfig best = null;
+            long bestNanos = Long.MAX_VALUE;
+
+            for (TuningConfig candidate : candidates()) {
+                long nanos = time(engineFor(candidate), a, b, repetitions);
+                if (nanos < bestNanos) {
+                    best = candidate;
+                    bestNanos = nanos;
+                }
+            }
+
+            chosen.put(shape, best);
+        }
+
+        plan = new TuningPlan(
+            Runtime.getRuntime().availableProcessors(),
+            chosen
+        );
+        closeUnused();
+
+        return plan;
+    }
+
+    /**
+     * Returns the configurations a calibration compares: every available
+     * kernel with the default and the small tile sizes, on 1, 2, 4, ...
+     * threads up to the number of available processors.
+     *
+     * @return the candidate configurations
+     */
+    public static List<TuningConfig> candidates() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        BlockedKernel defaults = BlockedKernel.withDefaults();
+        int[][] tiles = {
+            { defaults.rowTile(), defaults.colTile(), defaults.commonTile() },
+            SMALL_TILES,
+        };
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(processors);
+
+        List<TuningConfig> res = new ArrayList<>();
+        for (String kernel : MatrixKernels.available()) {
+            for (int[] t : tiles) {
+                for (int threads : threadCounts) {
+                    res.add(
+                        new TuningConfig(kernel, threads, t[0], t[1], t[2])
+                    );
+                }
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the product of two matrices, computed with the configuration
+     * the plan chooses for their shape.
+     *
+     * @param a is the first matrix
+     * @param b is the second matrix
+     * @return the result of the multiplication
+     * @throws IllegalArgumentException if the matrices are incompatible
+     */
+    public DenseMatrix multiply(DenseMatrix a, DenseMatrix b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Input matrices cannot be null");
+        }
+
+        TuningConfig config = plan.configFor(a.rows(), b.cols(), a.cols());
+        return engineFor(config).multiply(a, b);
+    }
+
+    /**
+     * Returns the engine running multiplies with the given configuration,
+     * creating it on first use.
+     *
+     * @param config the configuration
+     * @return the engine, owned by this tuner
+     */
+    public MatrixComputeEngine engineFor(TuningConfig config) {
+        return engines.computeIfAbsent(config, c ->
+            new MatrixComputeEngine(c.threads(), c.createKernel())
+        );
+    }
+
+    public TuningPlan plan() {
+        return plan;
+    }
+
+    /**
+     * Closes the engines of every configuration in use.
+     */
+    @Override
+    public void close() {
+        for (MatrixComputeEngine engine : engines.values()) {
+            engine.close();
+        }
+        engines.clear();
+    }
+
+    /**
+     * Returns the fastest of several timed runs, after one warm-up run.
+     */
+    private static long time(
+        MatrixComputeEngine engine,
+        DenseMatrix a,
+        DenseMatrix b,
+        int repetitions
+    ) {
+        engine.multiply(a, b);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < repetitions; i++) {
+            long start = System.nanoTime();
+            engine.multiply(a, b);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        return best;
+    }
+
+    /**
+     * Closes the engines created for candidates that the plan did not keep.
+     */
+    private void closeUnused() {
+        Map<Shape, TuningConfig> kept = plan.configs();
+
+        engines.entrySet().removeIf(entry -> {
+            if (kept.containsValue(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().close();
+            return true;
+        });
+    }
+}
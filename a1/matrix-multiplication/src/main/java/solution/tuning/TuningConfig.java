@@ -0,0 +1,85 @@
+package solution.tuning;
+
+import solution.kernels.BlockedKernel;
+import solution.kernels.MatrixKernel;
+import solution.kernels.MatrixKernels;
+
+/**
+ * One way of running a multiply: the kernel, its tile sizes and the number
+ * of worker threads.
+ *
+ * @param kernel     the kernel name accepted by {@link MatrixKernels#create}
+ * @param threads    the number of worker threads
+ * @param rowTile    rows of A (and of the result) per tile
+ * @param colTile    columns of B (and of the result) per tile
+ * @param commonTile columns of A / rows of B per tile
+ */
+public record TuningConfig(
+    String kernel,
+    int threads,
+    int rowTile,
+    int colTile,
+    int commonTile
+) {
+    /**
+     * Checks the configuration.
+     *
+     * @throws IllegalArgumentException if a count or tile size is not
+     *                                  positive
+     */
+    public TuningConfig {
+        if (kernel == null) {
+            throw new IllegalArgumentException("Kernel name cannot be null");
+        }
+
+        if (threads <= 0 || rowTile <= 0 || colTile <= 0 || commonTile <= 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Invalid configuration: threads=%d tiles=%dx%dx%d",
+                    threads,
+                    rowTile,
+                    colTile,
+                    commonTile
+                )
+            );
+        }
+    }
+
+    /**
+     * Returns the configuration used before any calibration: the fastest
+     * kernel with default tiles and one thread per available processor.
+     *
+     * @return the untuned configuration
+     */
+    public static TuningConfig untuned() {
+        BlockedKernel tiles = BlockedKernel.withDefaults();
+        String[] kernels = MatrixKernels.available();
+
+        return new TuningConfig(
+            kernels[kernels.length - 1],
+            Runtime.getRuntime().availableProcessors(),
+            tiles.rowTile(),
+            tiles.colTile(),
+            tiles.commonTile()
+        );
+    }
+
+    /**
+     * Creates the kernel this configuration describes.
+     *
+     * @return a new kernel
+     * @throws IllegalStateException if the kernel is unavailable in this JVM
+     */
+    public MatrixKernel createKernel() {
+        return MatrixKernels.create(kernel, rowTile, colTile, commonTile);
+    }
+
+    /**
+     * Formats the tile sizes as stored in a plan file.
+     *
+     * @return the tiles as {@code rowsxcolsxcommon}
+     */
+    public String tiles() {
+        return rowTile + "x" + colTile + "x" + commonTile;
+    }
+}
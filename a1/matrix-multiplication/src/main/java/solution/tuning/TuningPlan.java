@@ -0,0 +1,318 @@
+package solution.tuning;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The configuration chosen for each calibrated product shape on one machine.
+ * A product of an m x k and a k x n matrix is assigned to the calibrated
+ * shape nearest to it, measured as the sum of the log ratios of the three
+ * dimensions. Among square shapes this is the one whose work is nearest in
+ * ratio, so a 1000 x 1000 x 1000 product uses the 1024 cube rather than the
+ * 512 one; non-square shapes let tall, wide and deep products pick their own
+ * configuration.
+ *
+ * <p>Plans are stored as properties files:
+ * <pre>
+ *   processors=8
+ *   shape.256x256x256.kernel=vector
+ *   shape.256x256x256.threads=4
+ *   shape.256x256x256.tiles=32x256x128
+ * </pre>
+ * where shapes are written as {@code rowsxcolsxcommon} and
+ * {@code processors} records the processor count the plan was measured
+ * with, so that a plan copied to another machine can be detected. Keys of
+ * the form {@code size.256.kernel}, written before shapes were recorded,
+ * are read as the square shape of that size.
+ */
+public final class TuningPlan {
+
+    private final int processors;
+    private final TreeMap<Shape, TuningConfig> configs;
+
+    /**
+     * Dimensions of a product of a rows x common and a common x cols matrix.
+     *
+     * @param rows   rows of the result
+     * @param cols   columns of the result
+     * @param common columns of A / rows of B
+     */
+    public record Shape(int rows, int cols, int common)
+        implements Comparable<Shape> {
+        /**
+         * Checks the shape.
+         *
+         * @throws IllegalArgumentException if a dimension is not positive
+         */
+        public Shape {
+            if (rows <= 0 || cols <= 0 || common <= 0) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Invalid shape %dx%dx%d",
+                        rows,
+                        cols,
+                        common
+                    )
+                );
+            }
+        }
+
+        /**
+         * Returns the square shape of the given size.
+         *
+         * @param size rows, columns and common dimension
+         * @return the shape
+         */
+        public static Shape square(int size) {
+            return new Shape(size, size, size);
+        }
+
+        /**
+         * Returns the number of multiply-adds of a product of this shape.
+         *
+         * @return rows * cols * common
+         */
+        public long work() {
+            return (long) rows * cols * common;
+        }
+
+        /**
+         * Returns how far apart two shapes are: the sum of the absolute log
+         * ratios of their dimensions.
+         *
+         * @param other the shape to compare with
+         * @return the distance, 0 for equal shapes
+         */
+        double distance(Shape other) {
+            return (
+                Math.abs(Math.log((double) rows / other.rows)) +
+                Math.abs(Math.log((double) cols / other.cols)) +
+                Math.abs(Math.log((double) common / other.common))
+            );
+        }
+
+        /**
+         * Orders shapes by work, then by rows and columns.
+         */
+        @Override
+        public int compareTo(Shape other) {
+            int order = Long.compare(work(), other.work());
+            if (order == 0) {
+                order = Integer.compare(rows, other.rows);
+            }
+            if (order == 0) {
+                order = Integer.compare(cols, other.cols);
+            }
+            return order;
+        }
+
+        @Override
+        public String toString() {
+            return rows + "x" + cols + "x" + common;
+        }
+    }
+
+    /**
+     * Constructs a plan from the configuration chosen for each shape.
+     *
+     * @param processors the processor count the plan was measured with
+     * @param configs    the configuration for each calibrated shape
+     */
+    public TuningPlan(int processors, Map<Shape, TuningConfig> configs) {
+        this.processors = processors;
+        this.configs = new TreeMap<>(configs);
+    }
+
+    /**
+     * Returns the configuration for a product of the given shape, or
+     * {@link TuningConfig#untuned()} if the plan is empty.
+     *
+     * @param rows   rows of the result
+     * @param cols   columns of the result
+     * @param common columns of A / rows of B
+     * @return the configuration to use
+     */
+    public TuningConfig configFor(int rows, int cols, int common) {
+        if (configs.isEmpty()) {
+            return TuningConfig.untuned();
+        }
+
+        Shape shape = new Shape(
+            Math.max(1, rows),
+            Math.max(1, cols),
+            Math.max(1, common)
+        );
+        TuningConfig nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+
+        for (Map.Entry<Shape, TuningConfig> entry : configs.entrySet()) {
+            double distance = shape.distance(entry.getKey());
+            if (distance < nearestDistance) {
+                nearest = entry.getValue();
+                nearestDistance = distance;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Returns whether this plan was measured on a machine with the same
+     * number of processors as this one.
+     *
+     * @return true if the plan applies to this machine
+     */
+    public boolean matchesMachine() {
+        return processors == Runtime.getRuntime().availableProcessors();
+    }
+
+    public int processors() {
+        return processors;
+    }
+
+    /**
+     * Returns the configuration chosen for each calibrated shape.
+     *
+     * @return the configurations, ordered by work
+     */
+    public Map<Shape, TuningConfig> configs() {
+        return new TreeMap<>(configs);
+    }
+
+    /**
+     * Writes this plan to a properties file, creating its directory if
+     * needed.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void store(Path path) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("processors", Integer.toString(processors));
+
+        for (Map.Entry<Shape, TuningConfig> entry : configs.entrySet()) {
+            String prefix = "shape." + entry.getKey() + ".";
+            TuningConfig config = entry.getValue();
+            props.setProperty(prefix + "kernel", config.kernel());
+            props.setProperty(prefix + "threads", "" + config.threads());
+            props.setProperty(prefix + "tiles", config.tiles());
+        }
+
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+
+        try (
+            Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)
+        ) {
+            props.store(out, "Matrix multiplication tuning plan");
+        }
+    }
+
+    /**
+     * Reads a plan written by {@link #store(Path)}.
+     *
+     * @param path the file to read
+     * @return the plan
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid plan
+     */
+    public static TuningPlan load(Path path) throws IOException {
+        Properties props = new Properties();
+        try (
+            Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)
+        ) {
+            props.load(in);
+        }
+
+        Map<Shape, TuningConfig> configs = new TreeMap<>();
+        for (String key : props.stringPropertyNames()) {
+            if (!key.endsWith(".kernel")) {
+                continue;
+            }
+
+            String prefix = key.substring(0, key.length() - "kernel".length());
+            String name = prefix.substring(
+                prefix.indexOf('.') + 1,
+                prefix.length() - 1
+            );
+            Shape shape;
+            if (key.startsWith("shape.")) {
+                int[] dims = parseTriple(name, "shape");
+                shape = new Shape(dims[0], dims[1], dims[2]);
+            } else if (key.startsWith("size.")) {
+                shape = Shape.square(parseInt(name));
+            } else {
+                continue;
+            }
+
+            int[] tiles = parseTriple(
+                required(props, prefix + "tiles"),
+                "tiles for " + name
+            );
+
+            configs.put(
+                shape,
+                new TuningConfig(
+                    props.getProperty(key),
+                    parseInt(required(props, prefix + "threads")),
+                    tiles[0],
+                    tiles[1],
+                    tiles[2]
+                )
+            );
+        }
+
+        return new TuningPlan(
+            parseInt(required(props, "processors")),
+            configs
+        );
+    }
+
+    private static String required(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException(
+                String.format("Missing %s in tuning plan", key)
+            );
+        }
+        return value.trim();
+    }
+
+    /**
+     * Parses three numbers written as {@code AxBxC}.
+     */
+    private static int[] parseTriple(String value, String what) {
+        String[] parts = value.split("x");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException(
+                String.format("Invalid %s in plan: %s", what, value)
+            );
+        }
+
+        return new int[] {
+            parseInt(parts[0]),
+            parseInt(parts[1]),
+            parseInt(parts[2]),
+        };
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                String.format("Invalid number in tuning plan: %s", value),
+                e
+            );
+        }
+    }
+}
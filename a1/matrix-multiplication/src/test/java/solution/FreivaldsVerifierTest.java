@@ -0,0 +1,103 @@
+package solution;
+
+import org.junit.jupiter.api.Test;
+import solution.WorkloadGenerator.Distribution;
+import solution.kernels.BlockedKernel;
+import solution.kernels.MatrixKernel;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+
+class FreivaldsVerifierTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testAcceptsCorrectProducts() {
+        WorkloadGenerator generator = new WorkloadGenerator(1);
+        FreivaldsVerifier exact = new FreivaldsVerifier(10, 0.0);
+        FreivaldsVerifier verifier = FreivaldsVerifier.withDefaults();
+
+        DenseMatrix a = generator.generate(90, 70, Distribution.uniformInts(-10, 11));
+        DenseMatrix b = generator.generate(70, 50, Distribution.uniformInts(-10, 11));
+        assertTrue(exact.verify(a, b, sequentialMultiplyMatrix(a, b)), "Exact integer product");
+
+        DenseMatrix x = generator.generate(120, 3000, Distribution.gaussian(0, 1e6));
+        DenseMatrix y = generator.generate(3000, 80, Distribution.gaussian(0, 1e-3));
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            assertTrue(verifier.verify(x, y, engine.multiply(x, y)), "Rounded floating-point product");
+            assertTrue(verifier.verify(x, y, engine.multiplySplitK(x, y)), "Product summed in another order");
+        }
+
+        DenseMatrix view = generator.generate(100, 100, Distribution.uniform(-1, 1)).view(3, 5, 40, 70);
+        assertTrue(verifier.verify(view, b, sequentialMultiplyMatrix(view, b)), "Strided view");
+    }
+
+    @Test
+    void testRejectsWrongProducts() {
+        WorkloadGenerator generator = new WorkloadGenerator(2);
+        FreivaldsVerifier verifier = FreivaldsVerifier.withDefaults();
+        DenseMatrix a = generator.generate(60, 80, Distribution.uniform(-1, 1));
+        DenseMatrix b = generator.generate(80, 40, Distribution.uniform(-1, 1));
+        DenseMatrix c = sequentialMultiplyMatrix(a, b);
+
+        for (int i = 0; i < 100; i++) {
+            DenseMatrix wrong = c.copy();
+            int row = (i * 7) % 60;
+            wrong.set(row, (i * 13) % 40, wrong.get(row, (i * 13) % 40) + 1e-6);
+
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> verifier.check(a, b, wrong),
+                    "Single wrong element " + i);
+            assertTrue(e.getMessage().contains("row " + row + " "), "Wrong row reported: " + e.getMessage());
+        }
+
+        DenseMatrix nan = c.copy();
+        nan.set(5, 5, Double.NaN);
+        assertFalse(verifier.verify(a, b, nan), "NaN in result");
+
+        DenseMatrix swapped = c.copy();
+        swapped.set(0, 1, c.get(1, 0));
+        swapped.set(1, 0, c.get(0, 1));
+        assertFalse(verifier.verify(a, b, swapped), "Swapped elements");
+    }
+
+    @Test
+    void testSelfCheckOnParallelMultiply() {
+        WorkloadGenerator generator = new WorkloadGenerator(3);
+        DenseMatrix a = generator.generate(200, 150, Distribution.uniformInts(0, 10));
+        DenseMatrix b = generator.generate(150, 120, Distribution.uniformInts(0, 10));
+        MatrixKernel faulty = (x, y, z) -> {
+            BlockedKernel.withDefaults().multiplyAdd(x, y, z);
+            z.set(0, 0, z.get(0, 0) + 1);
+        };
+
+        System.setProperty("mmul.verify", "true");
+        try {
+            assertArrayEquals(sequentialMultiplyMatrix(a, b).data(),
+                    MatrixMultiplication.parallelMultiplyMatrix(a, b, NUMBER_THREADS).data(), "Correct result");
+            assertThrows(IllegalStateException.class,
+                    () -> MatrixMultiplication.parallelMultiplyMatrix(a, b, NUMBER_THREADS, faulty),
+                    "Faulty kernel caught");
+        } finally {
+            System.clearProperty("mmul.verify");
+        }
+
+        DenseMatrix unchecked = MatrixMultiplication.parallelMultiplyMatrix(a, b, NUMBER_THREADS, faulty);
+        assertFalse(FreivaldsVerifier.withDefaults().verify(a, b, unchecked), "Self-check is off by default");
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new FreivaldsVerifier(0, 0.0), "No iterations");
+        assertThrows(IllegalArgumentException.class, () -> new FreivaldsVerifier(5, -1.0), "Negative tolerance");
+        assertThrows(IllegalArgumentException.class, () -> new FreivaldsVerifier(5, Double.NaN), "NaN tolerance");
+        assertThrows(IllegalArgumentException.class,
+                () -> FreivaldsVerifier.withDefaults().verify(new DenseMatrix(2, 3), new DenseMatrix(3, 4),
+                        new DenseMatrix(2, 3)),
+                "Result shape mismatch");
+    }
+}
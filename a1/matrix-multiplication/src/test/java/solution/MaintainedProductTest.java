@@ -0,0 +1,105 @@
+package solution;
+
+import org.junit.jupiter.api.Test;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.randomInts;
+
+class MaintainedProductTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testUpdatesMatchFullRecompute() {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            MaintainedProduct product = new MaintainedProduct(randomInts(80, 60, 1), randomInts(60, 70, 2),
+                    engine);
+
+            assertArrayEquals(sequentialMultiplyMatrix(product.a(), product.b()).toArray(),
+                    product.result().toArray(), "Initial product");
+
+            product.updateRows(new int[] { 3, 79, 0, 3 }, randomInts(4, 60, 3));
+            assertArrayEquals(sequentialMultiplyMatrix(product.a(), product.b()).toArray(),
+                    product.result().toArray(), "After row updates");
+
+            product.updateColumns(new int[] { 69, 10 }, randomInts(60, 2, 4));
+            assertArrayEquals(sequentialMultiplyMatrix(product.a(), product.b()).toArray(),
+                    product.result().toArray(), "After column updates");
+
+            product.updateRows(new int[0], new DenseMatrix(0, 60));
+            assertArrayEquals(sequentialMultiplyMatrix(product.a(), product.b()).toArray(),
+                    product.result().toArray(), "After an empty update");
+        }
+    }
+
+    @Test
+    void testInputsAreCopied() {
+        DenseMatrix a = randomInts(4, 4, 5);
+        DenseMatrix b = randomInts(4, 4, 6);
+        Double[][] expected = sequentialMultiplyMatrix(a, b).toArray();
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            MaintainedProduct product = new MaintainedProduct(a, b, engine);
+            a.fill(0.0);
+            product.updateRows(new int[] { 1 }, product.a().rowRange(1, 2).copy());
+
+            assertArrayEquals(expected, product.result().toArray(), "Caller writes are not seen");
+        }
+    }
+
+    @Test
+    void testInvalidUpdates() {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            MaintainedProduct product = new MaintainedProduct(randomInts(4, 3, 7), randomInts(3, 5, 8), engine);
+            Double[][] before = product.result().toArray();
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> product.updateRows(new int[] { 0 }, new DenseMatrix(1, 4)), "Row of the wrong length");
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> product.updateRows(new int[] { 0, 4 }, new DenseMatrix(2, 3)), "Row out of range");
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> product.updateColumns(new int[] { -1 }, new DenseMatrix(3, 1)), "Column out of range");
+            assertArrayEquals(before, product.result().toArray(), "Failed updates change nothing");
+        }
+    }
+
+    @Test
+    void testFailedMultiplyLeavesStateUnchanged() {
+        MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS);
+        MaintainedProduct product = new MaintainedProduct(randomInts(6, 5, 9), randomInts(5, 7, 10), engine);
+        Double[][] a = product.a().toArray();
+        Double[][] b = product.b().toArray();
+        Double[][] c = product.result().toArray();
+
+        engine.close();
+        assertThrows(IllegalStateException.class,
+                () -> product.updateRows(new int[] { 2 }, randomInts(1, 5, 11)), "Row update on closed engine");
+        assertThrows(IllegalStateException.class,
+                () -> product.updateColumns(new int[] { 4 }, randomInts(5, 1, 12)), "Column update on closed engine");
+
+        assertArrayEquals(a, product.a().toArray(), "A unchanged");
+        assertArrayEquals(b, product.b().toArray(), "B unchanged");
+        assertArrayEquals(c, product.result().toArray(), "C unchanged");
+    }
+
+    @Test
+    void testRepeatedIndexTakesLastValue() {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            MaintainedProduct product = new MaintainedProduct(randomInts(6, 5, 13), randomInts(5, 7, 14), engine);
+            DenseMatrix rows = randomInts(3, 5, 15);
+            DenseMatrix cols = randomInts(5, 2, 16);
+
+            product.updateRows(new int[] { 2, 4, 2 }, rows);
+            product.updateColumns(new int[] { 1, 1 }, cols);
+
+            assertArrayEquals(rows.rowRange(2, 3).toArray(), product.a().rowRange(2, 3).toArray(), "Last row wins");
+            assertArrayEquals(cols.view(0, 1, 5, 1).toArray(), product.b().view(0, 1, 5, 1).toArray(),
+                    "Last column wins");
+            assertArrayEquals(sequentialMultiplyMatrix(product.a(), product.b()).toArray(),
+                    product.result().toArray(), "Product consistent");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package solution;
+
+import org.junit.jupiter.api.Test;
+import solution.WorkloadGenerator.Distribution;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.MatrixMultiplication.chainMultiplyMatrix;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.random;
+
+class MatrixChainTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testPlanMinimisesCost() {
+        MatrixChain plan = MatrixChain.plan(10, 1000, 10, 1000);
+        assertEquals("((A0 A1) A2)", plan.toString(), "Order");
+        assertEquals(200_000L, plan.cost(), "Optimal cost");
+
+        // Textbook example: 30x35, 35x15, 15x5, 5x10, 10x20, 20x25
+        MatrixChain textbook = MatrixChain.plan(30, 35, 15, 5, 10, 20, 25);
+        assertEquals("((A0 (A1 A2)) ((A3 A4) A5))", textbook.toString(), "Textbook order");
+        assertEquals(15_125L, textbook.cost(), "Textbook cost");
+        assertTrue(textbook.cost() < textbook.leftToRightCost(), "Beats left to right");
+
+        assertEquals("A0", MatrixChain.plan(3, 4).toString(), "Single matrix");
+        assertThrows(IllegalArgumentException.class, () -> MatrixChain.plan(3), "No matrix");
+        assertThrows(IllegalArgumentException.class, () -> MatrixChain.plan(3, 0, 4), "Zero dimension");
+    }
+
+    @Test
+    void testChainMatchesLeftToRight() {
+        int[] dims = { 17, 90, 5, 64, 3, 40, 41, 12 };
+        DenseMatrix[] chain = new DenseMatrix[dims.length - 1];
+        for (int i = 0; i < chain.length; i++) {
+            chain[i] = random(dims[i], dims[i + 1], i, Distribution.uniformInts(-2, 3));
+        }
+
+        DenseMatrix expected = chain[0];
+        for (int i = 1; i < chain.length; i++) {
+            expected = sequentialMultiplyMatrix(expected, chain[i]);
+        }
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            DenseMatrix res = engine.multiplyChain(chain);
+            assertEquals(dims[0] * dims[dims.length - 1], res.data().length, "Compact result");
+            assertArrayEquals(expected.data(), res.data(), "Chain product");
+
+            assertArrayEquals(chain[2].data(), engine.multiplyChain(chain[2]).data(), "Single matrix");
+            assertArrayEquals(sequentialMultiplyMatrix(chain[0], chain[1]).data(),
+                    engine.multiplyChain(chain[0], chain[1]).data(), "Pair");
+
+            assertThrows(IllegalArgumentException.class, () -> engine.multiplyChain(chain[0], chain[2]),
+                    "Incompatible link");
+            assertThrows(IllegalArgumentException.class, () -> engine.multiplyChain(), "Empty chain");
+            assertThrows(IllegalArgumentException.class,
+                    () -> MatrixChain.plan(chain[0], chain[1]).multiply(engine, chain[1], chain[2]),
+                    "Shapes differ from plan");
+        }
+
+        assertArrayEquals(expected.data(), chainMultiplyMatrix(chain, NUMBER_THREADS).data(), "Static entry point");
+    }
+}
@@ -0,0 +1,107 @@
+package solution;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import solution.io.MatrixFile;
+import solution.io.MatrixStreams;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.randomInts;
+
+class MatrixCliTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testMultiplyFiles() throws IOException {
+        DenseMatrix a = randomInts(60, 40, 1);
+        DenseMatrix b = randomInts(40, 30, 2);
+        Path aPath = Files.createTempFile("a", ".bin");
+        Path bPath = Files.createTempFile("b", ".bin");
+        Path resPath = Files.createTempFile("res", ".bin");
+
+        try {
+            MatrixFile.write(aPath, a);
+            MatrixFile.write(bPath, b);
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+            int status = run(new String[] { "multiply", "--threads", "3", aPath.toString(), bPath.toString(),
+                    resPath.toString() }, new byte[0], new ByteArrayOutputStream(), err);
+
+            assertEquals(0, status, "Exit status, stderr: " + err);
+            assertArrayEquals(sequentialMultiplyMatrix(a, b).data(), MatrixFile.read(resPath).data(), "File result");
+        } finally {
+            Files.deleteIfExists(aPath);
+            Files.deleteIfExists(bPath);
+            Files.deleteIfExists(resPath);
+        }
+    }
+
+    @Test
+    void testMultiplyStandardStreams() throws IOException {
+        DenseMatrix a = randomInts(25, 35, 3);
+        DenseMatrix b = randomInts(35, 15, 4);
+        ByteArrayOutputStream in = new ByteArrayOutputStream();
+        MatrixStreams.write(Channels.newChannel(in), a);
+        MatrixStreams.write(Channels.newChannel(in), b);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int status = run(new String[] { "multiply", "-", "-" }, in.toByteArray(), out, new ByteArrayOutputStream());
+
+        assertEquals(0, status, "Exit status");
+        DenseMatrix res = MatrixStreams.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertArrayEquals(sequentialMultiplyMatrix(a, b).data(), res.data(), "Streamed result");
+    }
+
+    @Test
+    void testStreamProductInBands() throws IOException {
+        DenseMatrix a = randomInts(53, 20, 5);
+        DenseMatrix b = randomInts(20, 17, 6);
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            for (int bandRows : new int[] { 1, 7, 53, 100 }) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                MatrixCli.streamProduct(engine, a, b, Channels.newChannel(out), bandRows);
+
+                DenseMatrix res = MatrixStreams.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+                assertArrayEquals(sequentialMultiplyMatrix(a, b).data(), res.data(), "Bands of " + bandRows);
+                assertEquals(MatrixFile.HEADER_BYTES + 53 * 17 * 8, out.size(), "Nothing after the matrix");
+            }
+        }
+    }
+
+    @Test
+    void testErrors() throws IOException {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertEquals(2, run(new String[] { "divide", "a", "b" }, new byte[0], new ByteArrayOutputStream(), err),
+                "Unknown command");
+        assertTrue(err.toString().contains(MatrixCli.USAGE), "Usage printed");
+        assertEquals(2, run(new String[] { "multiply", "a" }, new byte[0], new ByteArrayOutputStream(), err),
+                "Missing operand");
+        assertEquals(2, run(new String[] { "multiply", "--threads", "0", "a", "b" }, new byte[0],
+                new ByteArrayOutputStream(), err), "Invalid threads");
+
+        ByteArrayOutputStream in = new ByteArrayOutputStream();
+        MatrixStreams.write(Channels.newChannel(in), randomInts(2, 3, 7));
+        MatrixStreams.write(Channels.newChannel(in), randomInts(2, 3, 8));
+        assertEquals(1, run(new String[] { "multiply", "-", "-" }, in.toByteArray(), new ByteArrayOutputStream(), err),
+                "Dimension mismatch");
+        assertEquals(1, run(new String[] { "multiply", "-", "-" }, new byte[3], new ByteArrayOutputStream(), err),
+                "Truncated input");
+    }
+
+    private static int run(String[] args, byte[] in, ByteArrayOutputStream out, ByteArrayOutputStream err) {
+        return MatrixCli.run(args, Channels.newChannel(new ByteArrayInputStream(in)), Channels.newChannel(out),
+                new PrintStream(err, true));
+    }
+}
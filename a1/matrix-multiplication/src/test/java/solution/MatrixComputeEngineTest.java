@@ -0,0 +1,414 @@
+package solution;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import solution.kernels.BlockedKernel;
+import solution.kernels.Epilogue;
+import solution.kernels.MatrixKernel;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.randomInts;
+
+class MatrixComputeEngineTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testReusedAcrossManyMultiplies() {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            for (int size = 1; size <= 120; size += 7) {
+                DenseMatrix a = randomInts(size, size + 3, size);
+                DenseMatrix b = randomInts(size + 3, size + 1, -size);
+                DenseMatrix expected = sequentialMultiplyMatrix(a, b);
+
+                assertArrayEquals(expected.toArray(), engine.multiply(a, b).toArray(), "Row blocks, size " + size);
+                assertArrayEquals(expected.toArray(), engine.forkJoinMultiply(a, b).toArray(),
+                        "Fork/join, size " + size);
+            }
+        }
+    }
+
+    @Test
+    void testCloseSemantics() {
+        MatrixComputeEngine engine = new MatrixComputeEngine(2);
+        DenseMatrix a = randomInts(2, 2, 1);
+
+        engine.close();
+
+        assertTrue(engine.isClosed(), "Engine closed");
+        assertThrows(IllegalStateException.class, () -> engine.multiply(a, a), "Multiply after close");
+        assertThrows(IllegalArgumentException.class, () -> new MatrixComputeEngine(0), "Zero threads");
+    }
+
+    @Test
+    void testSharedEngineIgnoresClose() {
+        MatrixComputeEngine engine = MatrixComputeEngine.shared();
+        engine.close();
+
+        assertSame(engine, MatrixComputeEngine.shared(), "Single shared instance");
+        assertFalse(engine.isClosed(), "Shared engine stays open");
+    }
+
+    @Test
+    void testDimensionMismatch() {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> engine.multiply(new DenseMatrix(2, 3), new DenseMatrix(2, 3)), "Engine dimension mismatch");
+        }
+    }
+
+    @Test
+    void testBatchMatchesSequential() {
+        int[] sizes = { 1, 2, 3, 4, 5, 8, 16, 24, 33, 64, 70 };
+        int batch = 200;
+        DenseMatrix[] a = new DenseMatrix[batch];
+        DenseMatrix[] b = new DenseMatrix[batch];
+        DenseMatrix[] res = new DenseMatrix[batch];
+
+        for (int i = 0; i < batch; i++) {
+            int n = sizes[i % sizes.length];
+            // Every third operand is a strided view into a larger matrix
+            a[i] = i % 3 == 0 ? randomInts(n + 2, n + 1, i).view(1, 1, n, n) : randomInts(n, n, i);
+            b[i] = randomInts(n, i % 2 == 0 ? n : n + 1, -i);
+            res[i] = new DenseMatrix(n, b[i].cols());
+            res[i].fill(Double.NaN);
+        }
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            engine.multiplyBatch(a, b, res);
+            DenseMatrix[] allocated = engine.multiplyBatch(a, b);
+
+            for (int i = 0; i < batch; i++) {
+                Double[][] expected = sequentialMultiplyMatrix(a[i], b[i]).toArray();
+                assertArrayEquals(expected, res[i].toArray(), "Preallocated batch entry " + i);
+                assertArrayEquals(expected, allocated[i].toArray(), "Allocated batch entry " + i);
+            }
+        }
+    }
+
+    @Test
+    void testBatchValidation() {
+        DenseMatrix[] a = { new DenseMatrix(2, 2), new DenseMatrix(2, 3) };
+        DenseMatrix[] b = { new DenseMatrix(2, 2), new DenseMatrix(2, 3) };
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            assertThrows(IllegalArgumentException.class, () -> engine.multiplyBatch(a, b), "Incompatible entry");
+            assertThrows(IllegalArgumentException.class,
+                    () -> engine.multiplyBatch(a, new DenseMatrix[] { b[0] }), "Batch length mismatch");
+            assertThrows(IllegalArgumentException.class,
+                    () -> engine.multiplyBatch(new DenseMatrix[] { a[0] }, new DenseMatrix[] { b[0] },
+                            new DenseMatrix[] { new DenseMatrix(2, 3) }),
+                    "Result shape mismatch");
+        }
+    }
+
+    @Test
+    void testAsyncMatchesMultiplyAndReportsProgress() throws Exception {
+        DenseMatrix a = randomInts(150, 90, 1);
+        DenseMatrix b = randomInts(90, 110, 2);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger lastTotal = new AtomicInteger();
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            CompletableFuture<DenseMatrix> future = engine.multiplyAsync(a, b, Duration.ofMinutes(1),
+                    (completed, total) -> {
+                        calls.incrementAndGet();
+                        lastTotal.set(total);
+                    });
+
+            assertArrayEquals(engine.multiply(a, b).toArray(), future.get().toArray(), "Async result");
+            assertEquals(lastTotal.get(), calls.get(), "One notification per tile");
+            assertArrayEquals(engine.multiply(a, b).toArray(), engine.multiplyAsync(a, b).get().toArray(),
+                    "Async result without deadline");
+        }
+    }
+
+    @Test
+    void testAsyncCancellationAndDeadline() throws Exception {
+        DenseMatrix a = randomInts(600, 600, 3);
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            CompletableFuture<DenseMatrix> cancelled = engine.multiplyAsync(a, a);
+            cancelled.cancel(true);
+            assertTrue(cancelled.isCancelled(), "Cancelled future");
+
+            CompletableFuture<DenseMatrix> late = engine.multiplyAsync(a, a, Duration.ofNanos(1),
+                    ProgressListener.NONE);
+            ExecutionException e = assertThrows(ExecutionException.class, late::get, "Deadline passed");
+            assertInstanceOf(TimeoutException.class, e.getCause(), "Timeout cause");
+
+            DenseMatrix small = randomInts(20, 20, 4);
+            assertArrayEquals(sequentialMultiplyMatrix(small, small).toArray(),
+                    engine.multiplyAsync(small, small).get().toArray(), "Engine still usable");
+        }
+    }
+
+    @Test
+    void testAsyncFailure() {
+        MatrixKernel failing = (a, b, c) -> {
+            throw new IllegalStateException("kernel failure");
+        };
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS, failing)) {
+            DenseMatrix a = randomInts(64, 64, 5);
+            ExecutionException e = assertThrows(ExecutionException.class, () -> engine.multiplyAsync(a, a).get(),
+                    "Tile failure");
+            assertInstanceOf(IllegalStateException.class, e.getCause(), "Failure cause");
+        }
+    }
+
+    @Test
+    void testAsyncRacingCloseAlwaysCompletes() throws Exception {
+        DenseMatrix a = randomInts(256, 64, 6);
+
+        for (int i = 0; i < 50; i++) {
+            MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS);
+            Thread closer = new Thread(engine::close);
+            CompletableFuture<DenseMatrix> future = null;
+
+            closer.start();
+            try {
+                future = engine.multiplyAsync(a, a.view(0, 0, 64, 64));
+            } catch (IllegalStateException e) {
+                // Closed before the call started
+            }
+            closer.join();
+
+            if (future != null) {
+                // Completes one way or the other instead of hanging
+                future.handle((result, failure) -> null).get(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void testRunAllWaitsForRunningTasksAfterFailure() {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicInteger skipped = new AtomicInteger();
+        Runnable[] tasks = new Runnable[50];
+        tasks[0] = () -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("task failure");
+        };
+        tasks[1] = () -> {
+            started.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.set(true);
+        };
+        for (int i = 2; i < tasks.length; i++) {
+            tasks[i] = () -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                skipped.incrementAndGet();
+            };
+        }
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            assertThrows(IllegalStateException.class, () -> engine.runAll(tasks), "Task failure");
+            assertTrue(finished.get(), "Running task finished before the failure was rethrown");
+            assertTrue(skipped.get() < tasks.length - 2, "Tasks not yet started are skipped");
+        }
+    }
+
+    @Test
+    void testMultiplyIntoWithEpilogue() {
+        DenseMatrix a = randomInts(70, 50, 7);
+        DenseMatrix b = randomInts(50, 60, 8);
+        DenseMatrix initial = randomInts(70, 60, 9);
+        double[] bias = randomInts(1, 60, 10).data();
+        DenseMatrix product = sequentialMultiplyMatrix(a, b);
+
+        // Powers of two keep the expected values exact
+        DenseMatrix expected = new DenseMatrix(70, 60);
+        for (int r = 0; r < 70; r++) {
+            for (int c = 0; c < 60; c++) {
+                double value = 2.0 * product.get(r, c) - 0.5 * initial.get(r, c) + bias[c];
+                expected.set(r, c, Math.max(value, 0.0) / 4.0);
+            }
+        }
+        Epilogue epilogue = Epilogue.bias(bias)
+                .andThen(Epilogue.clamp(0.0, Double.POSITIVE_INFINITY))
+                .andThen(Epilogue.map(x -> x / 4.0));
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            DenseMatrix c = initial.copy();
+            engine.multiplyInto(2.0, a, b, -0.5, c, epilogue);
+            assertArrayEquals(expected.data(), c.data(), "Scaled product with fused epilogue");
+
+            DenseMatrix sequential = initial.copy();
+            MatrixMultiplication.sequentialMultiplyMatrix(2.0, a, b, -0.5, sequential, epilogue);
+            assertArrayEquals(expected.data(), sequential.data(), "Sequential in-place multiply");
+
+            // Beta of zero ignores the previous contents, even NaNs
+            DenseMatrix garbage = new DenseMatrix(80, 70);
+            garbage.fill(Double.NaN);
+            DenseMatrix view = garbage.view(5, 5, 70, 60);
+            engine.multiplyInto(a, b, view);
+            assertArrayEquals(product.data(), view.copy().data(), "Overwrite a view");
+
+            DenseMatrix scaledOnly = initial.copy();
+            engine.multiplyInto(0.0, a, b, 3.0, scaledOnly, Epilogue.NONE);
+            assertEquals(3.0 * initial.get(4, 7), scaledOnly.get(4, 7), "Alpha of zero only scales C");
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> engine.multiplyInto(1.0, a, b, 0.0, initial.copy(), Epilogue.bias(new double[59])),
+                    "Bias length mismatch");
+            assertThrows(IllegalArgumentException.class, () -> engine.multiplyInto(a, b, new DenseMatrix(70, 61)),
+                    "Result shape mismatch");
+            DenseMatrix square = randomInts(8, 8, 11);
+            assertThrows(IllegalArgumentException.class, () -> engine.multiplyInto(square, square, square),
+                    "Result aliases an operand");
+        }
+    }
+
+    @Test
+    void testEpilogueAppliedPerRowTile() {
+        DenseMatrix a = randomInts(100, 40, 14);
+        DenseMatrix b = randomInts(40, 30, 15);
+        DenseMatrix product = sequentialMultiplyMatrix(a, b);
+        AtomicInteger largestBlock = new AtomicInteger();
+
+        // Writes each element's position after checking alpha was already applied
+        Epilogue positions = (block, rowStart, colStart) -> {
+            largestBlock.accumulateAndGet(block.rows(), Math::max);
+            for (int r = 0; r < block.rows(); r++) {
+                for (int c = 0; c < block.cols(); c++) {
+                    double scaled = 2.0 * product.get(rowStart + r, colStart + c);
+                    block.set(r, c, block.get(r, c) == scaled ? (rowStart + r) * 1000 + colStart + c : -1);
+                }
+            }
+        };
+
+        DenseMatrix c = new DenseMatrix(100, 30);
+        MatrixMultiplication.sequentialMultiplyMatrix(2.0, a, b, 0.0, c, positions);
+        for (int r = 0; r < 100; r++) {
+            for (int col = 0; col < 30; col++) {
+                assertEquals(r * 1000 + col, c.get(r, col), 0.0, "Scaled element at its position (" + r + ", " + col + ")");
+            }
+        }
+        assertTrue(largestBlock.get() <= BlockedKernel.DEFAULT_ROW_TILE, "Epilogue sees at most one row tile");
+    }
+
+    @Test
+    void testMultiplyIntoWithExtremeScales() {
+        DenseMatrix a = randomInts(40, 30, 12);
+        DenseMatrix b = randomInts(30, 20, 13);
+        DenseMatrix product = sequentialMultiplyMatrix(a, b);
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            // beta / alpha = 1e300 would overflow C = 1e10 before alpha scales it back
+            DenseMatrix c = new DenseMatrix(40, 20);
+            c.fill(1e10);
+            engine.multiplyInto(1e-300, a, b, 1.0, c, Epilogue.NONE);
+            DenseMatrix sequential = new DenseMatrix(40, 20);
+            sequential.fill(1e10);
+            MatrixMultiplication.sequentialMultiplyMatrix(1e-300, a, b, 1.0, sequential, Epilogue.NONE);
+            for (int i = 0; i < c.data().length; i++) {
+                assertEquals(1e10, c.data()[i], 0.0, "Tiny alpha, element " + i);
+                assertEquals(1e10, sequential.data()[i], 0.0, "Sequential tiny alpha, element " + i);
+            }
+
+            // beta / alpha = 1e-300 would flush C to zero
+            DenseMatrix d = new DenseMatrix(40, 20);
+            d.fill(1e-10);
+            engine.multiplyInto(1e300, a, b, 1e-10, d, Epilogue.NONE);
+            for (int r = 0; r < 40; r++) {
+                for (int col = 0; col < 20; col++) {
+                    assertEquals(1e300 * product.get(r, col) + 1e-10 * 1e-10, d.get(r, col), 0.0,
+                            "Huge alpha (" + r + ", " + col + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSplitKBitIdenticalAcrossThreadCounts() {
+        Random random = new Random(6);
+        DenseMatrix a = new DenseMatrix(3, 50_000);
+        DenseMatrix b = new DenseMatrix(50_000, 2);
+        for (int i = 0; i < a.data().length; i++) {
+            a.data()[i] = random.nextDouble() * 2 - 1;
+        }
+        for (int i = 0; i < b.data().length; i++) {
+            b.data()[i] = random.nextDouble() * 2 - 1;
+        }
+
+        for (boolean compensated : new boolean[] { false, true }) {
+            DenseMatrix reference;
+            try (MatrixComputeEngine engine = new MatrixComputeEngine(1)) {
+                reference = engine.multiplySplitK(a, b, compensated);
+            }
+
+            for (int threads : new int[] { 2, 3, NUMBER_THREADS, 7 }) {
+                try (MatrixComputeEngine engine = new MatrixComputeEngine(threads)) {
+                    assertArrayEquals(reference.data(), engine.multiplySplitK(a, b, compensated).data(),
+                            "Split-K with " + threads + " threads, compensated=" + compensated);
+                }
+            }
+        }
+
+        // Compensated sums are accurate to the rounding of the products
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            DenseMatrix res = engine.multiplySplitK(a, b, true);
+            for (int r = 0; r < 3; r++) {
+                for (int c = 0; c < 2; c++) {
+                    BigDecimal exact = BigDecimal.ZERO;
+                    double magnitude = 0;
+                    for (int k = 0; k < a.cols(); k++) {
+                        exact = exact.add(new BigDecimal(a.get(r, k)).multiply(new BigDecimal(b.get(k, c))));
+                        magnitude += Math.abs(a.get(r, k) * b.get(k, c));
+                    }
+                    double error = Math.abs(exact.subtract(new BigDecimal(res.get(r, c))).doubleValue());
+                    assertTrue(error <= 3 * Math.ulp(1.0) * magnitude, "Compensated error " + error);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSplitKMatchesSequential() {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            for (int common : new int[] { 1, 3, 1023, 1025, 5000 }) {
+                DenseMatrix a = randomInts(5, common, common);
+                DenseMatrix b = randomInts(common, 4, common + 1);
+
+                assertArrayEquals(sequentialMultiplyMatrix(a, b).data(), engine.multiplySplitK(a, b).data(),
+                        "Split-K with common dimension " + common);
+                assertArrayEquals(sequentialMultiplyMatrix(a, b).data(), engine.multiplySplitK(a, b, true).data(),
+                        "Compensated split-K with common dimension " + common);
+            }
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> engine.multiplySplitK(randomInts(2, 3, 1), randomInts(4, 2, 2)), "Dimension mismatch");
+        }
+    }
+}
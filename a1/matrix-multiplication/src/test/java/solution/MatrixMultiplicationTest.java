@@ -1,11 +1,19 @@
 package solution;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
+import solution.kernels.BlockedKernel;
+import solution.matrix.DenseMatrix;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.MatrixMultiplication.forkJoinMultiplyMatrix;
 import static solution.MatrixMultiplication.parallelMultiplyMatrix;
-import static solution.MatrixMultiplication.sequentialMultiplyMatrix;;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.MatrixMultiplication.strassenMultiplyMatrix;
+import static solution.TestMatrices.randomInts;
 
 class MatrixMultiplicationTest {
 
@@ -90,4 +98,94 @@ class MatrixMultiplicationTest {
         assertThrows(IllegalArgumentException.class, () -> parallelMultiplyMatrix(a, b, NUMBER_THREADS),
                 "Parallel dimension mismatch");
     }
+
+    @Test
+    void testForkJoinShapes() {
+        int[][] shapes = { { 1, 1, 1 }, { 1, 300, 1 }, { 1, 5, 200 }, { 200, 5, 1 }, { 70, 90, 50 }, { 3, 400, 2 } };
+        ForkJoinPool pool = new ForkJoinPool(NUMBER_THREADS);
+
+        try {
+            for (int[] shape : shapes) {
+                DenseMatrix a = randomInts(shape[0], shape[1], shape[0] * 31L + shape[1]);
+                DenseMatrix b = randomInts(shape[1], shape[2], shape[2] * 17L + shape[1]);
+                String name = String.format("Fork/join %dx%d * %dx%d", shape[0], shape[1], shape[1], shape[2]);
+
+                DenseMatrix seq = sequentialMultiplyMatrix(a, b);
+                DenseMatrix fj = forkJoinMultiplyMatrix(a, b, pool, BlockedKernel.withDefaults(), 8);
+
+                assertArrayEquals(seq.toArray(), fj.toArray(), name);
+                assertArrayEquals(seq.toArray(),
+                        forkJoinMultiplyMatrix(a, b, pool, BlockedKernel.withDefaults(), 1).toArray(),
+                        name + " split down to single elements");
+            }
+
+            DenseMatrix row = randomInts(1, 2, 1);
+            DenseMatrix col = randomInts(2, 1, 2);
+            assertArrayEquals(sequentialMultiplyMatrix(row, col).toArray(),
+                    forkJoinMultiplyMatrix(row, col, pool, BlockedKernel.withDefaults(), 1).toArray(),
+                    "Fork/join 1x2 * 2x1 with threshold 1");
+            assertThrows(IllegalArgumentException.class,
+                    () -> forkJoinMultiplyMatrix(row, col, pool, BlockedKernel.withDefaults(), 0), "Zero threshold");
+        } finally {
+            pool.shutdown();
+        }
+
+        Double[][] a = { { 1.0, -2.0 }, { 3.0, 4.0 } };
+        Double[][] b = { { -5.0, 6.0 }, { 7.0, -8.0 } };
+        Double[][] expected = { { -19.0, 22.0 }, { 13.0, -14.0 } };
+        assertArrayEquals(expected, forkJoinMultiplyMatrix(a, b, NUMBER_THREADS), "Fork/join 2x2 with negatives");
+    }
+
+    @Test
+    void testStrassenShapes() {
+        // Small integers keep every intermediate exact, so results must match
+        int[][] shapes = { { 1, 1, 1 }, { 8, 8, 8 }, { 13, 13, 13 }, { 33, 17, 40 }, { 64, 9, 64 }, { 50, 70, 30 } };
+        ForkJoinPool pool = new ForkJoinPool(NUMBER_THREADS);
+
+        try {
+            for (int[] shape : shapes) {
+                DenseMatrix a = randomInts(shape[0], shape[1], shape[0] * 7L + shape[1]);
+                DenseMatrix b = randomInts(shape[1], shape[2], shape[2] * 13L + shape[1]);
+                String name = String.format("Strassen %dx%d * %dx%d", shape[0], shape[1], shape[1], shape[2]);
+
+                DenseMatrix expected = sequentialMultiplyMatrix(a, b);
+                DenseMatrix actual = strassenMultiplyMatrix(a, b, pool, BlockedKernel.withDefaults(), 4);
+
+                assertArrayEquals(expected.toArray(), actual.toArray(), name);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Double[][] a = { { 1.5, -2.0, 0.5 } };
+        Double[][] b = { { 2.0, -1.0 }, { 0.0, 3.0 }, { 4.0, 2.0 } };
+        Double[][] expected = { { 5.0, -6.5 } };
+        assertArrayEquals(expected, strassenMultiplyMatrix(a, b, NUMBER_THREADS), "Strassen 1x3 * 3x2");
+    }
+
+    @Test
+    void testStrassenWithinErrorBound() {
+        int n = 128;
+        int n0 = 16;
+        Random random = new Random(42);
+        DenseMatrix a = new DenseMatrix(n, n);
+        DenseMatrix b = new DenseMatrix(n, n);
+        for (int i = 0; i < n * n; i++) {
+            a.data()[i] = random.nextDouble() * 2.0 - 1.0;
+            b.data()[i] = random.nextDouble() * 2.0 - 1.0;
+        }
+
+        DenseMatrix expected = sequentialMultiplyMatrix(a, b);
+        DenseMatrix actual = strassenMultiplyMatrix(a, b, ForkJoinPool.commonPool(), BlockedKernel.withDefaults(), n0);
+
+        double u = Math.ulp(1.0) / 2.0;
+        double bound = (Math.pow((double) n / n0, Math.log(18) / Math.log(2)) * (n0 * n0 + 6.0 * n0) - 6.0 * n) * u;
+        double maxError = 0.0;
+        for (int i = 0; i < n * n; i++) {
+            maxError = Math.max(maxError, Math.abs(expected.data()[i] - actual.data()[i]));
+        }
+
+        // The reference itself is within n * u of the exact product
+        assertTrue(maxError <= bound + n * u, "Strassen error " + maxError + " exceeds bound " + bound);
+    }
 }
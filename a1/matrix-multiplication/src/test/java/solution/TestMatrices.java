@@ -0,0 +1,32 @@
+package solution;
+
+import solution.WorkloadGenerator.Distribution;
+import solution.matrix.DenseMatrix;
+
+/**
+ * Random matrices shared by the tests, drawn from a {@link WorkloadGenerator}
+ * so that the same seed always gives the same matrix.
+ */
+public final class TestMatrices {
+
+    private TestMatrices() {}
+
+    /**
+     * Returns a matrix of integers in [-10, 10], whose products are exact in
+     * double precision.
+     */
+    public static DenseMatrix randomInts(int rows, int cols, long seed) {
+        return random(rows, cols, seed, Distribution.uniformInts(-10, 11));
+    }
+
+    /**
+     * Returns a matrix of doubles in [-1, 1).
+     */
+    public static DenseMatrix randomDoubles(int rows, int cols, long seed) {
+        return random(rows, cols, seed, Distribution.uniform(-1.0, 1.0));
+    }
+
+    public static DenseMatrix random(int rows, int cols, long seed, Distribution distribution) {
+        return new WorkloadGenerator(seed).generate(rows, cols, distribution);
+    }
+}
@@ -0,0 +1,118 @@
+package solution;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import solution.WorkloadGenerator.Distribution;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadGeneratorTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testSameSeedSameMatricesOnAnyEngine() {
+        DenseMatrix[] reference = generateAll(new WorkloadGenerator(42, MatrixComputeEngine.shared()));
+
+        for (int threads : new int[] { 1, 3, NUMBER_THREADS }) {
+            try (MatrixComputeEngine engine = new MatrixComputeEngine(threads)) {
+                DenseMatrix[] matrices = generateAll(new WorkloadGenerator(42, engine));
+                for (int i = 0; i < reference.length; i++) {
+                    assertArrayEquals(reference[i].data(), matrices[i].data(),
+                            "Matrix " + i + " with " + threads + " threads");
+                }
+            }
+        }
+
+        assertFalse(Arrays.equals(reference[0].data(), reference[1].data()), "Successive matrices differ");
+        assertFalse(Arrays.equals(reference[0].data(), generateAll(new WorkloadGenerator(43))[0].data()),
+                "Different seeds differ");
+    }
+
+    @Test
+    void testDistributions() {
+        WorkloadGenerator generator = new WorkloadGenerator(7);
+
+        DenseMatrix ints = generator.generate(300, 300, Distribution.uniformInts(-3, 4));
+        int[] counts = new int[7];
+        for (double x : ints.data()) {
+            assertEquals(Math.rint(x), x, "Integer value");
+            assertTrue(x >= -3 && x < 4, "Value in range " + x);
+            counts[(int) x + 3]++;
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 90_000 / 7.0) < 1000, "Every value drawn about as often: " + count);
+        }
+
+        DenseMatrix normal = generator.generate(400, 250, Distribution.gaussian(5.0, 2.0));
+        double sum = 0;
+        double squares = 0;
+        for (double x : normal.data()) {
+            sum += x;
+            squares += x * x;
+        }
+        double mean = sum / 100_000;
+        assertEquals(5.0, mean, 0.05, "Gaussian mean");
+        assertEquals(2.0, Math.sqrt(squares / 100_000 - mean * mean), 0.05, "Gaussian standard deviation");
+
+        DenseMatrix sparse = generator.generate(500, 200, Distribution.uniform(1.0, 2.0).sparse(0.1));
+        long nonZeros = Arrays.stream(sparse.data()).filter(x -> x != 0.0).count();
+        assertEquals(10_000, nonZeros, 500, "Sparse density");
+
+        assertThrows(IllegalArgumentException.class, () -> Distribution.uniformInts(3, 3), "Empty int range");
+        assertThrows(IllegalArgumentException.class, () -> Distribution.gaussian(0, -1), "Negative deviation");
+        assertThrows(IllegalArgumentException.class, () -> Distribution.uniform(0, 1).sparse(1.5), "Density");
+    }
+
+    @Test
+    void testBandedAndTriangular() {
+        WorkloadGenerator generator = new WorkloadGenerator(3);
+        Distribution ones = random -> 1.0;
+
+        DenseMatrix banded = generator.banded(40, 50, 2, 3, ones);
+        for (int r = 0; r < 40; r++) {
+            for (int c = 0; c < 50; c++) {
+                double expected = c - r >= -2 && c - r <= 3 ? 1.0 : 0.0;
+                assertEquals(expected, banded.get(r, c), "Banded element (" + r + ", " + c + ")");
+            }
+        }
+
+        DenseMatrix lower = generator.lowerTriangular(30, Distribution.uniformInts(1, 10));
+        DenseMatrix upper = generator.upperTriangular(30, Distribution.uniformInts(1, 10));
+        for (int r = 0; r < 30; r++) {
+            for (int c = 0; c < 30; c++) {
+                assertEquals(c <= r, lower.get(r, c) != 0.0, "Lower triangle (" + r + ", " + c + ")");
+                assertEquals(c >= r, upper.get(r, c) != 0.0, "Upper triangle (" + r + ", " + c + ")");
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> generator.banded(3, 3, -1, 0, ones), "Negative band");
+    }
+
+    @Test
+    void testEmptyShapes() {
+        WorkloadGenerator generator = new WorkloadGenerator(4);
+
+        for (int[] shape : new int[][] { { 5, 0 }, { 0, 5 }, { 0, 0 } }) {
+            DenseMatrix m = generator.banded(shape[0], shape[1], 1, 1, Distribution.uniform(0, 1));
+            assertEquals(shape[0], m.rows(), "Rows of " + shape[0] + "x" + shape[1]);
+            assertEquals(shape[1], m.cols(), "Cols of " + shape[0] + "x" + shape[1]);
+            assertEquals(0, generator.generate(shape[0], shape[1], Distribution.uniform(0, 1)).data().length,
+                    "No elements in " + shape[0] + "x" + shape[1]);
+        }
+    }
+
+    private static DenseMatrix[] generateAll(WorkloadGenerator generator) {
+        return new DenseMatrix[] {
+                generator.generate(513, 300, Distribution.uniformInts(0, 10)),
+                generator.generate(513, 300, Distribution.uniformInts(0, 10)),
+                generator.generate(200, 1, Distribution.gaussian(0, 1)),
+                generator.banded(700, 90, 5, 7, Distribution.uniform(-1, 1).sparse(0.5)),
+        };
+    }
+}
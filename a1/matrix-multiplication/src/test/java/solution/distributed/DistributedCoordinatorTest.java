@@ -0,0 +1,123 @@
+package solution.distributed;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.MatrixMultiplication.distributedMultiplyMatrix;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.randomInts;
+
+class DistributedCoordinatorTest {
+
+    @Test
+    void testLocalWorkersMatchSequential() throws IOException {
+        DenseMatrix a = randomInts(70, 45, 1);
+        DenseMatrix b = randomInts(45, 83, 2);
+        DenseMatrix expected = sequentialMultiplyMatrix(a, b);
+
+        // 3 workers form a 1x3 grid; tiles of 16 leave ragged edges
+        try (DistributedCoordinator coordinator = DistributedCoordinator.spawnLocal(3, 1, 16)) {
+            assertArrayEquals(expected.data(), coordinator.multiply(a, b).data(), "Distributed tiles");
+            assertArrayEquals(expected.data(), coordinator.multiply(a, b).data(), "Reused workers");
+
+            assertThrows(IllegalArgumentException.class, () -> coordinator.multiply(a, a),
+                    "Distributed dimension mismatch");
+        }
+
+        assertArrayEquals(expected.data(), distributedMultiplyMatrix(a, b, 2).data(), "Single call");
+    }
+
+    @Test
+    void testWorkerGridWithManyPanels() throws IOException {
+        DenseMatrix a = randomInts(70, 45, 3);
+        DenseMatrix b = randomInts(45, 83, 4);
+        DenseMatrix small = randomInts(10, 40, 5);
+        DenseMatrix smallB = randomInts(40, 20, 6);
+
+        // 4 workers form a 2x2 grid; tiles of 8 stream the common dimension in 6 panels
+        try (DistributedCoordinator coordinator = DistributedCoordinator.spawnLocal(4, 1, 8)) {
+            assertArrayEquals(sequentialMultiplyMatrix(a, b).data(), coordinator.multiply(a, b).data(),
+                    "2x2 grid, ragged tiles");
+
+            // Only one tile row: the second grid row has nothing to do
+            DenseMatrix single = randomInts(5, 40, 7);
+            assertArrayEquals(sequentialMultiplyMatrix(single, smallB).data(),
+                    coordinator.multiply(single, smallB).data(), "Idle workers");
+            assertArrayEquals(sequentialMultiplyMatrix(small, smallB).data(),
+                    coordinator.multiply(small, smallB).data(), "Idle workers used again");
+        }
+    }
+
+    @Test
+    void testConnectedWorkersKeepRunning() throws Exception {
+        DenseMatrix a = randomInts(30, 20, 8);
+        DenseMatrix b = randomInts(20, 25, 9);
+        DenseMatrix expected = sequentialMultiplyMatrix(a, b);
+        Process process = DistributedCoordinator.startWorker(1);
+
+        try {
+            int port = DistributedCoordinator.awaitPort(process, 60, TimeUnit.SECONDS);
+            List<InetSocketAddress> addresses = List.of(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+
+            try (DistributedCoordinator coordinator = DistributedCoordinator.connect(addresses, 16)) {
+                assertArrayEquals(expected.data(), coordinator.multiply(a, b).data(), "First coordinator");
+            }
+            try (DistributedCoordinator coordinator = DistributedCoordinator.connect(addresses, 16)) {
+                assertArrayEquals(expected.data(), coordinator.multiply(a, b).data(), "Worker still serving");
+            }
+            assertTrue(process.isAlive(), "Closing a connected coordinator leaves the worker running");
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    void testRejectsInvalidMessageLengths() throws IOException {
+        for (int length : new int[] { -1, Integer.MIN_VALUE, WireProtocol.MAX_MESSAGE_BYTES + 1, Integer.MAX_VALUE }) {
+            byte[] bytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(length).array();
+            assertThrows(IOException.class,
+                    () -> WireProtocol.readMessage(Channels.newChannel(new ByteArrayInputStream(bytes))),
+                    "Message length " + length);
+        }
+
+        // Long messages are truncated rather than sent with an invalid length
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WireProtocol.writeMessage(Channels.newChannel(out), "x".repeat(WireProtocol.MAX_MESSAGE_BYTES + 10));
+        String read = WireProtocol.readMessage(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(WireProtocol.MAX_MESSAGE_BYTES, read.length(), "Truncated message");
+    }
+
+    @Test
+    void testWorkerThatNeverListensIsDestroyed() throws Exception {
+        Path source = Files.createTempFile("Hang", ".java");
+        Files.writeString(source,
+                "class Hang { public static void main(String[] args) throws Exception { Thread.sleep(600_000); } }");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, source.toString()).start();
+
+        try {
+            assertThrows(IOException.class,
+                    () -> DistributedCoordinator.awaitPort(process, 200, TimeUnit.MILLISECONDS), "Startup timeout");
+            assertTrue(process.waitFor(30, TimeUnit.SECONDS), "Worker destroyed");
+        } finally {
+            process.destroyForcibly();
+            Files.delete(source);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package solution.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import solution.MatrixComputeEngine;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static solution.MatrixMultiplication.outOfCoreMultiplyMatrix;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.randomInts;
+
+class MatrixFileTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testRoundTripAndBlocks() throws IOException {
+        Path path = Files.createTempFile("matrix", ".bin");
+
+        try {
+            DenseMatrix m = randomInts(9, 7, 1);
+            MatrixFile.write(path, m);
+
+            assertEquals(MatrixFile.HEADER_BYTES + 9 * 7 * 8, Files.size(path), "File size");
+            assertArrayEquals(m.data(), MatrixFile.read(path).data(), "Round trip");
+
+            try (MatrixFile file = MatrixFile.open(path, true)) {
+                DenseMatrix block = new DenseMatrix(3, 4);
+                file.readBlock(2, 3, block);
+                assertArrayEquals(m.view(2, 3, 3, 4).copy().data(), block.data(), "Read block");
+
+                block.fill(-1.0);
+                file.writeBlock(5, 1, block);
+            }
+
+            m.view(5, 1, 3, 4).fill(-1.0);
+            assertArrayEquals(m.data(), MatrixFile.read(path).data(), "Write block");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testRowsLongerThanOneTransfer() throws IOException {
+        Path path = Files.createTempFile("wide", ".bin");
+
+        try {
+            DenseMatrix wide = randomInts(3, 20_000, 4);
+            MatrixFile.write(path, wide);
+            assertArrayEquals(wide.data(), MatrixFile.read(path).data(), "Wide round trip");
+
+            try (MatrixFile file = MatrixFile.open(path, false)) {
+                DenseMatrix block = new DenseMatrix(2, 17_000);
+                file.readBlock(1, 2_500, block);
+                assertArrayEquals(wide.view(1, 2_500, 2, 17_000).copy().data(), block.data(), "Wide block");
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testOutOfCoreMatchesInMemory() throws IOException {
+        Path a = Files.createTempFile("a", ".bin");
+        Path b = Files.createTempFile("b", ".bin");
+        Path res = Files.createTempFile("res", ".bin");
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            DenseMatrix aMatrix = randomInts(45, 31, 2);
+            DenseMatrix bMatrix = randomInts(31, 52, 3);
+            MatrixFile.write(a, aMatrix);
+            MatrixFile.write(b, bMatrix);
+
+            for (int tileSize : new int[] { 1, 8, 16, 64 }) {
+                outOfCoreMultiplyMatrix(a, b, res, tileSize, engine);
+
+                assertArrayEquals(sequentialMultiplyMatrix(aMatrix, bMatrix).data(), MatrixFile.read(res).data(),
+                        "Out-of-core with tile size " + tileSize);
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> outOfCoreMultiplyMatrix(a, a, res, 8, engine),
+                    "Out-of-core dimension mismatch");
+        } finally {
+            Files.deleteIfExists(a);
+            Files.deleteIfExists(b);
+            Files.deleteIfExists(res);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidFiles() throws IOException {
+        Path path = Files.createTempFile("matrix", ".bin");
+
+        try {
+            Files.write(path, new byte[] { 1, 2, 3 });
+            assertThrows(IOException.class, () -> MatrixFile.read(path), "Truncated header");
+
+            Files.write(path, ByteBuffer.allocate(MatrixFile.HEADER_BYTES).array());
+            assertThrows(IOException.class, () -> MatrixFile.read(path), "Bad magic");
+
+            ByteBuffer header = MatrixFile.header(4, 4);
+            Files.write(path, Arrays.copyOf(header.array(), header.remaining()));
+            assertThrows(IOException.class, () -> MatrixFile.read(path), "Missing body");
+
+            // 2^61 * 4 * 8 wraps to 0, which a header-only file would match
+            ByteBuffer wrapping = MatrixFile.header(1L << 61, 4);
+            Files.write(path, Arrays.copyOf(wrapping.array(), wrapping.remaining()));
+            assertThrows(IOException.class, () -> MatrixFile.open(path, false).close(), "Overflowing size");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
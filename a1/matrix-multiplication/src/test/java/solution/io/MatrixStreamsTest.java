@@ -0,0 +1,65 @@
+package solution.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static solution.TestMatrices.randomDoubles;
+
+class MatrixStreamsTest {
+
+    @Test
+    void testRoundTripOfViewsAndLargeMatrices() throws IOException {
+        DenseMatrix big = randomDoubles(300, 101, 1);
+        DenseMatrix view = big.view(7, 13, 50, 40);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MatrixStreams.write(Channels.newChannel(out), big);
+        MatrixStreams.write(Channels.newChannel(out), view);
+
+        byte[] bytes = out.toByteArray();
+        assertEquals(2 * MatrixFile.HEADER_BYTES + (300 * 101 + 50 * 40) * 8, bytes.length, "Encoded size");
+
+        var in = Channels.newChannel(new ByteArrayInputStream(bytes));
+        assertArrayEquals(big.data(), MatrixStreams.read(in).data(), "Whole matrix");
+        assertArrayEquals(view.copy().data(), MatrixStreams.read(in).data(), "View");
+    }
+
+    @Test
+    void testMatchesFileFormatAndRejectsTruncation() throws IOException {
+        DenseMatrix m = randomDoubles(5, 6, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MatrixStreams.write(Channels.newChannel(out), m);
+        byte[] bytes = out.toByteArray();
+
+        var header = MatrixFile.header(5, 6);
+        assertArrayEquals(Arrays.copyOf(header.array(), header.remaining()),
+                Arrays.copyOf(bytes, MatrixFile.HEADER_BYTES), "Same header as matrix files");
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThrows(EOFException.class,
+                () -> MatrixStreams.read(Channels.newChannel(new ByteArrayInputStream(truncated))),
+                "Truncated body");
+        assertThrows(IllegalArgumentException.class,
+                () -> MatrixStreams.write(Channels.newChannel(out), new DenseMatrix(0, 3)), "Empty matrix");
+    }
+
+    @Test
+    void testRejectsShapesWhoseSizeOverflows() {
+        // 2^32 x 2^32 elements wraps around to zero in a long
+        for (long[] shape : new long[][] { { 1L << 32, 1L << 32 }, { 1L << 40, 1L << 30 }, { 50_000, 50_000 } }) {
+            byte[] header = MatrixFile.header(shape[0], shape[1]).array();
+            assertThrows(IOException.class,
+                    () -> MatrixStreams.read(Channels.newChannel(new ByteArrayInputStream(header))),
+                    "Shape " + shape[0] + "x" + shape[1]);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package solution.kernels;
+
+import org.junit.jupiter.api.Test;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static solution.TestMatrices.randomDoubles;
+
+class BlockedKernelTest {
+
+    @Test
+    void testTilesMatchNaiveProductExactly() {
+        DenseMatrix a = randomDoubles(37, 53, 1);
+        DenseMatrix b = randomDoubles(53, 29, 2);
+        double[] expected = naiveProduct(a, b).data();
+
+        int[][] tileSizes = { { 1, 1, 1 }, { 4, 8, 16 }, { 5, 7, 3 }, { 64, 256, 128 } };
+        for (int[] t : tileSizes) {
+            DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+            new BlockedKernel(t[0], t[1], t[2]).multiplyAdd(a, b, res);
+
+            assertArrayEquals(expected, res.data(), "Blocked kernel with tiles " + t[0] + "x" + t[1] + "x" + t[2]);
+        }
+    }
+
+    @Test
+    void testAccumulatesIntoView() {
+        DenseMatrix a = randomDoubles(6, 4, 3);
+        DenseMatrix b = randomDoubles(4, 5, 4);
+        DenseMatrix expected = naiveProduct(a, b);
+
+        DenseMatrix big = new DenseMatrix(10, 10);
+        big.fill(1.0);
+        new BlockedKernel(2, 3, 2).multiplyAdd(a, b, big.view(2, 3, 6, 5));
+
+        for (int r = 0; r < 10; r++) {
+            for (int c = 0; c < 10; c++) {
+                boolean inside = r >= 2 && r < 8 && c >= 3 && c < 8;
+                double want = inside ? 1.0 + expected.get(r - 2, c - 3) : 1.0;
+                assertArrayEquals(new double[] { want }, new double[] { big.get(r, c) }, 1e-12,
+                        "Element (" + r + ", " + c + ")");
+            }
+        }
+    }
+
+    @Test
+    void testRejectsInvalidTiles() {
+        assertThrows(IllegalArgumentException.class, () -> new BlockedKernel(0, 8, 8), "Zero row tile");
+        assertThrows(IllegalArgumentException.class,
+                () -> BlockedKernel.withDefaults().multiplyAdd(new DenseMatrix(2, 3), new DenseMatrix(2, 3),
+                        new DenseMatrix(2, 3)),
+                "Incompatible shapes");
+    }
+
+    @Test
+    void testInvalidTilePropertiesFallBack() {
+        String name = "mmul.tile.test";
+        try {
+            assertEquals(48, BlockedKernel.tileProperty(name, 48), "Unset");
+            System.setProperty(name, "16");
+            assertEquals(16, BlockedKernel.tileProperty(name, 48), "Valid");
+            System.setProperty(name, "0");
+            assertEquals(48, BlockedKernel.tileProperty(name, 48), "Zero");
+            System.setProperty(name, "-3");
+            assertEquals(48, BlockedKernel.tileProperty(name, 48), "Negative");
+            System.setProperty(name, "big");
+            assertEquals(48, BlockedKernel.tileProperty(name, 48), "Not a number");
+        } finally {
+            System.clearProperty(name);
+        }
+    }
+
+    private static DenseMatrix naiveProduct(DenseMatrix a, DenseMatrix b) {
+        DenseMatrix res = new DenseMatrix(a.rows(), b.cols());
+        for (int r = 0; r < a.rows(); r++) {
+            for (int c = 0; c < b.cols(); c++) {
+                double sum = 0.0;
+                for (int i = 0; i < a.cols(); i++) {
+                    sum += a.get(r, i) * b.get(i, c);
+                }
+                res.set(r, c, sum);
+            }
+        }
+        return res;
+    }
+}
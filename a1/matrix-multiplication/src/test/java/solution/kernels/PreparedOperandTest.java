@@ -0,0 +1,73 @@
+package solution.kernels;
+
+import org.junit.jupiter.api.Test;
+import solution.MatrixComputeEngine;
+import solution.MatrixMultiplication;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static solution.TestMatrices.randomDoubles;
+
+class PreparedOperandTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testMatchesUnpreparedExactly() {
+        DenseMatrix b = randomDoubles(45, 70, 1).view(2, 3, 40, 61);
+        BlockedKernel kernel = new BlockedKernel(8, 16, 12);
+        PreparedOperand prepared = PreparedOperand.of(b, kernel);
+
+        assertEquals(16, prepared.panelWidth(), "Panel width follows the kernel column tile");
+        assertArrayEquals(b.toArray(), prepared.toDense().toArray(), "Packed round trip");
+
+        for (int rows = 1; rows <= 33; rows += 8) {
+            DenseMatrix a = randomDoubles(rows, 40, rows);
+            DenseMatrix expected = new DenseMatrix(rows, 61);
+            DenseMatrix res = new DenseMatrix(rows, 61);
+
+            kernel.multiplyAdd(a, b, expected);
+            prepared.multiplyAdd(kernel, a, res);
+
+            assertArrayEquals(expected.data(), res.data(), "Prepared product with " + rows + " rows");
+        }
+    }
+
+    @Test
+    void testReusedByEngineAndSequential() {
+        DenseMatrix b = randomDoubles(90, 300, 2);
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            PreparedOperand prepared = engine.prepare(b);
+
+            for (int rows = 1; rows <= 150; rows += 37) {
+                DenseMatrix a = randomDoubles(rows, 90, -rows);
+
+                assertArrayEquals(engine.multiply(a, b).data(), engine.multiply(a, prepared).data(),
+                        "Engine product with " + rows + " rows");
+                assertArrayEquals(MatrixMultiplication.sequentialMultiplyMatrix(a, b).data(),
+                        MatrixMultiplication.sequentialMultiplyMatrix(a, PreparedOperand.of(b, 256)).data(),
+                        "Sequential product with " + rows + " rows");
+            }
+        }
+    }
+
+    @Test
+    void testSnapshotAndValidation() {
+        DenseMatrix b = randomDoubles(3, 3, 3);
+        PreparedOperand prepared = PreparedOperand.of(b, 2);
+        Double[][] before = b.toArray();
+
+        b.fill(0.0);
+
+        assertArrayEquals(before, prepared.toDense().toArray(), "Later writes are not seen");
+        assertThrows(IllegalArgumentException.class, () -> PreparedOperand.of(new DenseMatrix(0, 3), 2),
+                "Empty operand");
+        assertThrows(IllegalArgumentException.class, () -> PreparedOperand.of(b, 0), "Zero panel width");
+        assertThrows(IllegalArgumentException.class,
+                () -> MatrixMultiplication.sequentialMultiplyMatrix(new DenseMatrix(2, 4), prepared),
+                "Dimension mismatch");
+    }
+}
@@ -0,0 +1,41 @@
+package solution.kernels;
+
+import org.junit.jupiter.api.Test;
+import solution.matrix.DenseMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.TestMatrices.randomDoubles;
+
+class VectorKernelTest {
+
+    @Test
+    void testBestKernelMatchesAvailability() {
+        MatrixKernel best = MatrixKernels.best();
+
+        if (MatrixKernels.isVectorApiAvailable()) {
+            assertTrue(best instanceof VectorKernel, "SIMD kernel selected when module is present");
+        } else {
+            assertTrue(best instanceof BlockedKernel, "Scalar fallback when module is absent");
+        }
+    }
+
+    @Test
+    void testMatchesScalarKernelWithinRounding() {
+        // Odd sizes exercise both the vector body and the scalar tail
+        int[][] shapes = { { 1, 1, 1 }, { 3, 7, 5 }, { 17, 33, 19 }, { 40, 300, 131 } };
+
+        for (int[] shape : shapes) {
+            DenseMatrix a = randomDoubles(shape[0], shape[1], shape[0]);
+            DenseMatrix b = randomDoubles(shape[1], shape[2], shape[2]);
+            DenseMatrix expected = new DenseMatrix(shape[0], shape[2]);
+            DenseMatrix actual = new DenseMatrix(shape[0], shape[2]);
+
+            BlockedKernel.withDefaults().multiplyAdd(a, b, expected);
+            MatrixKernels.best().multiplyAdd(a, b, actual);
+
+            assertArrayEquals(expected.data(), actual.data(), 1e-12 * shape[1],
+                    String.format("SIMD %dx%d * %dx%d", shape[0], shape[1], shape[1], shape[2]));
+        }
+    }
+}
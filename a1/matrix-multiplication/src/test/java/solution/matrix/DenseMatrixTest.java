@@ -0,0 +1,111 @@
+package solution.matrix;
+
+import org.junit.jupiter.api.Test;
+import solution.MatrixComputeEngine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static solution.MatrixMultiplication.parallelMultiplyMatrix;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+
+class DenseMatrixTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testBoxedRoundTrip() {
+        Double[][] a = { { 1.0, 2.0, 3.0 }, { 4.0, 5.0, 6.0 } };
+
+        DenseMatrix m = DenseMatrix.of(a);
+
+        assertEquals(2, m.rows(), "Row count");
+        assertEquals(3, m.cols(), "Column count");
+        assertArrayEquals(new double[] { 1.0, 2.0, 3.0, 4.0, 5.0, 6.0 }, m.data(), "Row-major layout");
+        assertArrayEquals(a, m.toArray(), "Round trip");
+    }
+
+    @Test
+    void testViewSharesStorage() {
+        DenseMatrix m = DenseMatrix.wrap(new double[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 }, 3, 3);
+
+        DenseMatrix v = m.view(1, 1, 2, 2);
+        v.set(0, 0, -5.0);
+
+        assertEquals(-5.0, m.get(1, 1), "Write through view");
+        assertArrayEquals(new Double[][] { { -5.0, 6.0 }, { 8.0, 9.0 } }, v.toArray(), "View contents");
+        assertFalse(v.isCompact(), "View is strided");
+        assertArrayEquals(v.toArray(), v.copy().toArray(), "Compact copy of view");
+    }
+
+    @Test
+    void testMultiplyViews() {
+        DenseMatrix a = DenseMatrix.wrap(new double[] { 9, 9, 9, 9, 1, -2, 9, 3, 4 }, 3, 3);
+        DenseMatrix b = DenseMatrix.wrap(new double[] { -5, 6, 9, 7, -8, 9 }, 2, 3);
+        Double[][] expected = { { -19.0, 22.0 }, { 13.0, -14.0 } };
+
+        DenseMatrix aView = a.view(1, 1, 2, 2);
+        DenseMatrix bView = b.view(0, 0, 2, 2);
+
+        assertArrayEquals(expected, sequentialMultiplyMatrix(aView, bView).toArray(), "Sequential on views");
+        assertArrayEquals(expected, parallelMultiplyMatrix(aView, bView, NUMBER_THREADS).toArray(),
+                "Parallel on views");
+    }
+
+    @Test
+    void testInvalidLayouts() {
+        assertThrows(IllegalArgumentException.class, () -> DenseMatrix.wrap(new double[5], 2, 3),
+                "Backing array too small");
+        assertThrows(IllegalArgumentException.class, () -> DenseMatrix.of(new Double[][] { { 1.0 }, { 1.0, 2.0 } }),
+                "Ragged boxed matrix");
+        assertThrows(IndexOutOfBoundsException.class, () -> new DenseMatrix(2, 2).view(1, 1, 2, 1),
+                "View outside matrix");
+    }
+
+    @Test
+    void testTranspose() {
+        int[][] shapes = { { 1, 1 }, { 1, 7 }, { 7, 1 }, { 17, 33 }, { 300, 129 }, { 257, 257 } };
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            for (int[] shape : shapes) {
+                DenseMatrix m = sequence(shape[0] + 2, shape[1] + 3).view(1, 2, shape[0], shape[1]);
+                DenseMatrix expected = new DenseMatrix(shape[1], shape[0]);
+                for (int r = 0; r < shape[0]; r++) {
+                    for (int c = 0; c < shape[1]; c++) {
+                        expected.set(c, r, m.get(r, c));
+                    }
+                }
+                String label = shape[0] + "x" + shape[1];
+
+                assertArrayEquals(expected.toArray(), m.transpose().toArray(), "Sequential transpose " + label);
+                assertArrayEquals(expected.toArray(), engine.transpose(m).toArray(), "Parallel transpose " + label);
+
+                if (shape[0] == shape[1]) {
+                    DenseMatrix sequential = m.copy();
+                    sequential.transposeInPlace();
+                    assertArrayEquals(expected.toArray(), sequential.toArray(), "Sequential in place " + label);
+
+                    DenseMatrix big = sequence(shape[0] + 2, shape[1] + 3);
+                    DenseMatrix inPlace = big.view(1, 2, shape[0], shape[1]);
+                    engine.transposeInPlace(inPlace);
+                    assertArrayEquals(expected.toArray(), inPlace.toArray(), "Parallel in place " + label);
+                    assertEquals(0.0, big.get(0, 0), "Outside of the view untouched " + label);
+                }
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> engine.transposeInPlace(new DenseMatrix(2, 3)),
+                    "In-place transpose of non-square matrix");
+            assertThrows(IllegalArgumentException.class, () -> new DenseMatrix(2, 3).transposeInto(new DenseMatrix(2, 3)),
+                    "Destination of the wrong size");
+        }
+    }
+
+    private static DenseMatrix sequence(int rows, int cols) {
+        DenseMatrix m = new DenseMatrix(rows, cols);
+        for (int i = 0; i < m.data().length; i++) {
+            m.data()[i] = i;
+        }
+        return m;
+    }
+}
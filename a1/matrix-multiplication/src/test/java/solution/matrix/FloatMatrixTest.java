@@ -0,0 +1,90 @@
+package solution.matrix;
+
+import org.junit.jupiter.api.Test;
+import solution.MatrixComputeEngine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.randomDoubles;
+
+class FloatMatrixTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    private static final double FLOAT_UNIT_ROUNDOFF = Math.ulp(1.0f) / 2.0;
+    private static final double DOUBLE_UNIT_ROUNDOFF = Math.ulp(1.0) / 2.0;
+
+    @Test
+    void testExactForSmallIntegers() {
+        Double[][] a = { { 1.0, -2.0 }, { 3.0, 4.0 } };
+        Double[][] b = { { -5.0, 6.0 }, { 7.0, -8.0 } };
+        double[] expected = { -19.0, 22.0, 13.0, -14.0 };
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            FloatMatrix fa = FloatMatrix.of(DenseMatrix.of(a));
+            FloatMatrix fb = FloatMatrix.of(DenseMatrix.of(b));
+
+            assertArrayEquals(expected, engine.multiply(fa, fb).toDense().data(), "Float 2x2 with negatives");
+            assertArrayEquals(expected, engine.multiplyMixed(fa, fb).data(), "Mixed 2x2 with negatives");
+        }
+    }
+
+    @Test
+    void testErrorVersusDoubleReference() {
+        int n = 300;
+        DenseMatrix a = randomDoubles(n, n, 1);
+        DenseMatrix b = randomDoubles(n, n, 2);
+
+        DenseMatrix reference = sequentialMultiplyMatrix(a, b);
+        DenseMatrix magnitude = sequentialMultiplyMatrix(abs(a), abs(b)); // |A| |B|
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            FloatMatrix fa = FloatMatrix.of(a);
+            FloatMatrix fb = FloatMatrix.of(b);
+            DenseMatrix single = engine.multiply(fa, fb).toDense();
+            DenseMatrix mixed = engine.multiplyMixed(fa, fb);
+
+            // Componentwise bounds relative to |A| |B|: rounding the inputs
+            // costs 2u_f, accumulating n terms costs n * u of the accumulator
+            double singleBound = (n + 2) * FLOAT_UNIT_ROUNDOFF;
+            double mixedBound = 2 * FLOAT_UNIT_ROUNDOFF + (n + 2) * DOUBLE_UNIT_ROUNDOFF;
+
+            double singleError = maxRelativeError(reference, single, magnitude);
+            double mixedError = maxRelativeError(reference, mixed, magnitude);
+
+            assertTrue(singleError <= singleBound, "Float error " + singleError + " exceeds " + singleBound);
+            assertTrue(mixedError <= mixedBound, "Mixed error " + mixedError + " exceeds " + mixedBound);
+            assertTrue(mixedError < singleError, "Mixed precision more accurate than float accumulation");
+        }
+    }
+
+    @Test
+    void testConversionsAndViews() {
+        DenseMatrix m = randomDoubles(5, 6, 3);
+        FloatMatrix f = FloatMatrix.of(m);
+
+        assertArrayEquals(m.data(), f.toDense().data(), FLOAT_UNIT_ROUNDOFF, "Narrowing rounds to nearest");
+        assertArrayEquals(FloatMatrix.of(m.view(1, 2, 3, 3)).toDense().data(), f.view(1, 2, 3, 3).toDense().data(),
+                "Views agree across precisions");
+        assertThrows(IllegalArgumentException.class, () -> FloatMatrix.wrap(new float[3], 2, 2), "Array too small");
+    }
+
+    private static double maxRelativeError(DenseMatrix reference, DenseMatrix actual, DenseMatrix magnitude) {
+        double max = 0.0;
+        for (int i = 0; i < reference.data().length; i++) {
+            double error = Math.abs(reference.data()[i] - actual.data()[i]) / magnitude.data()[i];
+            max = Math.max(max, error);
+        }
+        return max;
+    }
+
+    private static DenseMatrix abs(DenseMatrix m) {
+        DenseMatrix res = m.copy();
+        for (int i = 0; i < res.data().length; i++) {
+            res.data()[i] = Math.abs(res.data()[i]);
+        }
+        return res;
+    }
+}
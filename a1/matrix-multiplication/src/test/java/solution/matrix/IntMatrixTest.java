@@ -0,0 +1,110 @@
+package solution.matrix;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import solution.MatrixComputeEngine;
+import solution.kernels.IntBlockedKernel;
+import solution.kernels.LongKernels;
+import solution.kernels.MatrixKernels;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static solution.MatrixMultiplication.parallelMultiplyMatrix;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.randomInts;
+
+class IntMatrixTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testMatchesDoubleReference() {
+        DenseMatrix a = randomInts(200, 150, 1);
+        DenseMatrix b = randomInts(150, 170, 2);
+        IntMatrix expected = IntMatrix.of(sequentialMultiplyMatrix(a, b));
+        IntMatrix ia = IntMatrix.of(a);
+        IntMatrix ib = IntMatrix.of(b);
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            assertArrayEquals(expected.data(), engine.multiply(ia, ib).data(), "Int product");
+            assertArrayEquals(LongMatrix.of(expected).data(), engine.multiplyWide(ia, ib).data(), "Wide product");
+            assertArrayEquals(LongMatrix.of(expected).data(),
+                    engine.multiply(LongMatrix.of(ia), LongMatrix.of(ib)).data(), "Long product");
+        }
+
+        IntMatrix blocked = new IntMatrix(200, 170);
+        new IntBlockedKernel(16, 32, 24).multiplyAdd(ia, ib, blocked);
+        assertArrayEquals(expected.data(), blocked.data(), "Blocked kernel with odd tiles");
+
+        IntMatrix best = new IntMatrix(200, 170);
+        MatrixKernels.bestInt().multiplyAdd(ia, ib, best);
+        assertArrayEquals(expected.data(), best.data(), "Best int kernel");
+
+        assertArrayEquals(expected.data(), parallelMultiplyMatrix(ia, ib, NUMBER_THREADS).data(), "Static entry point");
+        assertThrows(IllegalArgumentException.class, () -> IntMatrix.of(DenseMatrix.of(new Double[][] { { 0.5 } })),
+                "Non-integral element");
+    }
+
+    @Test
+    void testOverflowDetection() {
+        IntMatrix big = IntMatrix.wrap(new int[] { 1 << 30, 1 << 30 }, 1, 2);
+        IntMatrix cancelling = IntMatrix.wrap(new int[] { 2, -2 }, 2, 1);
+        IntMatrix doubling = IntMatrix.wrap(new int[] { 2, 2 }, 2, 1);
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            // The bound check fails, but the exact result fits
+            assertEquals(0, engine.multiply(big, cancelling).get(0, 0), "Cancelling terms");
+
+            assertThrows(ArithmeticException.class, () -> engine.multiply(big, doubling), "Int overflow");
+            assertEquals(1L << 32, engine.multiplyWide(big, doubling).get(0, 0), "Widened result");
+
+            LongMatrix huge = LongMatrix.wrap(new long[] { Long.MAX_VALUE / 2 + 1 }, 1, 1);
+            LongMatrix two = LongMatrix.wrap(new long[] { 2 }, 1, 1);
+            assertThrows(ArithmeticException.class, () -> engine.multiply(huge, two), "Long overflow");
+
+            LongMatrix min = LongMatrix.wrap(new long[] { Long.MIN_VALUE }, 1, 1);
+            LongMatrix one = LongMatrix.wrap(new long[] { 1 }, 1, 1);
+            assertEquals(Long.MIN_VALUE, engine.multiply(min, one).get(0, 0), "Long.MIN_VALUE times one");
+            LongMatrix minusOne = LongMatrix.wrap(new long[] { -1 }, 1, 1);
+            assertThrows(ArithmeticException.class, () -> engine.multiply(min, minusOne), "Long.MIN_VALUE negated");
+            assertFalse(LongKernels.productFits(min.maxAbs(), 1, 1, Long.MAX_VALUE), "Saturated magnitude");
+        }
+    }
+
+    @Test
+    void testModularMatchesBigInteger() {
+        Random random = new Random(3);
+        LongMatrix a = new LongMatrix(23, 41);
+        LongMatrix b = new LongMatrix(41, 19);
+        for (int i = 0; i < a.data().length; i++) {
+            a.data()[i] = random.nextLong();
+        }
+        for (int i = 0; i < b.data().length; i++) {
+            b.data()[i] = random.nextLong();
+        }
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            for (long modulus : new long[] { 1, 2, 1_000_000_007L, (1L << 31) - 1, LongKernels.MAX_MODULUS }) {
+                LongMatrix res = engine.multiplyMod(a, b, modulus);
+                BigInteger m = BigInteger.valueOf(modulus);
+
+                for (int r = 0; r < res.rows(); r++) {
+                    for (int c = 0; c < res.cols(); c++) {
+                        BigInteger sum = BigInteger.ZERO;
+                        for (int k = 0; k < a.cols(); k++) {
+                            sum = sum.add(BigInteger.valueOf(a.get(r, k)).multiply(BigInteger.valueOf(b.get(k, c))));
+                        }
+                        assertEquals(sum.mod(m).longValue(), res.get(r, c), "Modulus " + modulus);
+                    }
+                }
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> engine.multiplyMod(a, b, 0), "Zero modulus");
+            assertThrows(IllegalArgumentException.class,
+                    () -> engine.multiplyMod(a, b, LongKernels.MAX_MODULUS + 1), "Modulus too large");
+        }
+    }
+}
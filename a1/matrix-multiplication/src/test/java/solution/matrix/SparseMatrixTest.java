@@ -0,0 +1,85 @@
+package solution.matrix;
+
+import org.junit.jupiter.api.Test;
+import solution.MatrixComputeEngine;
+import solution.WorkloadGenerator.Distribution;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.random;
+
+class SparseMatrixTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testZeroMatrixBehavior() {
+        DenseMatrix zero = DenseMatrix.of(new Double[][] { { 0.0, 0.0 }, { 0.0, 0.0 } });
+        DenseMatrix b = DenseMatrix.of(new Double[][] { { 5.0, -3.0 }, { 2.0, 1.0 } });
+        Double[][] expected = { { 0.0, 0.0 }, { 0.0, 0.0 } };
+
+        CsrMatrix sparseZero = CsrMatrix.fromDense(zero);
+        assertEquals(0, sparseZero.nonZeros(), "Zero matrix stores nothing");
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            assertArrayEquals(expected, engine.multiply(sparseZero, b).toArray(), "SpMM zero matrix A");
+            assertArrayEquals(expected, engine.multiply(sparseZero, CsrMatrix.fromDense(b)).toDense().toArray(),
+                    "SpGEMM zero matrix A");
+            assertArrayEquals(expected, engine.multiply(CsrMatrix.fromDense(b), sparseZero).toDense().toArray(),
+                    "SpGEMM zero matrix B");
+        }
+    }
+
+    @Test
+    void testConversions() {
+        DenseMatrix dense = random(13, 7, 1, Distribution.uniformInts(-9, 10).sparse(0.3));
+
+        CsrMatrix csr = CsrMatrix.fromDense(dense);
+        CscMatrix csc = CscMatrix.fromDense(dense);
+
+        assertArrayEquals(dense.data(), csr.toDense().data(), "CSR round trip");
+        assertArrayEquals(dense.data(), csc.toDense().data(), "CSC round trip");
+        assertArrayEquals(dense.data(), csr.toCsc().toCsr().toDense().data(), "CSR -> CSC -> CSR");
+        assertEquals(csr.nonZeros(), csc.nonZeros(), "Same number of non-zeros");
+        assertArrayEquals(dense.view(2, 1, 5, 4).copy().data(),
+                CsrMatrix.fromDense(dense.view(2, 1, 5, 4)).toDense().data(), "CSR from view");
+    }
+
+    @Test
+    void testSparseProductsMatchDense() {
+        double[] densities = { 0.0, 0.01, 0.05, 0.5, 1.0 };
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            for (double density : densities) {
+                DenseMatrix a = random(57, 41, 2, Distribution.uniformInts(-9, 10).sparse(density));
+                DenseMatrix b = random(41, 33, 3, Distribution.uniformInts(-9, 10).sparse(density));
+                double[] expected = sequentialMultiplyMatrix(a, b).data();
+
+                assertArrayEquals(expected, engine.multiply(CsrMatrix.fromDense(a), b).data(),
+                        "SpMM at density " + density);
+                assertArrayEquals(expected,
+                        engine.multiply(CsrMatrix.fromDense(a), CsrMatrix.fromDense(b)).toDense().data(),
+                        "SpGEMM at density " + density);
+            }
+        }
+    }
+
+    @Test
+    void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsrMatrix(2, 2, new int[] { 0, 1, 2 }, new int[] { 1, 2 }, new double[] { 1.0, 1.0 }),
+                "Column index out of range");
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsrMatrix(1, 3, new int[] { 0, 2 }, new int[] { 2, 1 }, new double[] { 1.0, 1.0 }),
+                "Unsorted columns");
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            CsrMatrix a = CsrMatrix.fromDense(new DenseMatrix(2, 3));
+            assertThrows(IllegalArgumentException.class, () -> engine.multiply(a, new DenseMatrix(2, 3)),
+                    "SpMM dimension mismatch");
+            assertThrows(IllegalArgumentException.class, () -> engine.multiply(a, a), "SpGEMM dimension mismatch");
+        }
+    }
+}
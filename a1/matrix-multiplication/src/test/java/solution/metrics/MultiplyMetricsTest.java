@@ -0,0 +1,152 @@
+package solution.metrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import solution.MatrixComputeEngine;
+import solution.matrix.CsrMatrix;
+import solution.matrix.DenseMatrix;
+import solution.matrix.FloatMatrix;
+import solution.matrix.IntMatrix;
+import solution.matrix.LongMatrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.TestMatrices.randomDoubles;
+import static solution.TestMatrices.randomInts;
+
+class MultiplyMetricsTest {
+
+    private static final int NUMBER_THREADS = 4; // Adjust as needed
+
+    @Test
+    void testStatsPerMultiply() {
+        List<MultiplyStats> recorded = new CopyOnWriteArrayList<>();
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            assertSame(MultiplyMetrics.NOOP, engine.metrics(), "Disabled by default");
+            engine.setMetrics(recorded::add);
+
+            engine.multiply(randomDoubles(200, 150, 1), randomDoubles(150, 120, 2));
+            engine.multiply(randomDoubles(4, 4, 3), engine.prepare(randomDoubles(4, 4, 4)));
+
+            engine.setMetrics(MultiplyMetrics.NOOP);
+            engine.multiply(randomDoubles(4, 4, 5), randomDoubles(4, 4, 6));
+        }
+
+        assertEquals(3, recorded.size(), "One record per multiply and prepare");
+
+        MultiplyStats blocked = recorded.get(0);
+        assertEquals("multiply", blocked.operation(), "Operation");
+        assertEquals(200, blocked.rows(), "Rows");
+        assertEquals(120, blocked.cols(), "Columns");
+        assertEquals(150, blocked.common(), "Common dimension");
+        assertEquals(NUMBER_THREADS, blocked.threads(), "Threads");
+        assertTrue(blocked.tiles() > 1, "Split into tiles");
+        assertTrue(blocked.busyNanos() > 0, "Busy time recorded");
+        assertTrue(blocked.gflops() > 0.0, "Rate computed");
+        assertEquals(2.0 * 200 * 120 * 150, blocked.flops(), "Flop count");
+        assertTrue(blocked.totalNanos() >= blocked.computeNanos(), "Total covers compute");
+
+        assertEquals("prepare", recorded.get(1).operation(), "Packing recorded");
+        MultiplyStats inline = recorded.get(2);
+        assertEquals("multiplyPrepared", inline.operation(), "Prepared operation");
+        assertEquals(1, inline.tiles(), "Tiny product computed inline");
+    }
+
+    @Test
+    void testEveryEntryPointRecorded() throws Exception {
+        List<MultiplyStats> recorded = new CopyOnWriteArrayList<>();
+        DenseMatrix a = randomInts(90, 70, 9);
+        DenseMatrix b = randomInts(70, 80, 10);
+
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            engine.setMetrics(recorded::add);
+
+            engine.multiplyInto(a, b, new DenseMatrix(90, 80));
+            engine.multiplyAsync(a, b).get();
+            engine.multiplyBatch(new DenseMatrix[] { a, a }, new DenseMatrix[] { b, b });
+            engine.multiply(FloatMatrix.of(a), FloatMatrix.of(b));
+            engine.multiplyMixed(FloatMatrix.of(a), FloatMatrix.of(b));
+            engine.multiply(IntMatrix.of(a), IntMatrix.of(b));
+            engine.multiplyWide(IntMatrix.of(a), IntMatrix.of(b));
+            engine.multiply(LongMatrix.of(IntMatrix.of(a)), LongMatrix.of(IntMatrix.of(b)));
+            engine.multiplyMod(LongMatrix.of(IntMatrix.of(a)), LongMatrix.of(IntMatrix.of(b)), 97);
+            engine.multiplySplitK(a, b);
+            engine.multiply(CsrMatrix.fromDense(a), b);
+            engine.multiply(CsrMatrix.fromDense(a), CsrMatrix.fromDense(b));
+            engine.forkJoinMultiply(a, b);
+            engine.strassenMultiply(a, b, 32);
+            engine.multiplyChain(a, b, randomDoubles(80, 5, 11));
+            engine.prepare(b);
+        }
+
+        List<String> operations = recorded.stream().map(MultiplyStats::operation).toList();
+        for (String operation : new String[] { "multiplyInto", "multiplyAsync", "multiplyBatch", "multiplyFloat",
+                "multiplyMixed", "multiplyInt", "multiplyWide", "multiplyLong", "multiplyMod", "multiplySplitK",
+                "multiplySparse", "multiplySparseSparse", "forkJoinMultiply", "strassenMultiply", "multiplyChain",
+                "prepare" }) {
+            assertTrue(operations.contains(operation), "Recorded " + operation + " in " + operations);
+        }
+
+        for (MultiplyStats stats : recorded) {
+            assertTrue(stats.tiles() >= 1, "Tiles of " + stats.operation());
+            assertTrue(stats.totalNanos() > 0, "Time of " + stats.operation());
+        }
+        MultiplyStats splitK = recorded.stream().filter(x -> x.operation().equals("multiplySplitK")).findFirst()
+                .orElseThrow();
+        assertEquals(2.0 * 90 * 80 * 70, splitK.flops(), "Split-K shape");
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("multiply", ".jfr");
+
+        try (
+            Recording recording = new Recording();
+            MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)
+        ) {
+            assertNull(MultiplyRecorder.start(MultiplyMetrics.NOOP, "multiply", 1),
+                    "Nothing recorded without a sink or recording");
+            recording.enable(MultiplyEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(TileEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            assertNotNull(MultiplyRecorder.start(MultiplyMetrics.NOOP, "multiply", 1),
+                    "Recorded while the event is enabled");
+            engine.multiply(randomDoubles(100, 100, 7), randomDoubles(100, 100, 8));
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> multiplies = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("solution.Multiply")).toList();
+            long tiles = events.stream().filter(e -> e.getEventType().getName().equals("solution.MultiplyTile"))
+                    .count();
+
+            assertEquals(1, multiplies.size(), "One multiply event");
+            assertEquals(100, multiplies.get(0).getInt("rows"), "Rows in event");
+            assertEquals(multiplies.get(0).getInt("tiles"), (int) tiles, "One event per tile");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testRejectsNullMetrics() {
+        try (MatrixComputeEngine engine = new MatrixComputeEngine(NUMBER_THREADS)) {
+            assertThrows(IllegalArgumentException.class, () -> engine.setMetrics(null), "Null metrics");
+            assertFalse(engine.isClosed(), "Engine still open");
+        }
+    }
+}
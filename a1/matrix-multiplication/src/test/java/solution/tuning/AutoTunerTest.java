@@ -0,0 +1,105 @@
+package solution.tuning;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import solution.matrix.DenseMatrix;
+import solution.tuning.TuningPlan.Shape;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static solution.MatrixMultiplication.parallelMultiplyMatrix;
+import static solution.MatrixMultiplication.sequentialMultiplyMatrix;
+import static solution.TestMatrices.randomInts;
+
+class AutoTunerTest {
+
+    @Test
+    void testPlanLookupByShape() {
+        TuningConfig small = new TuningConfig("blocked", 1, 16, 128, 64);
+        TuningConfig large = new TuningConfig("blocked", 4, 32, 256, 128);
+        TuningPlan plan = new TuningPlan(8, Map.of(Shape.square(64), small, Shape.square(512), large));
+
+        assertEquals(small, plan.configFor(10, 10, 10), "Below the smallest size");
+        assertEquals(small, plan.configFor(150, 150, 150), "Nearer the smaller size");
+        assertEquals(large, plan.configFor(300, 300, 300), "Nearer the larger size");
+        assertEquals(large, plan.configFor(512, 512, 512), "Exact size");
+        assertEquals(large, plan.configFor(1000, 1000, 1000), "Above the largest size");
+        assertEquals(large, plan.configFor(4000, 100, 4000), "Same work as a 1170 cube");
+        assertEquals(TuningConfig.untuned(), new TuningPlan(8, Map.of()).configFor(5, 5, 5), "Empty plan");
+    }
+
+    @Test
+    void testPlanLookupByNonSquareShape() {
+        TuningConfig cube = new TuningConfig("blocked", 4, 32, 256, 128);
+        TuningConfig deep = new TuningConfig("blocked", 1, 16, 128, 64);
+        TuningPlan plan = new TuningPlan(8, Map.of(Shape.square(256), cube, new Shape(64, 64, 4096), deep));
+
+        assertEquals(deep, plan.configFor(50, 60, 5000), "Few outputs, long dot products");
+        assertEquals(cube, plan.configFor(256, 256, 256), "Cube");
+        assertEquals(cube, plan.configFor(400, 400, 160), "Same work as the deep shape, but square-ish");
+        assertThrows(IllegalArgumentException.class, () -> new Shape(0, 1, 1), "Empty shape");
+    }
+
+    @Test
+    void testPlanRoundTrip() throws Exception {
+        Path file = Files.createTempFile("tuning", ".properties");
+        try {
+            TuningPlan plan = new TuningPlan(3, Map.of(
+                    Shape.square(64), new TuningConfig("blocked", 2, 16, 128, 64),
+                    new Shape(256, 32, 512), new TuningConfig("blocked", 3, 32, 256, 128)));
+            plan.store(file);
+            TuningPlan loaded = TuningPlan.load(file);
+
+            assertEquals(plan.configs(), loaded.configs(), "Configurations");
+            assertEquals(3, loaded.processors(), "Processor count");
+
+            Files.writeString(file, "processors=2\nsize.64.kernel=blocked\nsize.64.threads=2\nsize.64.tiles=8x8x8\n");
+            assertEquals(Map.of(Shape.square(64), new TuningConfig("blocked", 2, 8, 8, 8)),
+                    TuningPlan.load(file).configs(), "Plan written with square sizes");
+
+            Files.writeString(file, "processors=2\nsize.64.kernel=blocked\nsize.64.threads=two\n");
+            assertThrows(IllegalArgumentException.class, () -> TuningPlan.load(file), "Malformed plan");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testCalibrateAndDispatch() throws Exception {
+        Path file = Files.createTempFile("tuning", ".properties");
+        Files.delete(file);
+
+        try (AutoTuner tuner = new AutoTuner(new TuningPlan(0, Map.of()))) {
+            TuningPlan plan = tuner.calibrate(List.of(Shape.square(16), Shape.square(48), new Shape(8, 8, 96)), 1);
+
+            assertEquals(3, plan.configs().size(), "One configuration per shape");
+            assertTrue(plan.configs().containsKey(new Shape(8, 8, 96)), "Non-square shape calibrated");
+            assertTrue(plan.matchesMachine(), "Measured on this machine");
+            assertTrue(AutoTuner.candidates().containsAll(plan.configs().values()), "Chosen from the candidates");
+
+            DenseMatrix a = randomInts(70, 50, 1);
+            DenseMatrix b = randomInts(50, 30, 2);
+            assertArrayEquals(sequentialMultiplyMatrix(a, b).toArray(), tuner.multiply(a, b).toArray(),
+                    "Tuned product");
+            assertArrayEquals(sequentialMultiplyMatrix(a, b).toArray(), parallelMultiplyMatrix(a, b, tuner).toArray(),
+                    "Product through the static entry point");
+            assertEquals(1, tuner.calibrate(new int[] { 16 }, 1).configs().size(), "Square sizes");
+
+            plan.store(file);
+            try (AutoTuner reloaded = AutoTuner.loadOrCalibrate(file)) {
+                assertEquals(plan.configs(), reloaded.plan().configs(), "Stored plan reused");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertFalse(Files.exists(file), "Temporary plan removed");
+        assertThrows(IllegalArgumentException.class, () -> new TuningConfig("blocked", 0, 1, 1, 1), "Zero threads");
+    }
+}
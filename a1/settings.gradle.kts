@@ -11,4 +11,4 @@ plugins {
 }
 
 rootProject.name = "ecse-420"
-include("matrix-multiplication", "dining-philosophers", "deadlock")
+include("matrix-multiplication", "matrix-multiplication-bench", "dining-philosophers", "deadlock")